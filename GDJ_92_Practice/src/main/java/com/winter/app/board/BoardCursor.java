@@ -0,0 +1,50 @@
+package com.winter.app.board;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.winter.app.commons.Pager;
+
+// JSON 목록 API가 주고받는 '다음 페이지' 커서 문자열을 만들고 해석하는 도구 클래스입니다.
+// 클라이언트는 커서의 내용을 알 필요 없이 받은 값을 그대로 다시 보내기만 하면 됩니다.
+// 안쪽 값은 Pager의 커서 필드(NOTICE는 lastNum, QNA는 lastPath)이며, URL에 그대로 쓸 수 있도록 Base64(URL-safe)로 감쌉니다.
+// 예: 글 번호 120 -> "n.120" -> "bi4xMjA"
+public class BoardCursor {
+
+	private BoardCursor() {
+	}
+
+	// 서비스가 Pager에 채워 준 다음 커서 값(nextNum 또는 nextPath)으로 커서 문자열을 만듭니다.
+	// 다음 페이지가 없으면 null을 반환합니다.
+	public static String encode(Pager pager) {
+		String value;
+		if (pager.getNextNum() != null) {
+			value = "n." + pager.getNextNum();
+		} else if (pager.getNextPath() != null) {
+			value = "p." + pager.getNextPath();
+		} else {
+			return null;
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// 커서 문자열을 해석해 Pager의 lastNum 또는 lastPath에 넣습니다.
+	// 커서가 없으면 첫 페이지이므로 아무것도 넣지 않습니다.
+	// 형식이 맞지 않으면 IllegalArgumentException을 던집니다.
+	public static void decode(String cursor, Pager pager) {
+		pager.setLastNum(null);
+		pager.setLastPath(null);
+		if (cursor == null || cursor.isEmpty()) {
+			return;
+		}
+
+		String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		if (value.startsWith("n.")) {
+			pager.setLastNum(Long.parseLong(value.substring(2)));
+		} else if (value.startsWith("p.") && value.length() > 2) {
+			pager.setLastPath(value.substring(2));
+		} else {
+			throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+		}
+	}
+}
@@ -1,6 +1,9 @@
 package com.winter.app.board;
 
 import java.util.List;
+
+import org.apache.ibatis.session.ResultHandler;
+
 import com.winter.app.commons.Pager;
 
 public interface BoardDAO {
@@ -10,16 +13,55 @@ public interface BoardDAO {
 	// List<BoardVO>를 반환하여 여러 개의 게시글 정보를 전달합니다.
 	public List<BoardVO> list(Pager pager) throws Exception;
 
+	// 게시글 목록과 검색 조건의 전체 개수를 쿼리 하나로 함께 조회하는 기능의 명세입니다.
+	// 각 행의 totalCount에 전체 개수가 담기므로 totalCount, list를 따로 호출하지 않고 DB를 한 번만 왕복합니다.
+	// 조회된 행이 없으면 전체 개수도 알 수 없으므로 totalCount를 따로 호출해야 합니다.
+	public List<BoardVO> listCount(Pager pager) throws Exception;
+
+	// 전체 개수 없이 게시글 목록을 조회하는 기능의 명세입니다.
+	// 한 페이지보다 한 행 더(perPage + 1) 가져오므로, 결과가 perPage보다 많으면 다음 페이지가 있다는 것을 알 수 있습니다.
+	public List<BoardVO> listNext(Pager pager) throws Exception;
+
+	// 커서(Seek) 방식으로 게시글 목록을 조회하는 기능의 명세입니다.
+	// Pager에 담긴 마지막으로 본 글의 위치(lastNum 또는 lastPath) 다음부터 perPage개를 가져옵니다.
+	// OFFSET을 쓰지 않으므로 페이지가 깊어져도 조회 비용이 늘어나지 않습니다.
+	public List<BoardVO> listSeek(Pager pager) throws Exception;
+
+	// JSON 목록 API용으로 커서 방식 목록을 한 행씩 넘겨주는 기능의 명세입니다.
+	// listSeek과 같은 순서로 조회하지만 커서가 없으면 첫 페이지를 조회하고, List를 만들지 않고 ResultHandler로 바로 넘겨줍니다.
+	public void listStream(Pager pager, ResultHandler<BoardVO> handler) throws Exception;
+
 	// 전체 게시글의 개수를 조회하는 기능의 명세입니다.
 	// Pager 객체를 받아 검색 조건에 맞는 게시글의 총개수를 계산합니다.
 	// Long 타입을 반환하여 매우 많은 수의 게시글도 처리할 수 있도록 합니다.
 	public Long totalCount(Pager pager) throws Exception;
 
+	// 테이블 통계(information_schema)에 기록된 대략적인 전체 게시글 수를 조회하는 기능의 명세입니다.
+	// COUNT처럼 인덱스 전체를 읽지 않으므로 글이 아주 많아도 바로 반환됩니다. (InnoDB의 추정값이라 실제와 다를 수 있습니다)
+	public Long estimateCount() throws Exception;
+
+	// 검색 색인을 만들기 위해 모든 게시글의 번호/제목/내용/작성자를 조회하는 기능의 명세입니다.
+	// 결과를 List로 한꺼번에 만들지 않고, ResultHandler로 한 행씩 넘겨주어 메모리를 적게 사용합니다.
+	public void indexList(ResultHandler<BoardVO> handler) throws Exception;
+
+	// 내보내기(CSV/NDJSON)용으로 모든 게시글을 목록 순서(공지사항은 글 번호, QnA는 정렬 경로)로 한 행씩 넘겨주는 기능의 명세입니다.
+	// indexList와 마찬가지로 List를 만들지 않으므로 게시글 수와 관계없이 메모리 사용량이 일정합니다.
+	public void exportList(ResultHandler<BoardVO> handler) throws Exception;
+
 	// 특정 게시글 하나의 상세 정보를 조회하는 기능의 명세입니다.
 	// 조회할 게시글의 번호(boardNum)가 담긴 BoardVO 객체를 받습니다.
 	// 해당 게시글의 모든 정보가 담긴 BoardVO 객체 하나를 반환합니다.
 	public BoardVO detail(BoardVO boardVO) throws Exception;
 
+	// 특정 게시글에 첨부된 파일 목록을 조회하는 기능의 명세입니다.
+	// detail은 게시글 행을 읽은 뒤 이 쿼리로 첨부파일을 따로 읽으므로, 첨부파일이 많아도 본문이 반복해서 전송되지 않습니다.
+	public List<BoardFileVO> fileList(Long boardNum) throws Exception;
+
+	// 메모리에 모아 둔 조회수를 여러 게시글에 한꺼번에 더하는 기능의 명세입니다.
+	// 각 BoardVO의 boardNum에 해당하는 글의 조회수에 boardHit 값(증가분)을 더합니다.
+	// UPDATE 문 하나로 처리하므로 글 수만큼 DB를 왕복하지 않습니다.
+	public int hitUpdate(List<BoardVO> list) throws Exception;
+
 	// 새로운 게시글을 데이터베이스에 추가하는 기능의 명세입니다.
 	// 제목, 내용, 작성자 등이 담긴 BoardVO 객체를 받습니다.
 	// int를 반환하여 DB에 성공적으로 추가된 행(row)의 개수(보통 1)를 알려줍니다.
@@ -29,6 +71,10 @@ public interface BoardDAO {
 	// 파일 정보(파일명, 원본명 등)가 담긴 BoardFileVO 객체를 받습니다.
 	public int insertFile(BoardFileVO boardFileVO) throws Exception;
 
+	// 여러 첨부파일 정보를 INSERT 문 하나(multi-row VALUES)로 한꺼번에 추가하는 기능의 명세입니다.
+	// 파일 수만큼 DB를 왕복하지 않으며, 추가된 행의 개수를 반환합니다.
+	public int insertFiles(List<BoardFileVO> list) throws Exception;
+
 	// 기존 게시글의 내용을 수정하는 기능의 명세입니다.
 	// 수정할 게시글의 번호와 새로운 내용이 담긴 BoardVO 객체를 받습니다.
 	// int를 반환하여 성공적으로 수정된 행의 개수를 알려줍니다.
@@ -50,4 +96,12 @@ public interface BoardDAO {
 	// 삭제할 파일의 번호가 담긴 BoardFileVO 객체를 받습니다.
 	public int fileDeleteOne(BoardFileVO boardFileVO) throws Exception;
 
-}
\ No newline at end of file
+	// 주어진 저장 파일명들 중 첨부파일 테이블에 행이 있는 것만 조회하는 기능의 명세입니다.
+	// 정리 작업(OrphanReconciler)이 디스크의 파일이 아직 쓰이고 있는지 한 번에 확인할 때 사용합니다.
+	public List<String> fileNameList(List<String> names) throws Exception;
+
+	// 모든 게시글의 본문(BOARD_CONTENTS)을 한 행씩 넘겨주는 기능의 명세입니다.
+	// 에디터로 올린 본문 이미지는 첨부파일 행이 없으므로, 정리 작업이 본문의 이미지 주소를 모아 사용 여부를 확인합니다.
+	public void contentsList(ResultHandler<String> handler) throws Exception;
+
+}
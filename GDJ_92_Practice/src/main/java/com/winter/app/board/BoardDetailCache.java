@@ -0,0 +1,89 @@
+package com.winter.app.board;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.winter.app.commons.CacheStats;
+import com.winter.app.commons.CacheStore;
+import com.winter.app.commons.CacheStore.Loader;
+
+// 게시글 상세 조회 결과를 보관하는 캐시입니다.
+// 상세 조회는 첨부파일 테이블과 JOIN하고 LONGTEXT 본문을 통째로 가져오는데,
+// 인기 글은 수정되기 전까지 수천 번 조회되므로 같은 결과를 DB에서 반복해서 읽지 않도록 보관합니다.
+// 크기(app.cache.detail.size)와 유효 시간(app.cache.detail.ttl)으로 제한하며,
+// 글 수정/삭제, 첨부파일 삭제, 본문 이미지 삭제 시 서비스가 해당 항목을 정확히 제거합니다.
+// 조회수가 DB에 반영되면 항목을 제거하지 않고 캐시된 조회수만 올려 둡니다. (addHit)
+@Component
+public class BoardDetailCache {
+
+	// 키: 게시판|글번호
+	private final CacheStore<String, BoardVO> details;
+
+	// @Value : application.properties의 캐시 크기와 유효 시간(ms)을 생성자에서 주입받습니다.
+	public BoardDetailCache(@Value("${app.cache.detail.size}") int size, @Value("${app.cache.detail.ttl}") long ttl) {
+		this.details = new CacheStore<>("board-detail", size, ttl);
+	}
+
+	// 게시글 상세 정보를 캐시에서 꺼내고, 없으면 loader(detail 쿼리)로 조회합니다.
+	// 캐시된 객체는 여러 요청이 함께 쓰므로, 조회수 등을 바꿀 수 있도록 복사본을 반환합니다.
+	public BoardVO detail(String board, Long boardNum, Loader<BoardVO> loader) throws Exception {
+		BoardVO cached = details.get(this.key(board, boardNum), loader);
+		if (cached == null) {
+			return null;
+		}
+		return this.copy(cached);
+	}
+
+	// 게시글 하나의 캐시를 제거합니다. (글 수정/삭제, 첨부파일 삭제 시)
+	public void evict(String board, Long boardNum) {
+		details.remove(this.key(board, boardNum));
+	}
+
+	// 조회수를 DB에 반영(hitUpdate)하기 직전과 직후에 호출합니다. 직전에 받은 값을 addHit의 before로 넘깁니다.
+	// 반영하는 동안 DB에서 읽은 상세 정보는 반영 전후 어느 값인지 알 수 없으므로 캐시에 넣지 않게 됩니다.
+	public long hitMark() {
+		return details.advance();
+	}
+
+	// DB에 반영된 조회수(delta)를 캐시된 상세 정보에도 더합니다. 캐시에 없으면 아무것도 하지 않습니다.
+	// 인기 글일수록 조회수 반영 주기마다 제거되어 본문과 첨부파일을 다시 읽게 되므로, 제거하지 않고 값만 바꿉니다.
+	// 반영한 뒤에 DB에서 다시 읽은 항목(before 이후 세대)은 이미 delta가 들어 있으므로 더하지 않습니다.
+	public void addHit(String board, Long boardNum, long delta, long before) {
+		details.update(this.key(board, boardNum), before, cached -> {
+			BoardVO copy = this.copy(cached);
+			long hit = copy.getBoardHit() == null ? 0 : copy.getBoardHit();
+			copy.setBoardHit(hit + delta);
+			return copy;
+		});
+	}
+
+	// 본문에 해당 파일(이미지)을 포함하고 있는 게시글의 캐시만 제거합니다.
+	// 에디터 이미지 삭제는 글 번호를 모르기 때문에 본문 내용으로 대상을 찾습니다.
+	// (새로 올린 이미지는 항상 새 파일명(UUID)을 받으므로 업로드 때는 제거할 항목이 없습니다)
+	public void evictByFile(String board, String fileName) {
+		String prefix = board + "|";
+		details.removeIf((k, v) -> k.startsWith(prefix)
+				&& v.getBoardContents() != null
+				&& v.getBoardContents().contains(fileName));
+	}
+
+	// 캐시 통계를 반환합니다.
+	public CacheStats stats() {
+		return details.stats();
+	}
+
+	private BoardVO copy(BoardVO source) {
+		try {
+			BoardVO copy = source.getClass().getDeclaredConstructor().newInstance();
+			BeanUtils.copyProperties(source, copy);
+			return copy;
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private String key(String board, Long boardNum) {
+		return board + "|" + boardNum;
+	}
+}
@@ -0,0 +1,38 @@
+package com.winter.app.board;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.winter.app.board.qna.QnaVO;
+
+// 게시판 내보내기(/notice/export, /qna/export) 파일의 열 목록입니다. (ExportWriter 참고)
+// 열 이름은 테이블 컬럼 이름과 같고, 순서는 DAO의 exportList가 조회하는 컬럼 순서와 같습니다.
+public class BoardExport {
+
+	private BoardExport() {
+	}
+
+	// 공지사항과 QnA에 공통인 열입니다.
+	public static Map<String, Function<BoardVO, Object>> columns() {
+		Map<String, Function<BoardVO, Object>> columns = new LinkedHashMap<>();
+		columns.put("BOARD_NUM", BoardVO::getBoardNum);
+		columns.put("BOARD_TITLE", BoardVO::getBoardTitle);
+		columns.put("BOARD_CONTENTS", BoardVO::getBoardContents);
+		columns.put("BOARD_WRITER", BoardVO::getBoardWriter);
+		columns.put("BOARD_DATE", BoardVO::getBoardDate);
+		columns.put("BOARD_HIT", BoardVO::getBoardHit);
+		return columns;
+	}
+
+	// QnA는 답글 구조(그룹 번호, 순서, 깊이, 정렬 경로) 열을 함께 내보냅니다.
+	// 행은 목록과 같은 정렬 경로 순서로 내보내므로, 파일에서도 답글이 부모글 바로 아래에 놓입니다.
+	public static Map<String, Function<BoardVO, Object>> qnaColumns() {
+		Map<String, Function<BoardVO, Object>> columns = columns();
+		columns.put("BOARD_REF", vo -> ((QnaVO) vo).getBoardRef());
+		columns.put("BOARD_STEP", vo -> ((QnaVO) vo).getBoardStep());
+		columns.put("BOARD_DEPTH", vo -> ((QnaVO) vo).getBoardDepth());
+		columns.put("BOARD_PATH", vo -> ((QnaVO) vo).getBoardPath());
+		return columns;
+	}
+}
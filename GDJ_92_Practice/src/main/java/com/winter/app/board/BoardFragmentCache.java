@@ -0,0 +1,88 @@
+package com.winter.app.board;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.winter.app.commons.CacheStats;
+import com.winter.app.commons.CacheStore;
+import com.winter.app.commons.Fragment;
+import com.winter.app.commons.Pager;
+
+// 게시판 목록 화면과 상세 화면에서 렌더링된 HTML 조각을 보관하는 캐시입니다. (<app:fragment> 태그, FragmentTag 참고)
+// 목록/상세 캐시(BoardListCache, BoardDetailCache)는 DB 조회만 생략하므로, 같은 화면을 반복해서 볼 때마다
+// JSP가 같은 표와 본문을 다시 만들었습니다. 이 캐시에 HTML이 있으면 컨트롤러는 목록/상세 조회를 하지 않고,
+// JSP는 태그 안의 내용을 실행하지 않고 보관된 HTML을 그대로 출력합니다.
+//
+// 1) 목록 조각의 키에는 게시판 버전(BoardListCache.version)이 들어갑니다. 글이 등록/수정/삭제되거나
+//    목록의 조회수를 다시 반영하면(app.hit.list-interval 간격) 버전이 바뀌어 예전 조각은 다시 사용되지 않고,
+//    오래 사용되지 않은 항목부터 제거됩니다.
+// 2) 상세 조각은 글 수정/삭제, 첨부파일 삭제, 본문 이미지 삭제 시 서비스가 정확히 제거합니다.
+//    조회수는 상세 조각 밖에 있으므로 조회수 반영 시에는 제거하지 않습니다.
+// 3) 조각이 너무 크면(app.cache.fragment.max-length) 보관하지 않습니다.
+@Component
+public class BoardFragmentCache {
+
+	// 키: 게시판|list|버전|kind|keyword|페이지 위치|perPage 또는 게시판|detail|글번호
+	private final CacheStore<String, String> fragments;
+
+	// 보관할 조각의 최대 길이(문자 수)입니다.
+	private final int maxLength;
+
+	private final BoardListCache boardListCache;
+
+	// @Value : application.properties의 캐시 크기, 유효 시간(ms), 최대 길이를 생성자에서 주입받습니다.
+	public BoardFragmentCache(@Value("${app.cache.fragment.size}") int size, @Value("${app.cache.fragment.ttl}") long ttl,
+			@Value("${app.cache.fragment.max-length}") int maxLength, BoardListCache boardListCache) {
+		this.fragments = new CacheStore<>("board-fragment", size, ttl);
+		this.maxLength = maxLength;
+		this.boardListCache = boardListCache;
+	}
+
+	// 검색 조건과 페이지 위치에 맞는 목록 조각을 찾습니다.
+	// 서비스가 Pager를 채우기 전(요청 파라미터 그대로)에 호출해야 같은 요청이 같은 키가 됩니다.
+	public Fragment list(String board, Pager pager) {
+		String position;
+		if (pager.isSeek()) {
+			position = "seek:" + pager.getLastNum() + ":" + pager.getLastPath();
+		} else {
+			position = "page:" + pager.getPageNum();
+		}
+		return this.fragment(board + "|list|" + boardListCache.version(board) + "|" + BoardListCache.searchKey(pager)
+				+ "|" + position + "|" + pager.getPerPage());
+	}
+
+	// 게시글 하나의 상세 조각(제목, 본문, 첨부파일)을 찾습니다.
+	public Fragment detail(String board, Long boardNum) {
+		return this.fragment(board + "|detail|" + boardNum);
+	}
+
+	// 게시글 하나의 상세 조각을 제거합니다. (글 수정/삭제, 첨부파일 삭제 시)
+	public void evict(String board, Long boardNum) {
+		fragments.remove(board + "|detail|" + boardNum);
+	}
+
+	// 본문에 해당 파일(이미지)을 포함하고 있는 상세 조각만 제거합니다. (BoardDetailCache.evictByFile과 같습니다)
+	public void evictByFile(String board, String fileName) {
+		String prefix = board + "|detail|";
+		fragments.removeIf((k, v) -> k.startsWith(prefix) && v.contains(fileName));
+	}
+
+	// 캐시 통계를 반환합니다.
+	public CacheStats stats() {
+		return fragments.stats();
+	}
+
+	// 캐시에 없으면, 렌더링하는 사이에 제거(evict)가 없었을 때만 결과를 넣는 Fragment를 돌려줍니다.
+	private Fragment fragment(String key) {
+		long generation = fragments.generation();
+		String html = fragments.get(key);
+		if (html != null) {
+			return new Fragment(html, null);
+		}
+		return new Fragment(null, text -> {
+			if (text.length() <= maxLength) {
+				fragments.put(key, text, generation);
+			}
+		});
+	}
+}
@@ -0,0 +1,166 @@
+package com.winter.app.board;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 게시글 조회수를 메모리에 모아 두었다가 주기적으로 한꺼번에 DB에 반영하는 카운터입니다. (write-behind)
+// 조회할 때마다 "UPDATE ... SET BOARD_HIT=BOARD_HIT+1"을 실행하면 인기 글 한 행에 요청이 몰려
+// InnoDB 행 잠금(row lock)을 기다리느라 상세 페이지가 느려집니다.
+// 그래서 조회수는 LongAdder(여러 칸으로 나뉘어 스레드끼리 경합하지 않는 카운터)에 더해 두고,
+// 스케줄러가 app.hit.flush-interval 마다 게시판별로 UPDATE 한 번에 모아서 반영합니다.
+// 애플리케이션 종료 시에도 남은 조회수를 반영하므로 재시작해도 조회수가 사라지지 않습니다.
+@Component
+@Slf4j
+public class BoardHitCounter {
+
+	// UPDATE 한 번에 반영할 최대 게시글 수입니다. (IN 목록과 CASE 문이 너무 길어지지 않도록)
+	private static final int BATCH_SIZE = 500;
+
+	// 게시판 이름별 "게시글 번호 -> 아직 DB에 반영되지 않은 조회수"
+	private final Map<String, Map<Long, LongAdder>> pending = new ConcurrentHashMap<>();
+
+	// 조회수가 반영된 글은 캐시된 상세 정보의 조회수도 함께 올려 둡니다.
+	@Autowired
+	private BoardDetailCache boardDetailCache;
+
+	// 조회수가 반영된 게시판은 목록 캐시/목록 조각/ETag에도 새 조회수가 보이도록 버전을 바꿉니다.
+	@Autowired
+	private BoardListCache boardListCache;
+
+	// 목록 화면에 조회수를 다시 반영하는 최소 간격(ms)입니다.
+	// 반영 주기(5초)마다 목록을 다시 만들지 않도록, 목록의 조회수는 이 간격 단위로만 새로 고칩니다.
+	@Value("${app.hit.list-interval}")
+	private long listInterval;
+
+	// 조회수가 DB에 반영되었지만 아직 목록에는 반영하지 않은 게시판과, 게시판별로 목록에 마지막으로 반영한 시각입니다.
+	// flush(synchronized) 안에서만 사용합니다.
+	private final Set<String> listStale = new HashSet<>();
+	private final Map<String, Long> listRefreshed = new HashMap<>();
+
+	// 게시판 이름별 조회수를 반영할 DAO입니다.
+	private final Map<String, BoardDAO> daos = new ConcurrentHashMap<>();
+
+	// 한 번의 반영 주기 동안 조회가 없었던 글 번호입니다. 다음 주기에도 조회가 없으면 Map에서 정리합니다.
+	private final Map<String, List<Long>> idle = new ConcurrentHashMap<>();
+
+	// 게시판의 조회수를 반영할 DAO를 등록합니다. (각 서비스가 시작될 때 호출)
+	public void register(String board, BoardDAO boardDAO) {
+		daos.put(board, boardDAO);
+	}
+
+	// 조회수를 1 증가시키고, 아직 DB에 반영되지 않은 조회수를 반환합니다.
+	// 화면에는 "DB에 저장된 조회수 + 이 값"을 보여주면 됩니다.
+	public long increment(String board, Long boardNum) {
+		Map<Long, LongAdder> counters = pending.computeIfAbsent(board, k -> new ConcurrentHashMap<>());
+		while (true) {
+			LongAdder adder = counters.computeIfAbsent(boardNum, k -> new LongAdder());
+			adder.increment();
+			// 정리(flush)는 합계가 0인 카운터만 Map에서 빼므로, 더한 뒤에도 Map에 남아 있으면 반영이 보장됩니다.
+			// 더하기 직전에 빠졌다면 아무도 반영하지 않는 카운터에 더한 것이므로 새 카운터에 다시 더합니다.
+			if (counters.get(boardNum) == adder) {
+				return adder.sum();
+			}
+		}
+	}
+
+	// 쌓여 있는 조회수를 게시판별로 모아 DB에 반영합니다.
+	// 스케줄러와 종료 처리에서 동시에 호출될 수 있으므로 synchronized로 한 번에 하나만 실행합니다.
+	@Scheduled(fixedDelayString = "${app.hit.flush-interval}")
+	public synchronized void flush() {
+		for (Map.Entry<String, Map<Long, LongAdder>> entry : pending.entrySet()) {
+			BoardDAO boardDAO = daos.get(entry.getKey());
+			if (boardDAO == null) {
+				continue;
+			}
+			this.flush(entry.getKey(), entry.getValue(), boardDAO);
+		}
+	}
+
+	// 애플리케이션이 종료될 때(DataSource가 닫히기 전) 남아 있는 조회수를 반영합니다.
+	@EventListener(ContextClosedEvent.class)
+	public void onClose() {
+		log.info("종료 전 조회수 반영");
+		this.flush();
+	}
+
+	private void flush(String board, Map<Long, LongAdder> counters, BoardDAO boardDAO) {
+		List<BoardVO> batch = new ArrayList<>();
+		List<Long> zero = new ArrayList<>();
+		for (Map.Entry<Long, LongAdder> e : counters.entrySet()) {
+			// sumThenReset : 지금까지 더해진 값을 가져오면서 0으로 되돌립니다.
+			long delta = e.getValue().sumThenReset();
+			if (delta == 0) {
+				zero.add(e.getKey());
+				continue;
+			}
+			BoardVO vo = new BoardVO();
+			vo.setBoardNum(e.getKey());
+			vo.setBoardHit(delta);
+			batch.add(vo);
+		}
+
+		for (int i = 0; i < batch.size(); i += BATCH_SIZE) {
+			List<BoardVO> chunk = batch.subList(i, Math.min(i + BATCH_SIZE, batch.size()));
+			try {
+				long before = boardDetailCache.hitMark();
+				boardDAO.hitUpdate(chunk);
+				boardDetailCache.hitMark();
+				listStale.add(board);
+				// 상세 캐시에는 반영 전 조회수가 들어 있으므로 반영한 만큼 더해 둡니다.
+				// (제거하면 인기 글은 반영 주기마다 본문과 첨부파일을 DB에서 다시 읽게 됩니다)
+				// 반영한 뒤에 DB에서 다시 읽어 캐시된 글은 이미 반영된 값이므로 addHit이 건너뜁니다.
+				for (BoardVO vo : chunk) {
+					boardDetailCache.addHit(board, vo.getBoardNum(), vo.getBoardHit(), before);
+				}
+			} catch (Exception ex) {
+				// 반영에 실패한 조회수는 버리지 않고 다시 더해 두었다가 다음 주기에 반영합니다.
+				log.error("{} 조회수 반영 실패 ({}건), 다음 주기에 다시 시도합니다.", board, chunk.size(), ex);
+				for (BoardVO vo : chunk) {
+					counters.computeIfAbsent(vo.getBoardNum(), k -> new LongAdder()).add(vo.getBoardHit());
+				}
+			}
+		}
+
+		// 목록에 마지막으로 반영한 뒤 listInterval이 지났으면 목록 캐시를 비우고 버전을 바꿉니다.
+		// 이번 주기에 반영한 조회수가 없어도, 지난 주기에 반영하고 목록에는 아직 보이지 않는 조회수가 있으면 반영합니다.
+		long time = System.currentTimeMillis();
+		if (listStale.contains(board) && time - listRefreshed.getOrDefault(board, 0L) >= listInterval) {
+			listStale.remove(board);
+			listRefreshed.put(board, time);
+			boardListCache.refreshHits(board);
+		}
+
+		// 두 주기 연속으로 조회가 없었던 글은 Map에서 정리하여 메모리가 계속 늘어나지 않게 합니다.
+		List<Long> before = idle.put(board, zero);
+		if (before != null) {
+			Set<Long> now = new HashSet<>(zero);
+			for (Long num : before) {
+				if (!now.contains(num)) {
+					continue;
+				}
+				// 확인과 제거를 computeIfPresent 안에서 한 번에 처리합니다.
+				// (따로 하면 그 사이 increment가 더한 조회수가 제거된 카운터와 함께 사라질 수 있습니다)
+				counters.computeIfPresent(num, (k, adder) -> adder.sum() == 0 ? null : adder);
+			}
+		}
+
+		if (!batch.isEmpty()) {
+			log.debug("{} 조회수 반영 : {}건", board, batch.size());
+		}
+	}
+}
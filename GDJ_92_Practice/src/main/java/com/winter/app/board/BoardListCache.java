@@ -0,0 +1,117 @@
+package com.winter.app.board;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.winter.app.commons.CacheStats;
+import com.winter.app.commons.CacheStore;
+import com.winter.app.commons.CacheStore.Loader;
+import com.winter.app.commons.ContentVersions;
+import com.winter.app.commons.Pager;
+
+// 게시판 목록 화면의 조회 결과(전체 개수, 페이지 목록)를 보관하는 캐시입니다.
+// 많은 사용자가 같은 게시판의 같은 페이지를 반복해서 보기 때문에,
+// 같은 검색 조건이면 DB의 COUNT / LIKE 검색을 다시 실행하지 않고 캐시된 결과를 돌려줍니다.
+// 글이 등록/수정/삭제되면 서비스가 clear(board)를 호출하여 해당 게시판의 캐시를 비웁니다.
+// 목록에는 조회수도 표시되므로, 조회수가 DB에 반영되면 BoardHitCounter가 app.hit.list-interval 이상 간격으로
+// refreshHits(board)를 호출하여 페이지 목록만 비우고 버전을 바꿉니다. (전체 개수는 조회수와 상관없으므로 그대로 둡니다)
+@Component
+public class BoardListCache {
+
+	// 검색 조건별 전체 개수 캐시입니다. 키: 게시판|kind|keyword (searchKey 참고)
+	private final CacheStore<String, Long> counts;
+
+	// 검색 조건 + 페이지별 목록 캐시입니다. 키: 게시판|kind|keyword|페이지 위치|perPage
+	private final CacheStore<String, List<BoardVO>> pages;
+
+	// 게시판별 변경 번호와 시각입니다. clear(board)가 호출될 때마다 바뀝니다.
+	// JSON 목록 API(BoardRows)와 목록 화면이 이 값으로 ETag / Last-Modified를 만들어, 글이 바뀌지 않았으면 DB를 조회하지 않고 304로 응답합니다.
+	private final ContentVersions contentVersions;
+
+	// @Value : application.properties의 'app.cache.list.size' 값(캐시 최대 항목 수)을 생성자에서 주입받습니다.
+	public BoardListCache(@Value("${app.cache.list.size}") int size, ContentVersions contentVersions) {
+		this.counts = new CacheStore<>("board-count", size);
+		this.pages = new CacheStore<>("board-list", size);
+		this.contentVersions = contentVersions;
+	}
+
+	// 검색 조건에 맞는 전체 개수를 캐시에서 꺼내고, 없으면 loader(totalCount 쿼리)로 조회합니다.
+	public Long totalCount(String board, Pager pager, Loader<Long> loader) throws Exception {
+		return counts.get(this.countKey(board, pager), loader);
+	}
+
+	// 게시판 전체 글 수의 추정값(테이블 통계)을 캐시에서 꺼내고, 없으면 loader(estimateCount 쿼리)로 조회합니다.
+	// 전체 개수 캐시와 함께 글이 등록/수정/삭제될 때 비워집니다.
+	public Long estimate(String board, Loader<Long> loader) throws Exception {
+		return counts.get(board + "|estimate", loader);
+	}
+
+	// 검색 조건과 페이지 위치에 맞는 목록을 캐시에서 꺼내고, 없으면 loader(list 쿼리)로 조회합니다.
+	// 요청한 pageNum으로 키를 만듭니다. 마지막 페이지를 넘은 요청이라 목록이 비어 있으면, makeNum()으로 보정한 뒤 다시 호출합니다.
+	public List<BoardVO> list(String board, Pager pager, Loader<List<BoardVO>> loader) throws Exception {
+		return pages.get(this.pageKey(board, pager), loader);
+	}
+
+	// 해당 게시판의 캐시를 모두 비웁니다. (글 등록/수정/삭제/답글 시 호출)
+	public void clear(String board) {
+		String prefix = board + "|";
+		counts.removeIf((k, v) -> k.startsWith(prefix));
+		pages.removeIf((k, v) -> k.startsWith(prefix));
+		// 캐시를 비운 뒤에 버전을 바꿉니다. 새 버전(ETag)으로 예전 목록을 보내는 일이 없도록 하기 위함입니다.
+		contentVersions.touch(board);
+	}
+
+	// 조회수가 DB에 반영된 게시판의 페이지 목록을 비우고, 조회수 버전을 바꿉니다.
+	// clear와 마찬가지로 캐시를 비운 뒤에 버전을 바꿉니다.
+	public void refreshHits(String board) {
+		String prefix = board + "|";
+		pages.removeIf((k, v) -> k.startsWith(prefix));
+		contentVersions.touch(hitsKey(board));
+	}
+
+	// 해당 게시판의 현재 버전을 반환합니다. 글이 등록/수정/삭제될 때와 목록의 조회수를 다시 반영할 때 값이 바뀝니다.
+	public String version(String board) {
+		return contentVersions.version(board, hitsKey(board));
+	}
+
+	// 게시판 목록의 조회수 버전 키입니다. (예: notice|hits)
+	// 목록 화면의 ETag처럼 조회수가 표시되는 화면은 게시판 키와 함께 이 키에 의존합니다.
+	public static String hitsKey(String board) {
+		return board + "|hits";
+	}
+
+	// 캐시 통계를 반환합니다.
+	public List<CacheStats> stats() {
+		return List.of(counts.stats(), pages.stats());
+	}
+
+	private String countKey(String board, Pager pager) {
+		return board + "|" + searchKey(pager);
+	}
+
+	// 검색 조건 부분의 키입니다. (예: k1|5:hello) 목록 조각 캐시(BoardFragmentCache)도 같은 키를 사용합니다.
+	// kind는 Mapper의 search 조건과 같은 규칙(k1=제목, k2=내용, 그 외=작성자)으로 바꾸어, 아무 값이나 보내도 항목이 늘어나지 않게 합니다.
+	// keyword는 어떤 문자든 들어올 수 있으므로 길이를 앞에 붙여, 서로 다른 조건이 같은 키가 되지 않게 합니다.
+	static String searchKey(Pager pager) {
+		String kind = pager.getKind();
+		if (!"k1".equals(kind) && !"k2".equals(kind)) {
+			kind = "k3";
+		}
+		String keyword = pager.getKeyword();
+		return kind + "|" + keyword.length() + ":" + keyword;
+	}
+
+	private String pageKey(String board, Pager pager) {
+		// 페이지 위치는 OFFSET 방식이면 pageNum, 커서 방식이면 커서 값으로 구분합니다.
+		String position;
+		if (pager.isSeek()) {
+			position = "seek:" + pager.getLastNum() + ":" + pager.getLastPath();
+		} else {
+			// 한 행을 더 읽은 목록(lookahead)은 행 수가 다르므로 따로 보관합니다.
+			position = (pager.isLookahead() ? "next:" : "page:") + pager.getPageNum();
+		}
+		return this.countKey(board, pager) + "|" + position + "|" + pager.getPerPage();
+	}
+}
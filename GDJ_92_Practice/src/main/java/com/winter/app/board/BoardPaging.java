@@ -0,0 +1,113 @@
+package com.winter.app.board;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.winter.app.commons.Pager;
+
+// 번호 블럭(OFFSET) 방식 목록의 한 페이지를 조회하고 Pager의 페이지네이션 값(totalPage, startNum, endNum)을 계산합니다.
+// 공지사항과 QnA 서비스가 같은 규칙을 쓰도록 한곳에 모았습니다.
+//
+// 정확한 전체 개수(COUNT)는 조건에 맞는 인덱스를 모두 읽어야 하므로 글이 아주 많은 게시판에서는 매 요청의 비용이 커집니다.
+// 그래서 전체 개수가 app.pager.count-threshold 보다 많다고 판단되면 COUNT 없이 perPage + 1개를 읽어(listNext)
+// 다음 페이지가 있는지만 확인하고, 전체 개수는 아래 app.pager.mode 에 따라 정합니다.
+// - exact    : 항상 정확한 전체 개수를 계산합니다. (예전 방식)
+// - estimate : 테이블 통계(estimateCount)의 추정값을 전체 개수로 사용합니다. 번호 블럭이 끝까지 보입니다.
+// - has-next : '현재 페이지 + 다음 페이지 1개'까지만 있다고 보고 번호 블럭을 만듭니다.
+// 검색 색인으로 후보를 찾은 검색처럼 결과가 적은 경우에는 어느 모드든 정확한 전체 개수를 사용합니다.
+@Component
+public class BoardPaging {
+
+	@Value("${app.pager.mode}")
+	private String mode;
+
+	@Value("${app.pager.count-threshold}")
+	private long countThreshold;
+
+	@Autowired
+	private BoardListCache boardListCache;
+
+	// 요청한 페이지의 목록을 반환하고, Pager에 번호 블럭 계산 결과를 채웁니다.
+	public List<BoardVO> list(String board, Pager pager, BoardDAO boardDAO) throws Exception {
+		// 전체 개수를 아직 모르므로 요청한 페이지 번호로 시작 위치만 먼저 계산합니다.
+		pager.makePage();
+
+		Long estimate = this.estimate(board, pager, boardDAO);
+		if (estimate != null) {
+			List<BoardVO> list = this.lookahead(board, pager, boardDAO, estimate);
+			if (list != null) {
+				return list;
+			}
+		}
+		return this.exact(board, pager, boardDAO);
+	}
+
+	// 정확한 전체 개수가 필요하면 null을, COUNT 없이 조회할 수 있으면 전체 개수의 추정값(모르면 0)을 반환합니다.
+	private Long estimate(String board, Pager pager, BoardDAO boardDAO) throws Exception {
+		if ("exact".equals(mode)) {
+			return null;
+		}
+
+		// 검색: 색인으로 찾은 후보가 적으면 COUNT도 후보 행만 PK로 확인하므로 정확하게 셉니다.
+		// 색인을 쓸 수 없거나(LIKE로 전체를 훑는 경우) 후보가 많으면 다음 페이지 여부만 확인합니다.
+		if (!pager.getKeyword().isEmpty()) {
+			if (pager.getBoardNums() != null && pager.getBoardNums().size() <= countThreshold) {
+				return null;
+			}
+			return 0L;
+		}
+
+		// 전체 목록: 테이블 통계로 본 글 수가 기준보다 적으면 COUNT도 충분히 빠르므로 정확하게 셉니다.
+		Long rows = boardListCache.estimate(board, () -> boardDAO.estimateCount());
+		if (rows == null || rows <= countThreshold) {
+			return null;
+		}
+		return "estimate".equals(mode) ? rows : 0L;
+	}
+
+	// COUNT 없이 perPage + 1개를 읽어 목록과 번호 블럭을 만듭니다.
+	// 요청한 페이지가 마지막 페이지를 넘어 비어 있으면, 마지막 페이지를 찾을 수 있도록 null을 반환합니다.
+	private List<BoardVO> lookahead(String board, Pager pager, BoardDAO boardDAO, long estimate) throws Exception {
+		pager.setLookahead(true);
+		List<BoardVO> rows = boardListCache.list(board, pager, () -> boardDAO.listNext(pager));
+		if (rows.isEmpty() && pager.getPageNum() > 1) {
+			pager.setLookahead(false);
+			return null;
+		}
+
+		// 한 행을 더 읽었다면 다음 페이지가 있다는 뜻이므로 화면에는 perPage개만 넘겨줍니다.
+		// (캐시에 들어 있는 목록이므로 잘라낸 복사본을 만듭니다)
+		int perPage = pager.getPerPage().intValue();
+		boolean hasNext = rows.size() > perPage;
+		List<BoardVO> list = hasNext ? new ArrayList<>(rows.subList(0, perPage)) : rows;
+		pager.setHasNext(hasNext);
+
+		// 지금까지 확인한 글 수(현재 페이지까지 + 다음 페이지가 있으면 1)는 실제로 있는 글이므로 추정값보다 우선합니다.
+		// 다음 페이지가 없으면 이 값이 정확한 전체 개수입니다.
+		long seen = pager.getStartIndex() + rows.size();
+		pager.makeNum(hasNext ? Math.max(seen, estimate) : seen);
+		return list;
+	}
+
+	// 목록과 정확한 전체 개수를 쿼리 한 번(listCount)으로 함께 가져옵니다. (캐시 우선)
+	private List<BoardVO> exact(String board, Pager pager, BoardDAO boardDAO) throws Exception {
+		List<BoardVO> list = boardListCache.list(board, pager, () -> boardDAO.listCount(pager));
+		if (!list.isEmpty()) {
+			// 각 행에 함께 담겨 온 전체 개수로 페이지네이션 관련 계산을 수행시킵니다.
+			pager.makeNum(list.get(0).getTotalCount());
+		} else {
+			// 요청한 페이지에 글이 없으면(마지막 페이지를 넘은 경우 등) 전체 개수만 따로 가져옵니다.
+			Long totalCount = boardListCache.totalCount(board, pager, () -> boardDAO.totalCount(pager));
+			pager.makeNum(totalCount);
+			// 글이 있다면 makeNum()이 마지막 페이지로 보정했으므로 그 페이지의 목록을 다시 가져옵니다.
+			if (totalCount > 0) {
+				list = boardListCache.list(board, pager, () -> boardDAO.listCount(pager));
+			}
+		}
+		return list;
+	}
+}
@@ -0,0 +1,24 @@
+package com.winter.app.board;
+
+// 게시글 본문(HTML)으로 목록에 보여줄 짧은 미리보기 글(BOARD_PREVIEW)을 만드는 도구 클래스입니다.
+// 목록 화면은 본문 전체(LONGTEXT) 대신 이 값만 읽으므로, 글을 등록/수정할 때 한 번 만들어 함께 저장합니다.
+public class BoardPreview {
+
+	// 미리보기의 최대 글자 수입니다. (BOARD_PREVIEW 컬럼은 VARCHAR(120))
+	public static final int MAX_LENGTH = 100;
+
+	private BoardPreview() {
+	}
+
+	// 검색 색인과 같은 방식(BoardTokenizer.stripTags)으로 태그와 HTML 문자 참조를 정리하고, 연속된 공백을 하나로 줄인 뒤
+	// 앞에서부터 MAX_LENGTH 글자만 남깁니다. 에디터 이미지만 있는 글처럼 글자가 없으면 빈 문자열을 반환합니다.
+	public static String of(String contents) {
+		String text = BoardTokenizer.stripTags(contents).replaceAll("\\s+", " ").strip();
+
+		// 이모지 같은 문자가 반으로 잘리지 않도록 char가 아니라 코드 포인트 단위로 자릅니다.
+		if (text.codePointCount(0, text.length()) <= MAX_LENGTH) {
+			return text;
+		}
+		return text.substring(0, text.offsetByCodePoints(0, MAX_LENGTH));
+	}
+}
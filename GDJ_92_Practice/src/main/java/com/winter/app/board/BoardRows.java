@@ -0,0 +1,106 @@
+package com.winter.app.board;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.winter.app.commons.Pager;
+
+// 게시판 목록을 JSON으로 보내는 응답을 만듭니다. (모바일 앱의 무한 스크롤용 /notice/rows, /qna/rows)
+// 응답 형식: {"rows":[{목록 행}, ...], "next":"다음 페이지 커서 또는 null"}
+//
+// 1) 목록을 List로 모은 뒤 한꺼번에 변환하지 않고, DB에서 한 행을 읽을 때마다 바로 JSON으로 써서 보냅니다.
+// 2) ETag는 게시판 버전(BoardListCache.version)으로 만듭니다. 글이 바뀌지 않았다면
+//    DB를 조회하기 전에 304(Not Modified)로 응답하므로 같은 페이지를 반복해서 요청해도 비용이 거의 없습니다.
+//    조회수는 반영될 때마다가 아니라 app.hit.list-interval 이상 간격으로만 버전을 바꾸므로, 그 시간만큼 늦게 보일 수 있습니다.
+//    (목록 캐시, 목록 화면과 같은 기준입니다)
+@Component
+public class BoardRows {
+
+	// 한 번에 요청할 수 있는 최대 행 수입니다.
+	// DB 결과를 스트리밍하는 동안 커넥션을 점유하므로 너무 큰 페이지는 막습니다.
+	public static final long MAX_PER_PAGE = 100;
+
+	@Autowired
+	private BoardListCache boardListCache;
+
+	// null 값 필드(목록에서는 읽지 않는 본문, 첨부파일 등)는 JSON에 넣지 않습니다.
+	private final ObjectWriter writer;
+
+	// Spring Boot가 만든 ObjectMapper(날짜 형식 등 설정 포함)를 복사해서 사용합니다.
+	public BoardRows(ObjectMapper objectMapper) {
+		this.writer = objectMapper.copy()
+				.setSerializationInclusion(JsonInclude.Include.NON_NULL)
+				.writer();
+	}
+
+	// cursor를 해석해 Pager에 넣고, 304 응답 또는 목록을 스트리밍하는 응답을 반환합니다.
+	// loader에는 ResultHandler로 한 행씩 넘겨주는 서비스 메서드(listStream)를 전달합니다.
+	public ResponseEntity<StreamingResponseBody> response(String board, Pager pager, String cursor,
+			WebRequest webRequest, RowsLoader loader) {
+		try {
+			BoardCursor.decode(cursor, pager);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+		if (pager.getPerPage() > MAX_PER_PAGE) {
+			pager.setPerPage(MAX_PER_PAGE);
+		}
+
+		// checkNotModified : 요청의 If-None-Match가 ETag와 같으면 304 상태와 헤더를 설정하고 true를 반환합니다.
+		// 이 경우 응답 본문이 없으므로 null을 반환합니다.
+		String etag = "\"" + boardListCache.version(board) + "\"";
+		if (webRequest.checkNotModified(etag)) {
+			return null;
+		}
+
+		StreamingResponseBody body = out -> {
+			try (JsonGenerator gen = writer.getFactory().createGenerator(out)) {
+				gen.writeStartObject();
+				gen.writeArrayFieldStart("rows");
+				loader.load(context -> {
+					try {
+						writer.writeValue(gen, context.getResultObject());
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				gen.writeEndArray();
+				// 서비스가 마지막 행으로 다음 커서(nextNum/nextPath)를 채워 둡니다.
+				gen.writeStringField("next", BoardCursor.encode(pager));
+				gen.writeEndObject();
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			} catch (IOException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IOException(e);
+			}
+		};
+
+		// no-cache : 브라우저/앱이 응답을 저장해 두되, 사용할 때마다 ETag로 바뀌었는지 확인하게 합니다.
+		return ResponseEntity.ok()
+				.cacheControl(CacheControl.noCache().cachePrivate())
+				.eTag(etag)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(body);
+	}
+
+	// 서비스의 listStream 메서드처럼 ResultHandler로 행을 넘겨주는 함수입니다.
+	@FunctionalInterface
+	public interface RowsLoader {
+		void load(ResultHandler<BoardVO> handler) throws Exception;
+	}
+}
@@ -0,0 +1,286 @@
+package com.winter.app.board;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 게시판 검색용 메모리 역색인(inverted index)입니다.
+// LIKE '%검색어%' 는 인덱스를 쓸 수 없어 매번 테이블 전체를 읽어야 하므로,
+// 제목/내용/작성자를 바이그램 토큰으로 잘라 "토큰 -> 게시글 번호 목록"을 미리 만들어 둡니다.
+// 검색 시에는 검색어의 토큰 목록들의 교집합으로 후보 게시글 번호를 구하고,
+// Mapper는 이 번호들만 PK로 읽어서 LIKE로 한 번 더 확인합니다. (바이그램 교집합은 후보일 뿐이므로)
+// 글 등록/수정/삭제 시 서비스가 index()/remove()를 호출하여 색인을 최신으로 유지하고,
+// 애플리케이션 시작 시에는 rebuild()로 DB 전체를 읽어 다시 만듭니다.
+@Component
+@Slf4j
+public class BoardSearchIndex {
+
+	// 검색 종류(Pager.kind)별 필드 번호입니다. Mapper의 search 조건과 같은 규칙을 따릅니다.
+	private static final int TITLE = 0;
+	private static final int CONTENTS = 1;
+	private static final int WRITER = 2;
+
+	// 후보가 이 개수보다 많으면 IN 목록이 너무 커지므로 색인을 쓰지 않고 기존 LIKE 검색으로 처리합니다.
+	@Value("${app.search.max-candidates}")
+	private int maxCandidates;
+
+	// 게시판 이름(notice, qna)별 색인입니다.
+	private final Map<String, Index> indexes = new ConcurrentHashMap<>();
+
+	// 게시글 하나를 색인에 추가하거나 갱신합니다.
+	// boardVO에서 null인 필드(예: 수정 시 전달되지 않는 작성자)는 기존 색인을 그대로 유지합니다.
+	public void index(String board, BoardVO boardVO) {
+		this.getIndex(board).put(boardVO.getBoardNum(), this.fieldTokens(boardVO));
+	}
+
+	// 게시글 하나를 색인에서 제거합니다.
+	public void remove(String board, Long boardNum) {
+		this.getIndex(board).remove(boardNum);
+	}
+
+	// 검색 조건에 맞는 후보 게시글 번호를 오름차순으로 반환합니다.
+	// 다음 경우에는 null을 반환하며, 이때 서비스는 기존 LIKE 검색을 그대로 사용합니다.
+	// 1) 색인이 아직 만들어지는 중인 경우 2) 검색어가 한 글자여서 바이그램이 없는 경우 3) 후보가 너무 많은 경우
+	public List<Long> search(String board, String kind, String keyword) {
+		Index index = indexes.get(board);
+		if (index == null || !index.ready) {
+			return null;
+		}
+		Set<String> tokens = BoardTokenizer.tokens(keyword);
+		if (tokens.isEmpty()) {
+			return null;
+		}
+		long[] nums = index.search(this.field(kind), tokens);
+		if (nums.length > maxCandidates) {
+			return null;
+		}
+		List<Long> list = new ArrayList<>(nums.length);
+		for (long n : nums) {
+			list.add(n);
+		}
+		return list;
+	}
+
+	// DB의 게시글 전체를 읽어 색인을 새로 만듭니다.
+	// 게시글이 많으면 오래 걸리므로 별도의 가상 스레드에서 실행하고, 완료 전까지는 LIKE 검색을 사용합니다.
+	// loader에는 ResultHandler를 받아 한 행씩 넘겨주는 DAO 메서드(indexList)를 전달합니다.
+	public void rebuild(String board, IndexLoader loader) {
+		Index index = this.getIndex(board);
+		Thread.ofVirtual().name("index-" + board).start(() -> {
+			long start = System.currentTimeMillis();
+			index.beginRebuild();
+			try {
+				loader.load(context -> {
+					BoardVO boardVO = context.getResultObject();
+					index.rebuildPut(boardVO.getBoardNum(), this.fieldTokens(boardVO));
+				});
+				index.endRebuild(true);
+				log.info("{} 검색 색인 생성 완료 : {}건, {}ms", board, index.docCount(), System.currentTimeMillis() - start);
+			} catch (Exception e) {
+				index.endRebuild(false);
+				log.error("{} 검색 색인 생성 실패", board, e);
+			}
+		});
+	}
+
+	// DAO의 indexList 메서드처럼 ResultHandler로 행을 넘겨주는 함수입니다.
+	@FunctionalInterface
+	public interface IndexLoader {
+		void load(ResultHandler<BoardVO> handler) throws Exception;
+	}
+
+	private Index getIndex(String board) {
+		return indexes.computeIfAbsent(board, k -> new Index());
+	}
+
+	// Mapper의 search 조건과 같은 규칙: k1=제목, k2=내용, 그 외=작성자
+	private int field(String kind) {
+		if ("k1".equals(kind)) {
+			return TITLE;
+		}
+		if ("k2".equals(kind)) {
+			return CONTENTS;
+		}
+		return WRITER;
+	}
+
+	private String[][] fieldTokens(BoardVO boardVO) {
+		String[][] fields = new String[3][];
+		fields[TITLE] = this.toArray(boardVO.getBoardTitle());
+		// 본문은 HTML이므로 태그를 제거한 뒤 토큰을 만듭니다.
+		fields[CONTENTS] = boardVO.getBoardContents() == null ? null
+				: this.toArray(BoardTokenizer.stripTags(boardVO.getBoardContents()));
+		fields[WRITER] = this.toArray(boardVO.getBoardWriter());
+		return fields;
+	}
+
+	private String[] toArray(String text) {
+		if (text == null) {
+			return null;
+		}
+		return BoardTokenizer.tokens(text).toArray(new String[0]);
+	}
+
+	// 게시판 하나의 색인입니다.
+	// 검색은 여러 요청이 동시에 할 수 있고, 수정은 한 번에 하나만 하도록 ReadWriteLock을 사용합니다.
+	private static class Index {
+
+		// 필드별 "토큰 -> 게시글 번호 목록"
+		private final List<Map<String, PostingList>> postings = List.of(new HashMap<>(), new HashMap<>(), new HashMap<>());
+
+		// 게시글별 필드 토큰 (수정/삭제 시 이전 토큰을 지우기 위해 보관합니다)
+		private final Map<Long, String[][]> docs = new HashMap<>();
+
+		private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+		// 최초 생성(rebuild)이 끝나 검색에 사용할 수 있는지 여부입니다.
+		private volatile boolean ready;
+
+		// 생성 중에 등록/수정/삭제된 글 번호입니다.
+		// DB에서 읽어온 행은 이보다 오래된 내용일 수 있으므로, 여기 있는 글은 생성 과정에서 덮어쓰지 않습니다.
+		private Set<Long> dirty;
+
+		void put(Long num, String[][] fields) {
+			lock.writeLock().lock();
+			try {
+				if (dirty != null) {
+					dirty.add(num);
+				}
+				this.putInternal(num, fields);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+		void remove(Long num) {
+			lock.writeLock().lock();
+			try {
+				if (dirty != null) {
+					dirty.add(num);
+				}
+				String[][] old = docs.remove(num);
+				if (old != null) {
+					this.unlink(num, old);
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+		void beginRebuild() {
+			lock.writeLock().lock();
+			try {
+				dirty = new HashSet<>();
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+		void rebuildPut(Long num, String[][] fields) {
+			lock.writeLock().lock();
+			try {
+				if (!dirty.contains(num)) {
+					this.putInternal(num, fields);
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+		void endRebuild(boolean success) {
+			lock.writeLock().lock();
+			try {
+				dirty = null;
+				ready = success;
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+		int docCount() {
+			lock.readLock().lock();
+			try {
+				return docs.size();
+			} finally {
+				lock.readLock().unlock();
+			}
+		}
+
+		long[] search(int field, Set<String> tokens) {
+			lock.readLock().lock();
+			try {
+				List<PostingList> lists = new ArrayList<>();
+				for (String token : tokens) {
+					PostingList list = postings.get(field).get(token);
+					if (list == null) {
+						// 토큰 하나라도 없으면 교집합은 비어 있습니다.
+						return new long[0];
+					}
+					lists.add(list);
+				}
+				// 가장 짧은 목록부터 교집합을 구해야 비교 횟수가 가장 적습니다.
+				Collections.sort(lists, Comparator.comparingInt(PostingList::size));
+				long[] result = lists.get(0).toArray();
+				for (int i = 1; i < lists.size() && result.length > 0; i++) {
+					result = lists.get(i).intersect(result);
+				}
+				return result;
+			} finally {
+				lock.readLock().unlock();
+			}
+		}
+
+		private void putInternal(Long num, String[][] fields) {
+			String[][] old = docs.get(num);
+			if (old != null) {
+				// 새로 전달되지 않은 필드는 이전 토큰을 그대로 유지합니다.
+				for (int f = 0; f < fields.length; f++) {
+					if (fields[f] == null) {
+						fields[f] = old[f];
+					}
+				}
+				this.unlink(num, old);
+			}
+			for (int f = 0; f < fields.length; f++) {
+				if (fields[f] == null) {
+					fields[f] = new String[0];
+				}
+				for (String token : fields[f]) {
+					postings.get(f).computeIfAbsent(token, k -> new PostingList()).add(num);
+				}
+			}
+			docs.put(num, fields);
+		}
+
+		private void unlink(Long num, String[][] fields) {
+			for (int f = 0; f < fields.length; f++) {
+				if (fields[f] == null) {
+					continue;
+				}
+				for (String token : fields[f]) {
+					PostingList list = postings.get(f).get(token);
+					if (list == null) {
+						continue;
+					}
+					list.remove(num);
+					if (list.isEmpty()) {
+						postings.get(f).remove(token);
+					}
+				}
+			}
+		}
+	}
+}
@@ -1,7 +1,10 @@
 package com.winter.app.board;
 
 import java.util.List;
+
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.web.multipart.MultipartFile;
+import com.winter.app.commons.Fragment;
 import com.winter.app.commons.Pager;
 
 public interface BoardService {
@@ -10,9 +13,30 @@ public interface BoardService {
 	// Controller로부터 Pager 객체를 받아 DAO에 그대로 전달하는 역할을 합니다.
 	public List<BoardVO> list(Pager pager) throws Exception;
 
+	// JSON 목록 API용으로 커서 방식 목록을 한 행씩 handler에 넘겨주는 기능의 명세입니다.
+	// 페이지가 가득 찼다면 마지막 행의 위치를 Pager의 다음 커서(nextNum 또는 nextPath)에 채워줍니다.
+	public void listStream(Pager pager, ResultHandler<BoardVO> handler) throws Exception;
+
+	// 내보내기(CSV/NDJSON)용으로 모든 게시글을 한 행씩 handler에 넘겨주는 기능의 명세입니다.
+	public void exportList(ResultHandler<BoardVO> handler) throws Exception;
+
 	// 게시글 상세 정보를 가져오는 기능의 명세입니다. (DAO와 유사)
 	public BoardVO detail(BoardVO boardVO) throws Exception;
 
+	// 조회수를 올리지 않고 게시글 상세 정보를 가져오는 기능의 명세입니다. (수정 폼처럼 글을 '보는' 것이 아닌 경우)
+	public BoardVO read(BoardVO boardVO) throws Exception;
+
+	// 목록 화면의 렌더링된 HTML 조각을 캐시에서 찾는 기능의 명세입니다.
+	// 캐시에 있으면(isCached) Controller는 list를 호출하지 않고 JSP가 HTML을 그대로 출력합니다.
+	public Fragment listFragment(Pager pager) throws Exception;
+
+	// 상세 화면의 렌더링된 HTML 조각(제목, 본문, 첨부파일)을 캐시에서 찾는 기능의 명세입니다.
+	// 캐시에 있으면 조회수만 1 증가시키고, Controller는 detail을 호출하지 않습니다.
+	public Fragment detailFragment(BoardVO boardVO) throws Exception;
+
+	// 상세 정보를 조회하지 않고 조회수만 1 증가시키는 기능의 명세입니다.
+	public void hit(BoardVO boardVO) throws Exception;
+
 	// 게시글과 '첨부파일들'을 함께 등록하는 기능의 명세입니다.
 	// Controller로부터 게시글 정보(boardVO)와 여러 개의 파일(attaches)을 받습니다.
 	// 이 메서드 내부에서 파일 저장, DB 저장 등 복잡한 과정이 처리됩니다.
@@ -0,0 +1,60 @@
+package com.winter.app.board;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// 게시글 검색용 토큰을 만드는 도구 클래스입니다.
+// 한글은 띄어쓰기 단위로 검색어가 끝나지 않고 조사가 붙기 때문에(예: "공지사항을", "공지사항입니다")
+// 단어 단위가 아니라 글자 2개씩 묶은 바이그램(bigram)으로 잘라서 색인합니다.
+// 예: "공지사항" -> "공지", "지사", "사항"
+// 이렇게 하면 LIKE '%지사%' 처럼 단어 중간을 검색하는 경우도 색인으로 찾을 수 있습니다.
+public class BoardTokenizer {
+
+	private BoardTokenizer() {
+	}
+
+	// Summernote가 만든 HTML 본문에서 태그를 제거하고 글자만 남깁니다.
+	// <script>, <style> 안의 내용은 화면에 보이는 글이 아니므로 함께 제거합니다.
+	public static String stripTags(String html) {
+		if (html == null) {
+			return "";
+		}
+		String text = html.replaceAll("(?is)<(script|style)[^>]*>.*?</\\1>", " ");
+		text = text.replaceAll("<[^>]*>", " ");
+		text = text.replace("&nbsp;", " ")
+				.replace("&lt;", "<")
+				.replace("&gt;", ">")
+				.replace("&quot;", "\"")
+				.replace("&#39;", "'")
+				.replace("&amp;", "&");
+		return text;
+	}
+
+	// 문자열을 소문자로 바꾼 뒤, 공백으로 나뉜 덩어리마다 바이그램을 만들어 반환합니다.
+	// 한 글자짜리 덩어리는 바이그램을 만들 수 없으므로 토큰이 생기지 않습니다.
+	public static Set<String> tokens(String text) {
+		Set<String> tokens = new HashSet<>();
+		if (text == null) {
+			return tokens;
+		}
+		String lower = text.toLowerCase(Locale.ROOT);
+		int start = -1;
+		for (int i = 0; i <= lower.length(); i++) {
+			boolean end = i == lower.length() || Character.isWhitespace(lower.charAt(i));
+			if (!end) {
+				if (start < 0) {
+					start = i;
+				}
+				continue;
+			}
+			if (start >= 0) {
+				for (int j = start; j + 2 <= i; j++) {
+					tokens.add(lower.substring(j, j + 2));
+				}
+				start = -1;
+			}
+		}
+		return tokens;
+	}
+}
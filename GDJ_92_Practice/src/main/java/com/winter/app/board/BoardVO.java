@@ -15,10 +15,14 @@ public class BoardVO {
 	private Long boardNum;
 	private String boardTitle;
 	private String boardContents;
+	// 목록에 보여줄 본문 미리보기(태그를 뺀 앞부분)입니다. 글을 등록/수정할 때 BoardPreview로 만들어 저장합니다.
+	private String boardPreview;
 	private String boardWriter;
 	private LocalDateTime boardDate;
 	private Long boardHit;
 	private List<BoardFileVO> boardFileVOs;
+	// 목록을 조회할 때 함께 계산된 검색 조건의 전체 개수입니다. (listCount 쿼리에서만 채워집니다)
+	private Long totalCount;
 	
 
 }
@@ -0,0 +1,78 @@
+package com.winter.app.board;
+
+import java.util.Arrays;
+
+// 역색인(inverted index)의 토큰 하나에 대한 게시글 번호 목록입니다.
+// 번호를 오름차순으로 정렬된 long 배열에 보관하므로 Long 객체를 만들지 않아 메모리를 적게 쓰고,
+// 두 목록의 교집합도 한 번씩만 훑어서(merge) 빠르게 구할 수 있습니다.
+public class PostingList {
+
+	private long[] nums = new long[4];
+	private int size;
+
+	// 게시글 번호를 추가합니다.
+	// 새 글은 항상 가장 큰 번호를 가지므로 대부분 배열 끝에 붙이는 것으로 끝납니다.
+	public void add(long num) {
+		if (size == 0 || nums[size - 1] < num) {
+			this.grow();
+			nums[size++] = num;
+			return;
+		}
+		int idx = Arrays.binarySearch(nums, 0, size, num);
+		if (idx >= 0) {
+			return; // 이미 들어있는 번호입니다.
+		}
+		int pos = -idx - 1;
+		this.grow();
+		System.arraycopy(nums, pos, nums, pos + 1, size - pos);
+		nums[pos] = num;
+		size++;
+	}
+
+	// 게시글 번호를 제거합니다.
+	public void remove(long num) {
+		int idx = Arrays.binarySearch(nums, 0, size, num);
+		if (idx < 0) {
+			return;
+		}
+		System.arraycopy(nums, idx + 1, nums, idx, size - idx - 1);
+		size--;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	// 현재 번호 목록의 복사본을 반환합니다.
+	public long[] toArray() {
+		return Arrays.copyOf(nums, size);
+	}
+
+	// 정렬된 번호 배열 a와 이 목록의 교집합을 구합니다.
+	public long[] intersect(long[] a) {
+		long[] result = new long[Math.min(a.length, size)];
+		int i = 0, j = 0, n = 0;
+		while (i < a.length && j < size) {
+			if (a[i] < nums[j]) {
+				i++;
+			} else if (a[i] > nums[j]) {
+				j++;
+			} else {
+				result[n++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(result, n);
+	}
+
+	private void grow() {
+		if (size == nums.length) {
+			nums = Arrays.copyOf(nums, size * 2);
+		}
+	}
+}
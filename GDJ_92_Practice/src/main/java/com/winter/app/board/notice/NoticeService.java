@@ -1,18 +1,39 @@
 package com.winter.app.board.notice;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.winter.app.board.BoardDAO;
+import com.winter.app.board.BoardDetailCache;
 import com.winter.app.board.BoardFileVO;
+import com.winter.app.board.BoardFragmentCache;
+import com.winter.app.board.BoardHitCounter;
+import com.winter.app.board.BoardListCache;
+import com.winter.app.board.BoardPaging;
+import com.winter.app.board.BoardPreview;
+import com.winter.app.board.BoardSearchIndex;
 import com.winter.app.board.BoardService;
 import com.winter.app.board.BoardVO;
+import com.winter.app.commons.AfterCommit;
+import com.winter.app.commons.ContentVersions;
+import com.winter.app.commons.FileJournal;
 import com.winter.app.commons.FileManager;
+import com.winter.app.commons.Fragment;
+import com.winter.app.commons.ImageVariants;
+import com.winter.app.commons.OrphanReconciler;
 import com.winter.app.commons.Pager;
+import com.winter.app.commons.ShardMigrator;
+
+import jakarta.annotation.PostConstruct;
 
 // @Service : 이 클래스가 비즈니스 로직을 처리하는 서비스 계층의 컴포넌트임을 Spring에 알립니다.
 @Service
@@ -26,6 +47,50 @@ public class NoticeService implements BoardService {
 	@Autowired
 	private FileManager fileManager;
 	
+	// @Autowired : 삭제할 첨부파일을 기록해 두었다가 백그라운드에서 지우는 삭제 기록(journal)을 주입받습니다.
+	@Autowired
+	private FileJournal fileJournal;
+	
+	// @Autowired : 업로드 폴더에서 쓰이지 않는 파일을 찾아 지우는 정리 작업을 주입받습니다.
+	@Autowired
+	private OrphanReconciler orphanReconciler;
+	
+	// @Autowired : 업로드된 이미지의 축소본(썸네일 등)을 만드는 컴포넌트를 주입받습니다.
+	@Autowired
+	private ImageVariants imageVariants;
+	
+	// @Autowired : 게시판 폴더의 예전 파일을 하위 폴더로 옮기는 작업을 주입받습니다.
+	@Autowired
+	private ShardMigrator shardMigrator;
+	
+	// @Autowired : 게시판 목록 조회 결과(전체 개수, 페이지 목록)를 보관하는 캐시를 주입받습니다.
+	@Autowired
+	private BoardListCache boardListCache;
+	
+	// @Autowired : 번호 블럭 방식 목록을 전체 개수(COUNT) 계산 여부에 맞게 조회해주는 객체를 주입받습니다.
+	@Autowired
+	private BoardPaging boardPaging;
+	
+	// @Autowired : 제목/내용/작성자 검색을 빠르게 처리하기 위한 메모리 검색 색인을 주입받습니다.
+	@Autowired
+	private BoardSearchIndex boardSearchIndex;
+	
+	// @Autowired : 조회수를 메모리에 모았다가 주기적으로 DB에 반영하는 카운터를 주입받습니다.
+	@Autowired
+	private BoardHitCounter boardHitCounter;
+	
+	// @Autowired : 게시글 상세 조회 결과를 보관하는 캐시를 주입받습니다.
+	@Autowired
+	private BoardDetailCache boardDetailCache;
+	
+	// @Autowired : 렌더링된 목록/상세 화면 조각(HTML)을 보관하는 캐시를 주입받습니다.
+	@Autowired
+	private BoardFragmentCache boardFragmentCache;
+	
+	// @Autowired : 게시판/게시글의 변경 번호(조건부 GET의 ETag)를 기록하는 컴포넌트를 주입받습니다.
+	@Autowired
+	private ContentVersions contentVersions;
+	
 	// @Value("${app.upload}") : application.properties 파일의 'app.upload' 속성 값을 변수 'upload'에 주입합니다. (예: D:/upload/)
 	@Value("${app.upload}")
 	private String upload;
@@ -33,116 +98,295 @@ public class NoticeService implements BoardService {
 	// @Value("${board.notice}") : application.properties 파일의 'board.notice' 속성 값을 변수 'board'에 주입합니다. (예: notice/)
 	@Value("${board.notice}")
 	private String board;
+	
+	// @PostConstruct : 의존성 주입이 끝난 직후 한 번 실행됩니다.
+	// 조회수 카운터와 업로드 폴더 정리 작업이 공지사항을 조회할 때 사용할 DAO를 등록하고,
+	// 게시판 폴더를 하위 폴더로 옮기는 작업에 등록합니다.
+	@PostConstruct
+	public void init() {
+		boardHitCounter.register(board, noticeDAO);
+		orphanReconciler.register(board, noticeDAO);
+		shardMigrator.register(upload + board);
+	}
+	
+	// 애플리케이션 시작이 완료되면 DB의 공지사항 전체를 읽어 검색 색인을 만듭니다.
+	// 색인 생성은 별도 스레드에서 진행되며, 완료 전까지는 기존 LIKE 검색을 사용합니다.
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuildIndex() {
+		boardSearchIndex.rebuild(board, handler -> noticeDAO.indexList(handler));
+	}
 
 	// 페이징 처리된 게시글 목록을 가져오는 메서드입니다.
 	@Override
 	public List<BoardVO> list(Pager pager) throws Exception {
-		// DAO를 호출하여 전체 게시글 개수를 가져옵니다.
-		Long totalCount = noticeDAO.totalCount(pager);
-		// Pager 객체에 전체 개수를 전달하여 페이지네이션 관련 계산을 수행시킵니다.
-		pager.makeNum(totalCount);
-		// 계산이 완료된 Pager 정보를 이용해 현재 페이지에 맞는 게시글 목록을 DAO로부터 가져와 반환합니다.
-		return noticeDAO.list(pager);
+		List<BoardVO> list;
+		
+		// 검색어가 있으면 검색 색인으로 후보 게시글 번호를 먼저 찾아 Pager에 담아둡니다.
+		// Mapper는 테이블 전체를 LIKE로 훑는 대신 이 번호들만 PK로 읽어 확인합니다.
+		// 검색어가 없으면 null로 비워 두어, 후보 번호 조건 없이 전체 목록을 조회합니다.
+		pager.setBoardNums(this.boardNums(pager));
+		
+		if(pager.isSeek()) {
+			// 커서(lastNum)가 전달되었다면 OFFSET 없이 마지막으로 본 글 다음부터 바로 조회합니다.
+			// 번호 블럭이 필요 없으므로 전체 개수(COUNT)도 계산하지 않습니다.
+			// 같은 커서로 다시 요청하면 캐시된 목록을 사용합니다.
+			list = boardListCache.list(board, pager, () -> noticeDAO.listSeek(pager));
+		} else {
+			// 번호 블럭 방식은 BoardPaging이 게시판 크기와 검색 조건에 따라
+			// 정확한 전체 개수(listCount) 또는 COUNT 없는 조회(listNext) 중 하나로 목록과 페이지 번호를 계산합니다.
+			list = boardPaging.list(board, pager, noticeDAO);
+		}
+		
+		// 다음 커서는 여기서만 채웁니다. 요청 등으로 미리 들어 있던 값이 화면(다음 목록 링크)에 남지 않도록 먼저 비웁니다.
+		pager.setNextNum(null);
+		pager.setNextPath(null);
+		// 현재 페이지가 가득 찼다면 다음 페이지가 있을 수 있으므로, 마지막 행의 번호를 다음 커서로 넘겨줍니다.
+		if(!list.isEmpty() && list.size() == pager.getPerPage()) {
+			pager.setNextNum(list.get(list.size() - 1).getBoardNum());
+		}
+		
+		return list;
+	}
+	
+	// JSON 목록 API용 목록을 한 행씩 handler에 넘겨주는 메서드입니다.
+	// 목록 캐시를 거치지 않습니다. 같은 페이지를 다시 요청하면 컨트롤러가 ETag로 먼저 304를 응답합니다.
+	@Override
+	public void listStream(Pager pager, ResultHandler<BoardVO> handler) throws Exception {
+		// 검색어가 있으면 list와 마찬가지로 검색 색인의 후보 번호만 확인합니다.
+		pager.setBoardNums(this.boardNums(pager));
+		
+		// 행을 넘겨주면서 지금까지 넘긴 행 수와 마지막 행의 번호를 기억해 둡니다.
+		int[] count = new int[1];
+		Long[] lastNum = new Long[1];
+		noticeDAO.listStream(pager, context -> {
+			count[0] = context.getResultCount();
+			lastNum[0] = context.getResultObject().getBoardNum();
+			handler.handleResult(context);
+		});
+		
+		// 다음 커서는 여기서만 채웁니다. 요청 등으로 미리 들어 있던 값이 화면(다음 목록 링크)에 남지 않도록 먼저 비웁니다.
+		pager.setNextNum(null);
+		pager.setNextPath(null);
+		// 현재 페이지가 가득 찼다면 마지막 행의 번호를 다음 커서로 넘겨줍니다.
+		if(count[0] > 0 && count[0] == pager.getPerPage()) {
+			pager.setNextNum(lastNum[0]);
+		}
+	}
+	
+	// 검색 색인으로 찾은 후보 게시글 번호를 반환합니다. 검색어가 없으면 null입니다.
+	private List<Long> boardNums(Pager pager) {
+		if(pager.getKeyword().isEmpty()) {
+			return null;
+		}
+		return boardSearchIndex.search(board, pager.getKind(), pager.getKeyword());
+	}
+	
+	// 내보내기(CSV/NDJSON)용으로 모든 게시글을 한 행씩 넘겨주는 메서드입니다.
+	@Override
+	public void exportList(ResultHandler<BoardVO> handler) throws Exception {
+		noticeDAO.exportList(handler);
 	}
 	
 	// 특정 게시글의 상세 정보를 가져오는 메서드입니다.
 	@Override
 	public BoardVO detail(BoardVO boardVO) throws Exception {
-		// DAO에 게시글 번호를 전달하여 해당 게시글의 상세 정보를 조회하고 반환합니다.
-		return noticeDAO.detail(boardVO);
+		// 게시글 번호로 상세 정보를 조회합니다. 캐시에 있으면 DB를 거치지 않습니다.
+		BoardVO result = this.read(boardVO);
+		if(result == null) {
+			return null;
+		}
+		
+		// 조회수를 1 증가시킵니다. DB에는 주기적으로 모아서 반영되므로,
+		// 화면에는 "DB에 저장된 조회수 + 아직 반영되지 않은 조회수"를 보여줍니다.
+		long hit = result.getBoardHit() == null ? 0 : result.getBoardHit();
+		result.setBoardHit(hit + boardHitCounter.increment(board, result.getBoardNum()));
+		return result;
+	}
+	
+	// 조회수를 올리지 않고 게시글의 상세 정보를 가져오는 메서드입니다. (수정 폼)
+	@Override
+	public BoardVO read(BoardVO boardVO) throws Exception {
+		return boardDetailCache.detail(board, boardVO.getBoardNum(), () -> noticeDAO.detail(boardVO));
+	}
+	
+	// 목록 화면 조각을 찾는 메서드입니다. Pager를 채우는 list보다 먼저 호출해야 합니다.
+	@Override
+	public Fragment listFragment(Pager pager) throws Exception {
+		return boardFragmentCache.list(board, pager);
+	}
+	
+	// 상세 화면 조각을 찾는 메서드입니다.
+	// 캐시에 있으면 상세 조회(detail)를 하지 않으므로 여기서 조회수를 1 증가시킵니다.
+	@Override
+	public Fragment detailFragment(BoardVO boardVO) throws Exception {
+		Fragment fragment = boardFragmentCache.detail(board, boardVO.getBoardNum());
+		if(fragment.isCached()) {
+			this.hit(boardVO);
+		}
+		return fragment;
+	}
+	
+	// 조회수만 1 증가시키는 메서드입니다.
+	// 상세 화면 조각이 캐시에 있거나, 브라우저에 저장된 화면이 그대로라서(304) 상세 조회를 하지 않을 때 사용합니다.
+	@Override
+	public void hit(BoardVO boardVO) throws Exception {
+		boardHitCounter.increment(board, boardVO.getBoardNum());
 	}
 	
 	// 새 게시글과 첨부파일을 DB와 서버에 저장하는 메서드입니다.
+	// @Transactional : 게시글 행과 첨부파일 행들을 하나의 트랜잭션으로 묶어 한 번만 커밋합니다.
+	// 중간에 실패하면 게시글도 함께 롤백되어 첨부파일 정보가 빠진 글이 남지 않습니다.
 	@Override
+	@Transactional
 	public int insert(BoardVO boardVO, MultipartFile [] attaches) throws Exception {
+		// 목록에 보여줄 미리보기를 본문에서 만들어 함께 저장합니다.
+		boardVO.setBoardPreview(BoardPreview.of(boardVO.getBoardContents()));
+		
 		// 먼저 게시글 내용(제목, 작성자 등)을 DB에 저장합니다. boardNum이 생성됩니다.
 		int result = noticeDAO.insert(boardVO);
 		
-		// 첨부파일이 없으면 여기서 메서드를 종료합니다.
-		if(attaches == null) {
-			return result;
-		}
-	
-		// 첨부파일 배열을 반복 처리합니다.
-		for(MultipartFile m : attaches) {
-			// 파일이 비어있으면 건너뜁니다.
-			if(m == null || m.isEmpty()) {
-				continue;
-			}
-			// 1. FileManager를 이용해 파일을 서버의 하드디스크에 저장합니다. (예: D:/upload/notice/ 폴더)
-			String fileName = fileManager.fileSave(upload + board, m);
-			
-			// 2. 저장된 파일의 정보를 BoardFileVO 객체에 담아 DB에 저장합니다.
-			BoardFileVO vo = new BoardFileVO();
-			// 파일의 원본 이름을 저장합니다.
-			vo.setOriName(m.getOriginalFilename());
-			// 서버에 저장된 고유한 파일 이름을 저장합니다.
-			vo.setSaveName(fileName);
-			// 이 파일이 어떤 게시글에 속해있는지 알려주기 위해 게시글 번호를 저장합니다.
-			vo.setBoardNum(boardVO.getBoardNum());
-			result = noticeDAO.insertFile(vo);
-		}
+		// 첨부파일을 서버에 저장하고, 파일 정보를 한 번에 DB에 저장합니다.
+		this.saveFiles(boardVO.getBoardNum(), attaches);
+		
+		// 커밋이 끝난 뒤 목록 캐시를 비우고, 새 글을 검색 색인에 추가합니다.
+		AfterCommit.run(() -> {
+			boardListCache.clear(board);
+			contentVersions.touch(board, boardVO.getBoardNum());
+			boardSearchIndex.index(board, boardVO);
+		});
+		
 		// 최종 결과를 반환합니다.
 		return result;
 	}
 	
 	// 기존 게시글 내용과 첨부파일을 수정하는 메서드입니다.
+	// @Transactional : 게시글 수정과 새 첨부파일 정보 저장을 한 번에 커밋합니다.
 	@Override
+	@Transactional
 	public int update(BoardVO boardVO, MultipartFile [] attaches) throws Exception {
+		// 본문이 바뀌었을 수 있으므로 미리보기도 다시 만듭니다.
+		boardVO.setBoardPreview(BoardPreview.of(boardVO.getBoardContents()));
+		
 		// 먼저 수정된 게시글 내용을 DB에 업데이트합니다.
 		int result = noticeDAO.update(boardVO);
 		
-		// 새로 추가된 첨부파일이 없으면 여기서 메서드를 종료합니다.
+		// 새로 추가된 파일들을 저장하는 로직은 insert와 동일합니다.
+		this.saveFiles(boardVO.getBoardNum(), attaches);
+		
+		// 커밋이 끝난 뒤, 목록에 보이는 제목 등이 바뀌었을 수 있으므로 목록 캐시를 비우고 검색 색인도 새 내용으로 갱신합니다.
+		// 상세 내용과 첨부파일 목록도 바뀌었으므로 이 글의 상세 캐시를 제거합니다.
+		AfterCommit.run(() -> {
+			boardListCache.clear(board);
+			contentVersions.touch(board, boardVO.getBoardNum());
+			boardSearchIndex.index(board, boardVO);
+			boardDetailCache.evict(board, boardVO.getBoardNum());
+			boardFragmentCache.evict(board, boardVO.getBoardNum());
+		});
+				
+		return result;
+	}
+	
+	// 첨부파일들을 서버에 저장하고, 파일 정보를 INSERT 한 번으로 DB에 저장하는 메서드입니다.
+	// 예전에는 파일마다 insertFile을 호출해 파일 수만큼 DB를 왕복했습니다.
+	private int saveFiles(Long boardNum, MultipartFile [] attaches) throws Exception {
+		// 첨부파일이 없으면 저장할 것이 없습니다.
 		if(attaches == null) {
-			return result;
+			return 0;
 		}
 		
-		// 새로 추가된 파일들을 저장하는 로직은 insert와 동일합니다.
+		// 비어있지 않은 파일만 골라냅니다.
+		List<MultipartFile> uploads = new ArrayList<>();
 		for(MultipartFile m : attaches) {
-			if(m == null || m.isEmpty()) {
-				continue;
+			if(m != null && !m.isEmpty()) {
+				uploads.add(m);
 			}
-			// 1. 파일을 HDD에 저장합니다.
-			String fileName = fileManager.fileSave(upload + board, m);
-			
-			// 2. 저장된 파일 정보를 DB에 저장합니다.
+		}
+		if(uploads.isEmpty()) {
+			return 0;
+		}
+		
+		// 1. FileManager를 이용해 파일들을 서버의 하드디스크에 동시에 저장합니다. (예: D:/upload/notice/ 폴더)
+		// 모든 파일이 저장된 뒤에 반환되며, 하나라도 실패하면 저장된 파일을 지우고 예외가 발생합니다.
+		List<String> fileNames = fileManager.fileSaveAll(upload + board, uploads);
+		
+		// 2. 저장된 파일의 정보를 BoardFileVO 객체에 담아 목록에 모아둡니다.
+		List<BoardFileVO> files = new ArrayList<>();
+		for(int i = 0; i < uploads.size(); i++) {
 			BoardFileVO vo = new BoardFileVO();
-			vo.setOriName(m.getOriginalFilename());
-			vo.setSaveName(fileName);
-			vo.setBoardNum(boardVO.getBoardNum());
-			result = noticeDAO.insertFile(vo);
+			// 파일의 원본 이름을 저장합니다.
+			vo.setOriName(uploads.get(i).getOriginalFilename());
+			// 서버에 저장된 고유한 파일 이름을 저장합니다.
+			vo.setSaveName(fileNames.get(i));
+			// 이 파일이 어떤 게시글에 속해있는지 알려주기 위해 게시글 번호를 저장합니다.
+			vo.setBoardNum(boardNum);
+			files.add(vo);
 		}
-				
+		
+		// 3. 모아둔 파일 정보를 한 번에 DB에 저장합니다.
+		int result = noticeDAO.insertFiles(files);
+		
+		// 4. 커밋이 끝나면 이미지 첨부파일의 축소본(썸네일 등)을 백그라운드에서 미리 만들어 둡니다.
+		AfterCommit.run(() -> {
+			for(BoardFileVO vo : files) {
+				imageVariants.generateAsync(fileManager.file(upload + board, vo.getSaveName()), vo.getOriName());
+			}
+		});
 		return result;
 	}
 	
 	// 게시글과 관련된 모든 파일 및 DB 정보를 삭제하는 메서드입니다.
+	// @Transactional : DB 삭제가 커밋된 뒤에 실제 파일을 삭제하기 위해 트랜잭션으로 묶습니다.
 	@Override
+	@Transactional
 	public int delete(BoardVO boardVO) throws Exception {
 		// 삭제할 파일들의 정보를 얻기 위해 게시글 상세 정보를 먼저 조회합니다.
-		boardVO = noticeDAO.detail(boardVO);
+		BoardVO detail = noticeDAO.detail(boardVO);
 		
-		// 게시글에 첨부된 파일 목록을 반복 처리합니다.
-		for(BoardFileVO vo : boardVO.getBoardFileVOs()) {
-			// FileManager를 이용해 서버에 저장된 실제 파일을 삭제합니다.
-			fileManager.fileDelete(upload + board, vo.getSaveName());
+		// 게시글에 첨부된 파일 목록에서 저장된 파일명을 모아둡니다.
+		List<String> fileNames = new ArrayList<>();
+		for(BoardFileVO vo : detail.getBoardFileVOs()) {
+			fileNames.add(vo.getSaveName());
 		}
 		// DB에서 이 게시물에 첨부된 모든 파일 정보를 삭제합니다. (ON DELETE CASCADE로 대체 가능)
 		// int result = noticeDAO.fileDelete(boardVO);
-		// 최종적으로 게시글 자체를 DB에서 삭제하고 결과를 반환합니다.
-		return noticeDAO.delete(boardVO);
+		// 최종적으로 게시글 자체를 DB에서 삭제합니다.
+		int result = noticeDAO.delete(detail);
+		
+		// 서버에 저장된 실제 파일은 삭제 기록(journal)에 남겨 두고, 커밋 후 백그라운드에서 삭제합니다.
+		// 같은 내용의 파일을 다른 글도 쓰고 있다면 참조 수만 줄어듭니다.
+		fileJournal.enqueue(upload + board, fileNames);
+		
+		// 목록에서 글이 사라졌으므로 목록 캐시를 비우고, 검색 색인에서도 제거합니다.
+		AfterCommit.run(() -> {
+			boardListCache.clear(board);
+			contentVersions.touch(board, detail.getBoardNum());
+			boardSearchIndex.remove(board, detail.getBoardNum());
+			boardDetailCache.evict(board, detail.getBoardNum());
+			boardFragmentCache.evict(board, detail.getBoardNum());
+		});
+		return result;
 	}
 	
 	// 첨부파일 한 개를 삭제하는 메서드입니다. (수정 페이지에서 파일 개별 삭제 시 사용)
 	@Override
+	@Transactional
 	public int fileDelete(BoardFileVO boardFileVO) throws Exception {
 		// 1. DB에서 파일 번호(fileNum)로 파일의 상세 정보(saveName)를 조회합니다.
-		boardFileVO = noticeDAO.fileDetail(boardFileVO);
-		// 2. FileManager를 이용해 서버에 저장된 실제 파일을 삭제합니다.
-		boolean result = fileManager.fileDelete(upload + board, boardFileVO.getSaveName());
+		BoardFileVO file = noticeDAO.fileDetail(boardFileVO);
+		
+		// 2. DB에서 해당 파일 정보를 삭제합니다.
+		int count = noticeDAO.fileDeleteOne(file);
+		
+		// 3. 서버에 저장된 실제 파일은 삭제 기록(journal)에 남겨 두고, 커밋 후 백그라운드에서 삭제합니다. (중복 제거 파일은 참조 수 감소)
+		fileJournal.enqueue(upload + board, List.of(file.getSaveName()));
 		
-		// 3. 파일이 성공적으로 삭제되었다면, DB에서도 해당 파일 정보를 삭제하고 결과를 반환합니다.
-		return noticeDAO.fileDeleteOne(boardFileVO);
+		// 4. 첨부파일 목록이 바뀌었으므로 파일이 속한 글의 상세 캐시를 제거합니다.
+		AfterCommit.run(() -> {
+			boardDetailCache.evict(board, file.getBoardNum());
+			boardFragmentCache.evict(board, file.getBoardNum());
+			contentVersions.touch(board, file.getBoardNum());
+		});
+		return count;
 	}
 	
 	// 첨부파일 한 개의 상세 정보를 조회하는 메서드입니다. (파일 다운로드 시 사용)
@@ -162,15 +406,27 @@ public class NoticeService implements BoardService {
 		// FileManager를 이용해 파일을 서버에 저장하고, 저장된 파일명을 받아옵니다.
 		String filename = fileManager.fileSave(upload + board, multipartFile);
 		
+		// 본문에 표시할 축소본(large)을 백그라운드에서 미리 만들어 둡니다.
+		imageVariants.generateAsync(fileManager.file(upload + board, filename), filename);
+		
 		// 에디터가 이미지를 표시할 수 있도록 웹 접근 경로(URL)를 만들어 반환합니다.
-		return "/files/" + board + "/" + filename;
+		// size=large 를 붙여 본문에는 원본 대신 축소본이 표시되게 합니다. (원본은 파라미터 없이 요청하면 받을 수 있습니다)
+		return "/files/" + board + "/" + filename + "?size=large";
 	}
 
 	// Summernote 에디터에서 이미지를 삭제 처리하는 메서드입니다.
 	@Override
 	public boolean boardFileDelete(String fileName) throws Exception {
 		// 전달받은 전체 URL 경로(예: /files/notice/image.jpg)에서 마지막 파일 이름 부분만 추출합니다.
-		fileName = fileName.substring(fileName.lastIndexOf("/"));
+		// 축소본 주소(예: ...image.jpg?size=large)라면 뒤의 파라미터는 떼어냅니다.
+		if(fileName.contains("?")) {
+			fileName = fileName.substring(0, fileName.indexOf("?"));
+		}
+		fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
+		
+		// 이 이미지를 본문에 포함한 글이 캐시되어 있다면 제거합니다.
+		boardDetailCache.evictByFile(board, fileName);
+		boardFragmentCache.evictByFile(board, fileName);
 		
 		// FileManager를 이용해 서버에서 해당 파일을 삭제하고 성공 여부를 반환합니다.
 		return fileManager.fileDelete(upload + board, fileName);
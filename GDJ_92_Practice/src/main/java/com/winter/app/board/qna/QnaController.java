@@ -2,6 +2,7 @@ package com.winter.app.board.qna;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,13 +10,22 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.winter.app.board.BoardExport;
 import com.winter.app.board.BoardFileVO;
+import com.winter.app.board.BoardListCache;
+import com.winter.app.board.BoardRows;
 import com.winter.app.board.BoardVO;
 import com.winter.app.board.notice.NoticeVO;
+import com.winter.app.commons.ContentVersions;
+import com.winter.app.commons.ExportWriter;
+import com.winter.app.commons.Fragment;
 import com.winter.app.commons.Pager;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 
 // @Controller : 이 클래스가 Spring의 컨트롤러 역할을 한다는 것을 선언합니다.
@@ -29,6 +39,16 @@ public class QnaController {
 	@Autowired
 	private QnaService qnaService;
 	
+	@Autowired
+	private BoardRows boardRows;
+	
+	@Autowired
+	private ExportWriter exportWriter;
+	
+	// 게시판/게시글이 바뀌지 않았으면 목록/상세 화면을 304(Not Modified)로 응답할 때 사용합니다.
+	@Autowired
+	private ContentVersions contentVersions;
+	
 	// @Value("${board.qna}") : application.properties 파일에 정의된 'board.qna' 속성 값을 찾아 변수 'name'에 주입합니다.
 	@Value("${board.qna}")
 	private String name;
@@ -41,23 +61,77 @@ public class QnaController {
 	}
 	
 	// GET 방식으로 /qna/list 주소를 요청했을 때 실행됩니다.
+	// ?pageNum=3 처럼 요청하면 번호 블럭(OFFSET) 방식, ?lastPath=9999999949 처럼 요청하면 커서(Seek) 방식으로 조회합니다.
 	@GetMapping("list")
-	public String list(Pager pager, Model model)throws Exception{
+	public String list(Pager pager, Model model, WebRequest webRequest)throws Exception{
 		
-		// Pager 객체와 게시글 목록을 Model에 담아 JSP로 전달합니다.
+		// 게시판의 글이 바뀌지 않았다면 브라우저(또는 프록시)에 저장된 화면을 그대로 쓰도록 304로 응답합니다. (DB 조회, JSP 렌더링 없음)
+		// 목록에는 조회수도 표시되므로 조회수 버전(hitsKey)도 함께 확인합니다. 조회수 버전은 app.hit.list-interval 이상 간격으로만
+		// 바뀌므로, 저장된 화면의 조회수는 최대 그 시간만큼 늦을 수 있습니다. (JSON 목록 API, 목록 조각과 같은 기준입니다)
+		if(contentVersions.checkNotModified(webRequest, name, BoardListCache.hitsKey(name))) {
+			return null;
+		}
+		
+		// Pager 객체를 Model에 담아 JSP로 전달합니다.
 		model.addAttribute("pager", pager);
+		
+		// 같은 조건으로 렌더링해 둔 목록 화면 조각(표, 페이지 번호)이 있으면 목록을 조회하지 않습니다.
+		Fragment fragment = qnaService.listFragment(pager);
+		model.addAttribute("fragment", fragment);
+		if(fragment.isCached()) {
+			return "board/list";
+		}
+		
+		// 게시글 목록을 Model에 담아 JSP로 전달합니다.
 		model.addAttribute("list", qnaService.list(pager));
 		
 		// "board/list.jsp" 파일을 찾아 사용자에게 보여줍니다.
 		return "board/list";
 	}
 	
+	// GET 방식으로 /qna/rows 주소를 요청했을 때 실행됩니다. (모바일 앱의 무한 스크롤용 JSON 목록)
+	// 첫 요청은 ?perPage=20 처럼 보내고, 다음 페이지는 응답의 next 값을 ?cursor= 로 그대로 보냅니다.
+	// 검색은 목록 화면과 같은 kind, keyword 파라미터를 사용합니다.
+	// 글이 바뀌지 않았다면 If-None-Match 헤더로 보낸 ETag를 확인해 DB 조회 없이 304로 응답합니다.
+	@GetMapping("rows")
+	public ResponseEntity<StreamingResponseBody> rows(Pager pager, String cursor, WebRequest webRequest)throws Exception{
+		return boardRows.response(name, pager, cursor, webRequest, handler -> qnaService.listStream(pager, handler));
+	}
+	
+	// GET 방식으로 /qna/export 주소를 요청했을 때 실행됩니다. (전체 게시글 내보내기)
+	// ?format=csv(기본값) 또는 ?format=ndjson, 압축 파일로 받으려면 &gzip=true 를 함께 보냅니다.
+	// 게시글을 한 행씩 읽으면서 바로 응답에 쓰므로 게시글이 많아도 메모리 사용량이 일정합니다.
+	@GetMapping("export")
+	public void export(String format, boolean gzip, HttpServletResponse response)throws Exception{
+		exportWriter.write(response, name, format, gzip, BoardExport.qnaColumns(), handler -> qnaService.exportList(handler));
+	}
+	
 	// GET 방식으로 /qna/detail 주소를 요청했을 때 실행됩니다.
 	@GetMapping("detail")
-	public String detail(QnaVO qnaVO, Model model)throws Exception{
+	public String detail(QnaVO qnaVO, Model model, WebRequest webRequest)throws Exception{
+		
+		// 글이 바뀌지 않았다면 상세 정보를 조회하지 않고 304로 응답합니다. 브라우저가 저장된 화면을 보여주므로 조회수만 올립니다.
+		if(contentVersions.checkNotModified(webRequest, ContentVersions.key(name, qnaVO.getBoardNum()))) {
+			qnaService.hit(qnaVO);
+			return null;
+		}
+		
+		// 렌더링해 둔 상세 화면 조각(제목, 본문, 첨부파일)이 있으면 상세 정보를 조회하지 않습니다.
+		// 조각 밖의 버튼 영역은 게시글 번호만 사용하므로 요청 파라미터를 그대로 전달합니다.
+		Fragment fragment = qnaService.detailFragment(qnaVO);
+		if(fragment.isCached()) {
+			model.addAttribute("fragment", fragment);
+			model.addAttribute("vo", qnaVO);
+			return "board/detail";
+		}
 		
 		// 서비스 계층에 게시글 번호를 전달하여 상세 정보를 조회하고, 그 결과를 Model에 담습니다.
-		model.addAttribute("vo", qnaService.detail(qnaVO));
+		// 없는 글이면 빈 화면을 캐시하지 않도록 조각을 전달하지 않습니다.
+		BoardVO boardVO = qnaService.detail(qnaVO);
+		model.addAttribute("vo", boardVO);
+		if(boardVO != null) {
+			model.addAttribute("fragment", fragment);
+		}
 		// "board/detail.jsp" 파일을 찾아 사용자에게 보여줍니다.
 		return "board/detail";
 	}
@@ -103,8 +177,8 @@ public class QnaController {
 	// GET 방식으로 /qna/update 주소를 요청했을 때 실행됩니다. (수정 폼 페이지)
 	@GetMapping("update")
 	public String update(BoardVO noticeVO, Model model)throws Exception{
-		// 수정할 게시글의 상세 정보를 DB에서 가져옵니다.
-		BoardVO boardVO = qnaService.detail(noticeVO);
+		// 수정할 게시글의 상세 정보를 가져옵니다. 글을 본 것이 아니므로 조회수는 올리지 않습니다.
+		BoardVO boardVO = qnaService.read(noticeVO);
 		// 가져온 정보를 "vo"라는 이름으로 Model에 담아 JSP의 폼에 채워줍니다.
 		model.addAttribute("vo", boardVO);
 		
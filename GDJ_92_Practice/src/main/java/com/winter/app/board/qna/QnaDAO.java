@@ -1,5 +1,7 @@
 package com.winter.app.board.qna;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
 
 import com.winter.app.board.BoardDAO;
@@ -13,10 +15,23 @@ import com.winter.app.board.BoardVO;
 // 덕분에 게시판마다 똑같은 기본 기능을 또 만들 필요가 없어지죠.
 public interface QnaDAO extends BoardDAO {
 
-	// 답글 순서를 업데이트하기 위한 메서드입니다.
-	// 새 답글이 들어갈 자리를 만들기 위해, 같은 그룹(REF)에 있는 기존 답글들의 순서(STEP)를
-	// 뒤로 한 칸씩 밀어내는 역할을 합니다. (예: UPDATE QNA SET STEP = STEP + 1 WHERE...)
-	public int refUpdate(BoardVO boardVO) throws Exception;
+	// 글 번호 발급기(QnaNumbers)가 QNA_SEQ의 마지막 번호를 size만큼 올려 번호를 예약합니다.
+	public int numberReserve(int size) throws Exception;
+
+	// 지금까지 예약된 마지막 글 번호를 조회합니다. (numberReserve와 같은 트랜잭션에서 호출)
+	public Long numberLast() throws Exception;
+
+	// 답글을 달 부모글의 그룹 번호, 깊이, 정렬 경로만 가볍게 조회합니다.
+	public QnaVO threadDetail(BoardVO boardVO) throws Exception;
+
+	// 정렬 경로(BOARD_PATH)가 아직 없는 글이 속한 그룹 번호 목록을 조회합니다. (기존 데이터 이전용)
+	public List<Long> pathMissingRefs() throws Exception;
+
+	// 한 그룹의 글 전체를 예전 순서(BOARD_STEP)대로 조회합니다. (기존 데이터 이전용)
+	public List<QnaVO> threadList(Long boardRef) throws Exception;
+
+	// 여러 글의 정렬 경로를 한 번의 UPDATE로 저장합니다. (기존 데이터 이전용)
+	public int pathUpdateList(List<QnaVO> list) throws Exception;
 
 	// 실제 답글 한 줄을 데이터베이스에 INSERT하는 메서드입니다.
 	// 서비스(Service)에서 계산된 그룹번호(REF), 순서(STEP), 깊이(DEPTH)가 포함된
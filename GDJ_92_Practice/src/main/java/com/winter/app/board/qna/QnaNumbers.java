@@ -0,0 +1,72 @@
+package com.winter.app.board.qna;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// QnA 글 번호를 INSERT 하기 전에 미리 정해 주는 번호 발급기입니다.
+// 정렬 경로(BOARD_PATH)에는 자기 글 번호가 들어가므로, 번호를 AUTO_INCREMENT로 받으면
+// INSERT 한 뒤 같은 행을 다시 UPDATE 해야 했습니다. 번호를 먼저 받아 두면 그룹 번호와 경로까지 채워 INSERT 한 번으로 끝납니다.
+//
+// QNA_SEQ 테이블의 마지막 번호를 app.qna.number-block 만큼 한 번에 올려 예약해 두고, 메모리에서 하나씩 나눠 줍니다.
+// 1) 예약은 호출한 쪽의 트랜잭션과 상관없이 바로 커밋하므로(REQUIRES_NEW) 글 등록 중에 QNA_SEQ 행을 잠가 두지 않습니다.
+// 2) 서버가 재시작되거나 글 등록이 롤백되면 쓰지 않은 번호는 건너뜁니다. (AUTO_INCREMENT와 마찬가지로 번호에 빈 곳이 생길 수 있습니다)
+// 3) 서버가 여러 대이면 서버마다 다른 범위를 예약하므로 번호가 겹치지 않습니다.
+//    다만 서버끼리는 번호 순서와 등록 순서가 조금 어긋날 수 있습니다. (목록은 번호 순서로 정렬됩니다)
+@Component
+public class QnaNumbers {
+
+	private final QnaDAO qnaDAO;
+
+	// 한 번에 예약할 번호 개수입니다.
+	private final int blockSize;
+
+	private final TransactionTemplate tx;
+
+	// 다음에 나눠 줄 번호와 예약한 범위의 마지막 번호입니다. next > last 이면 새로 예약합니다.
+	private long next;
+	private long last;
+
+	public QnaNumbers(QnaDAO qnaDAO, @Value("${app.qna.number-block}") int blockSize,
+			PlatformTransactionManager transactionManager) {
+		this.qnaDAO = qnaDAO;
+		this.blockSize = blockSize;
+		this.tx = new TransactionTemplate(transactionManager);
+		this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	// 새 글 번호 하나를 반환합니다.
+	public synchronized Long next() throws Exception {
+		if (next == 0 || next > last) {
+			last = this.reserve();
+			next = last - blockSize + 1;
+		}
+		return next++;
+	}
+
+	// QNA_SEQ의 번호를 blockSize만큼 올리고, 예약된 범위의 마지막 번호를 반환합니다.
+	// UPDATE가 잡은 행 잠금은 커밋할 때까지 유지되므로 같은 트랜잭션에서 읽은 값은 이 서버가 예약한 값입니다.
+	private long reserve() throws Exception {
+		try {
+			return tx.execute(status -> {
+				try {
+					qnaDAO.numberReserve(blockSize);
+					return qnaDAO.numberLast();
+				} catch (Exception e) {
+					throw new WrappedException(e);
+				}
+			});
+		} catch (WrappedException e) {
+			throw (Exception) e.getCause();
+		}
+	}
+
+	// DAO 메서드의 예외를 TransactionTemplate 밖으로 전달하기 위해 잠시 감쌉니다. (BlobStore와 같습니다)
+	private static class WrappedException extends RuntimeException {
+		WrappedException(Exception cause) {
+			super(cause);
+		}
+	}
+}
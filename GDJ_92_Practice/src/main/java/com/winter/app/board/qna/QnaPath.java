@@ -0,0 +1,50 @@
+package com.winter.app.board.qna;
+
+// QnA 게시글의 정렬 경로(BOARD_PATH)를 만드는 도구 클래스입니다.
+// 경로는 원본글부터 자기 자신까지 각 글의 번호를 10자리 조각(segment)으로 바꿔 이어 붙인 문자열입니다.
+// 예: 원본글 5 -> "9999999994", 5의 답글 8 -> "9999999994" + "9999999991"
+//
+// 조각은 (9999999999 - 글번호)를 0으로 채운 10자리 숫자이므로, 문자열 오름차순으로 정렬하면
+// 1) 그룹끼리는 최신 원본글이 먼저 나오고 (기존 BOARD_REF DESC)
+// 2) 답글은 항상 부모글 바로 아래, 부모의 하위 트리 안에 모이며
+// 3) 같은 부모의 답글끼리는 최신 답글이 먼저 나옵니다. (기존 STEP 방식과 같은 순서)
+// 자기 글 번호만으로 경로가 정해지므로, 답글을 달 때 다른 글의 순서를 밀어낼 필요가 없습니다.
+public class QnaPath {
+
+	// 조각 하나의 길이와 최댓값입니다.
+	public static final int SEGMENT = 10;
+	private static final long MAX = 9_999_999_999L;
+
+	// BOARD_PATH 컬럼의 길이(VARCHAR(1000))입니다. 답글 깊이는 최대 100단계까지 가능합니다.
+	public static final int MAX_LENGTH = 1000;
+
+	private QnaPath() {
+	}
+
+	// 원본글의 경로를 만듭니다.
+	public static String root(Long boardNum) {
+		return segment(boardNum);
+	}
+
+	// 부모글 경로 뒤에 답글 번호의 조각을 붙여 답글의 경로를 만듭니다.
+	public static String child(String parentPath, Long boardNum) {
+		String path = parentPath + segment(boardNum);
+		if (path.length() > MAX_LENGTH) {
+			throw new IllegalArgumentException("답글은 " + (MAX_LENGTH / SEGMENT) + "단계까지만 작성할 수 있습니다.");
+		}
+		return path;
+	}
+
+	// 경로로부터 답글 깊이를 계산합니다. (원본글 0)
+	public static long depth(String path) {
+		return path.length() / SEGMENT - 1;
+	}
+
+	private static String segment(Long boardNum) {
+		if (boardNum == null || boardNum < 0 || boardNum > MAX) {
+			throw new IllegalArgumentException("경로로 만들 수 없는 글 번호입니다: " + boardNum);
+		}
+		String s = Long.toString(MAX - boardNum);
+		return "0".repeat(SEGMENT - s.length()) + s;
+	}
+}
@@ -0,0 +1,115 @@
+package com.winter.app.board.qna;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 예전 방식(BOARD_REF / BOARD_STEP / BOARD_DEPTH)으로 저장된 QnA 글에 정렬 경로(BOARD_PATH)를 채워 넣습니다.
+// 경로가 없는 글이 있는 그룹만 찾아 한 그룹씩 변환하므로, 이미 변환된 DB에서는 조회 한 번으로 끝나고 여러 번 실행해도 결과가 같습니다.
+// 애플리케이션 시작을 막지 않도록, 시작이 끝난 뒤 스케줄러가 app.qna.path.interval 마다 app.qna.path.batch-size 그룹씩 변환합니다.
+// 변환이 끝나기 전에는 경로가 없는 예전 글이 목록 맨 앞에 보일 수 있습니다. 그런 글에 답글을 달면 서비스가 그 그룹을 먼저 변환합니다.
+// 또 경로가 없는 글은 "BOARD_PATH > 커서" 조건으로 찾을 수 없으므로, 변환이 끝날 때까지(isDone) 목록은 커서 방식 없이 조회합니다.
+//
+// 변환 방법: 한 그룹의 글을 예전 목록 순서(STEP 오름차순)로 읽으면서,
+// 깊이(DEPTH)가 d인 글의 부모는 "바로 앞에 나온 깊이 d-1인 글"이므로 그 경로 뒤에 자기 조각을 붙입니다.
+@Component
+@Slf4j
+public class QnaPathMigrator {
+
+	// UPDATE 한 번에 저장할 최대 글 수입니다.
+	private static final int BATCH_SIZE = 500;
+
+	// 한 주기에 변환할 최대 그룹 수입니다.
+	@Value("${app.qna.path.batch-size}")
+	private int batchSize;
+
+	@Autowired
+	private QnaDAO qnaDAO;
+
+	// 아직 변환하지 않은 그룹 번호입니다. 첫 주기에 한 번만 조회하고, 모두 변환하면 빈 목록으로 남습니다.
+	private Deque<Long> refs;
+
+	// 모든 그룹의 변환을 마쳤는지 여부입니다. 요청을 처리하는 스레드가 읽으므로 volatile로 선언합니다.
+	private volatile boolean done;
+
+	// 변환 통계입니다. 모두 마치면 로그로 남깁니다.
+	private long start;
+	private int groups;
+	private int count;
+
+	// 스케줄러가 호출합니다. 한 주기에 batchSize 그룹까지만 변환하고 나머지는 다음 주기에 이어서 변환합니다.
+	@Scheduled(fixedDelayString = "${app.qna.path.interval}")
+	public void migrate() {
+		if (refs != null && refs.isEmpty()) {
+			return;
+		}
+		try {
+			if (refs == null) {
+				refs = new ArrayDeque<>(qnaDAO.pathMissingRefs());
+				start = System.currentTimeMillis();
+				if (refs.isEmpty()) {
+					done = true;
+					return;
+				}
+			}
+			for (int i = 0; i < batchSize && !refs.isEmpty(); i++) {
+				count += this.migrate(refs.peek());
+				refs.poll();
+				groups++;
+			}
+		} catch (Exception e) {
+			log.warn("QnA 정렬 경로 변환 중 오류가 발생했습니다. 다음 주기에 이어서 변환합니다.", e);
+			return;
+		}
+		if (refs.isEmpty()) {
+			done = true;
+			log.info("QnA 정렬 경로 변환 완료: 그룹 {}개, 글 {}개, {}ms", groups, count, System.currentTimeMillis() - start);
+		}
+	}
+
+	// 모든 글에 정렬 경로가 채워졌는지 여부입니다.
+	// false인 동안에는 경로가 없는(NULL) 글이 목록 맨 앞에 있으므로, 서비스는 커서(lastPath) 방식 대신 번호 블럭 방식으로 조회합니다.
+	public boolean isDone() {
+		return done;
+	}
+
+	// 한 그룹의 경로를 채우고, 새로 경로를 저장한 글 수를 반환합니다.
+	// 답글을 달 부모글에 경로가 없을 때(구버전 서버가 함께 실행 중인 경우 등) 서비스에서도 호출합니다.
+	public synchronized int migrate(Long ref) throws Exception {
+		List<QnaVO> rows = qnaDAO.threadList(ref);
+
+		// stack.get(d) : 지금까지 읽은 글 중 마지막으로 나온 깊이 d인 글의 경로
+		List<String> stack = new ArrayList<>();
+		List<QnaVO> changed = new ArrayList<>();
+
+		for (QnaVO vo : rows) {
+			// 부모를 찾을 수 없는 깨진 데이터는 가장 가까운 조상 아래(없으면 원본글)로 둡니다.
+			int depth = (int) Math.min(vo.getBoardDepth(), stack.size());
+			while (stack.size() > depth) {
+				stack.remove(stack.size() - 1);
+			}
+
+			// 이미 경로가 있는 글은 그대로 두고, 자식들의 부모 경로로만 사용합니다.
+			String path = vo.getBoardPath();
+			if (path == null) {
+				path = depth == 0 ? QnaPath.root(vo.getBoardNum()) : QnaPath.child(stack.get(depth - 1), vo.getBoardNum());
+				vo.setBoardPath(path);
+				changed.add(vo);
+			}
+			stack.add(path);
+		}
+
+		for (int i = 0; i < changed.size(); i += BATCH_SIZE) {
+			qnaDAO.pathUpdateList(changed.subList(i, Math.min(i + BATCH_SIZE, changed.size())));
+		}
+		return changed.size();
+	}
+}
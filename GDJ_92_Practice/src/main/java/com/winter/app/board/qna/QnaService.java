@@ -1,18 +1,39 @@
 package com.winter.app.board.qna;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.winter.app.board.BoardDetailCache;
 import com.winter.app.board.BoardFileVO;
+import com.winter.app.board.BoardFragmentCache;
+import com.winter.app.board.BoardHitCounter;
+import com.winter.app.board.BoardListCache;
+import com.winter.app.board.BoardPaging;
+import com.winter.app.board.BoardPreview;
+import com.winter.app.board.BoardSearchIndex;
 import com.winter.app.board.BoardService;
 import com.winter.app.board.BoardVO;
 import com.winter.app.board.notice.NoticeService;
+import com.winter.app.commons.AfterCommit;
+import com.winter.app.commons.ContentVersions;
+import com.winter.app.commons.FileJournal;
 import com.winter.app.commons.FileManager;
+import com.winter.app.commons.Fragment;
+import com.winter.app.commons.ImageVariants;
+import com.winter.app.commons.OrphanReconciler;
 import com.winter.app.commons.Pager;
+import com.winter.app.commons.ShardMigrator;
+
+import jakarta.annotation.PostConstruct;
 
 // @Service: 이 클래스가 비즈니스 로직을 처리하는 '서비스' 컴포넌트임을 Spring에게 알립니다.
 @Service
@@ -29,6 +50,58 @@ public class QnaService implements BoardService {
 	@Autowired
 	private FileManager fileManager;
 
+	// @Autowired: 삭제할 첨부파일을 기록해 두었다가 백그라운드에서 지우는 삭제 기록(journal)을 주입받습니다.
+	@Autowired
+	private FileJournal fileJournal;
+
+	// @Autowired: 업로드 폴더에서 쓰이지 않는 파일을 찾아 지우는 정리 작업을 주입받습니다.
+	@Autowired
+	private OrphanReconciler orphanReconciler;
+
+	// @Autowired: 업로드된 이미지의 축소본(썸네일 등)을 만드는 컴포넌트를 주입받습니다.
+	@Autowired
+	private ImageVariants imageVariants;
+
+	// @Autowired: 게시판 폴더의 예전 파일을 하위 폴더로 옮기는 작업을 주입받습니다.
+	@Autowired
+	private ShardMigrator shardMigrator;
+
+	// @Autowired: 게시판 목록 조회 결과(전체 개수, 페이지 목록)를 보관하는 캐시를 주입받습니다.
+	@Autowired
+	private BoardListCache boardListCache;
+
+	// @Autowired: 번호 블럭 방식 목록을 전체 개수(COUNT) 계산 여부에 맞게 조회해주는 객체를 주입받습니다.
+	@Autowired
+	private BoardPaging boardPaging;
+
+	// @Autowired: 제목/내용/작성자 검색을 빠르게 처리하기 위한 메모리 검색 색인을 주입받습니다.
+	@Autowired
+	private BoardSearchIndex boardSearchIndex;
+
+	// @Autowired: 조회수를 메모리에 모았다가 주기적으로 DB에 반영하는 카운터를 주입받습니다.
+	@Autowired
+	private BoardHitCounter boardHitCounter;
+
+	// @Autowired: 게시글 상세 조회 결과를 보관하는 캐시를 주입받습니다.
+	@Autowired
+	private BoardDetailCache boardDetailCache;
+
+	// @Autowired: 렌더링된 목록/상세 화면 조각(HTML)을 보관하는 캐시를 주입받습니다.
+	@Autowired
+	private BoardFragmentCache boardFragmentCache;
+
+	// @Autowired: 게시판/게시글의 변경 번호(조건부 GET의 ETag)를 기록하는 컴포넌트를 주입받습니다.
+	@Autowired
+	private ContentVersions contentVersions;
+
+	// @Autowired: 정렬 경로가 없는 예전 글타래를 변환해 주는 컴포넌트를 주입받습니다.
+	@Autowired
+	private QnaPathMigrator qnaPathMigrator;
+
+	// @Autowired: INSERT 전에 QnA 글 번호를 미리 정해 주는 번호 발급기를 주입받습니다.
+	@Autowired
+	private QnaNumbers qnaNumbers;
+
 	// @Value: application.properties 파일의 'app.upload' 값을 찾아 변수에 주입합니다.
 	@Value("${app.upload}")
 	private String upload; // 파일 업로드 기본 경로
@@ -43,132 +116,345 @@ public class QnaService implements BoardService {
 		this.noticeService = noticeService;
 	}
 
+	// @PostConstruct: 의존성 주입이 끝난 직후 한 번 실행됩니다.
+	// 조회수 카운터와 업로드 폴더 정리 작업이 QnA를 조회할 때 사용할 DAO를 등록하고,
+	// 게시판 폴더를 하위 폴더로 옮기는 작업에 등록합니다.
+	@PostConstruct
+	public void init() {
+		boardHitCounter.register(board, qnaDAO);
+		orphanReconciler.register(board, qnaDAO);
+		shardMigrator.register(upload + board);
+	}
+
+	// 애플리케이션 시작이 완료되면 DB의 QnA 게시글 전체를 읽어 검색 색인을 만듭니다.
+	// 색인 생성은 별도 스레드에서 진행되며, 완료 전까지는 기존 LIKE 검색을 사용합니다.
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuildIndex() {
+		boardSearchIndex.rebuild(board, handler -> qnaDAO.indexList(handler));
+	}
+
 	// 게시글 목록을 조회하는 메서드입니다.
 	@Override
 	public List<BoardVO> list(Pager pager) throws Exception {
-		// 1. 전체 게시글 수를 조회하여 Pager 객체에 필요한 값(totalPage 등)을 계산합니다.
-		Long totalCount = qnaDAO.totalCount(pager);
-		pager.makeNum(totalCount);
+		List<BoardVO> list;
+		this.seekable(pager);
+
+		// 검색어가 있으면 검색 색인으로 후보 게시글 번호를 먼저 찾아 Pager에 담아둡니다.
+		// Mapper는 테이블 전체를 LIKE로 훑는 대신 이 번호들만 PK로 읽어 확인합니다.
+		// 검색어가 없으면 null로 비워 두어, 후보 번호 조건 없이 전체 목록을 조회합니다.
+		pager.setBoardNums(this.boardNums(pager));
+
+		if (pager.isSeek()) {
+			// 커서(lastPath)가 전달되었다면 OFFSET 없이 마지막으로 본 글 다음부터 바로 조회합니다.
+			// 번호 블럭이 필요 없으므로 전체 개수(COUNT)도 계산하지 않습니다.
+			// 같은 커서로 다시 요청하면 캐시된 목록을 사용합니다.
+			list = boardListCache.list(board, pager, () -> qnaDAO.listSeek(pager));
+		} else {
+			// 1. 번호 블럭 방식은 BoardPaging이 게시판 크기와 검색 조건에 따라
+			// 정확한 전체 개수(listCount) 또는 COUNT 없는 조회(listNext) 중 하나로 목록과 페이지 번호(totalPage 등)를 계산합니다.
+			// (정렬은 boardPath 오름차순 하나로 계층 구조를 유지합니다.)
+			list = boardPaging.list(board, pager, qnaDAO);
+		}
+
+		// 다음 커서는 여기서만 채웁니다. 요청 등으로 미리 들어 있던 값이 화면(다음 목록 링크)에 남지 않도록 먼저 비웁니다.
+		pager.setNextNum(null);
+		pager.setNextPath(null);
+		// 2. 현재 페이지가 가득 찼다면 마지막 행의 boardPath를 다음 페이지 커서로 넘겨줍니다. (정렬 경로 변환이 끝난 뒤에만)
+		if (qnaPathMigrator.isDone() && !list.isEmpty() && list.size() == pager.getPerPage()) {
+			QnaVO last = (QnaVO) list.get(list.size() - 1);
+			pager.setNextPath(last.getBoardPath());
+		}
+
+		return list;
+	}
+
+	// JSON 목록 API용 목록을 한 행씩 handler에 넘겨주는 메서드입니다.
+	// 목록 캐시를 거치지 않습니다. 같은 페이지를 다시 요청하면 컨트롤러가 ETag로 먼저 304를 응답합니다.
+	@Override
+	public void listStream(Pager pager, ResultHandler<BoardVO> handler) throws Exception {
+		// 검색어가 있으면 list와 마찬가지로 검색 색인의 후보 번호만 확인합니다.
+		pager.setBoardNums(this.boardNums(pager));
+
+		// 정렬 경로 변환이 끝나기 전에도 커서가 끊기지 않도록, 쿼리는 경로가 있는 글만 가져옵니다. (QnaDAO.xml의 listStream)
+		// 행을 넘겨주면서 마지막 행의 개수와 boardPath를 기억해 둡니다.
+		int[] count = new int[1];
+		String[] lastPath = new String[1];
+		qnaDAO.listStream(pager, context -> {
+			count[0] = context.getResultCount();
+			lastPath[0] = ((QnaVO) context.getResultObject()).getBoardPath();
+			handler.handleResult(context);
+		});
+
+		// 다음 커서는 여기서만 채웁니다. 요청 등으로 미리 들어 있던 값이 화면(다음 목록 링크)에 남지 않도록 먼저 비웁니다.
+		pager.setNextNum(null);
+		pager.setNextPath(null);
+		// 현재 페이지가 가득 찼다면 마지막 행의 boardPath를 다음 페이지 커서로 넘겨줍니다.
+		if (count[0] > 0 && count[0] == pager.getPerPage()) {
+			pager.setNextPath(lastPath[0]);
+		}
+	}
+
+	// 정렬 경로 변환(QnaPathMigrator)이 끝나기 전에는 경로가 없는(NULL) 글이 목록 맨 앞에 있어,
+	// 커서(lastPath)로 이어서 조회하면 그 글들을 건너뛰거나 다음 커서가 중간에 끊깁니다.
+	// 변환이 끝날 때까지는 커서를 무시하고 번호 블럭(OFFSET) 방식으로 조회합니다.
+	private void seekable(Pager pager) {
+		if (!qnaPathMigrator.isDone()) {
+			pager.setLastPath(null);
+		}
+	}
+
+	// 검색 색인으로 찾은 후보 게시글 번호를 반환합니다. 검색어가 없으면 null입니다.
+	private List<Long> boardNums(Pager pager) {
+		if (pager.getKeyword().isEmpty()) {
+			return null;
+		}
+		return boardSearchIndex.search(board, pager.getKind(), pager.getKeyword());
+	}
 
-		// 2. 계산된 Pager 정보를 바탕으로 현재 페이지에 맞는 게시글 목록을 DB에서 가져옵니다.
-		// (정렬은 boardRef 내림차순, boardStep 오름차순으로 하여 계층 구조를 유지합니다.)
-		return qnaDAO.list(pager);
+	// 내보내기(CSV/NDJSON)용으로 모든 게시글을 한 행씩 넘겨주는 메서드입니다.
+	@Override
+	public void exportList(ResultHandler<BoardVO> handler) throws Exception {
+		qnaDAO.exportList(handler);
 	}
 
 	// 게시글 상세 정보를 조회하는 메서드입니다.
 	@Override
 	public BoardVO detail(BoardVO boardVO) throws Exception {
-		// 3. 주어진 boardNum으로 게시글의 상세 정보를 DB에서 조회하여 반환합니다.
-		return qnaDAO.detail(boardVO);
+		// 1. 주어진 boardNum으로 게시글의 상세 정보를 조회합니다. 캐시에 있으면 DB를 거치지 않습니다.
+		BoardVO result = this.read(boardVO);
+		if (result == null) {
+			return null;
+		}
+
+		// 2. 조회수를 1 증가시킵니다. DB에는 주기적으로 모아서 반영되므로,
+		// 화면에는 "DB에 저장된 조회수 + 아직 반영되지 않은 조회수"를 보여줍니다.
+		long hit = result.getBoardHit() == null ? 0 : result.getBoardHit();
+		result.setBoardHit(hit + boardHitCounter.increment(board, result.getBoardNum()));
+		return result;
+	}
+
+	// 조회수를 올리지 않고 게시글 상세 정보를 조회하는 메서드입니다. (수정 폼)
+	@Override
+	public BoardVO read(BoardVO boardVO) throws Exception {
+		return boardDetailCache.detail(board, boardVO.getBoardNum(), () -> qnaDAO.detail(boardVO));
+	}
+
+	// 목록 화면 조각을 찾는 메서드입니다. Pager를 채우는 list보다 먼저 호출해야 합니다.
+	@Override
+	public Fragment listFragment(Pager pager) throws Exception {
+		// 목록 조회(list)와 같은 키가 되도록 커서를 먼저 확인합니다.
+		this.seekable(pager);
+		return boardFragmentCache.list(board, pager);
+	}
+
+	// 상세 화면 조각을 찾는 메서드입니다.
+	// 캐시에 있으면 상세 조회(detail)를 하지 않으므로 여기서 조회수를 1 증가시킵니다.
+	@Override
+	public Fragment detailFragment(BoardVO boardVO) throws Exception {
+		Fragment fragment = boardFragmentCache.detail(board, boardVO.getBoardNum());
+		if (fragment.isCached()) {
+			this.hit(boardVO);
+		}
+		return fragment;
+	}
+
+	// 조회수만 1 증가시키는 메서드입니다.
+	// 상세 화면 조각이 캐시에 있거나, 브라우저에 저장된 화면이 그대로라서(304) 상세 조회를 하지 않을 때 사용합니다.
+	@Override
+	public void hit(BoardVO boardVO) throws Exception {
+		boardHitCounter.increment(board, boardVO.getBoardNum());
 	}
 
 	// 답글을 등록하는 메서드입니다. (Q&A 게시판의 핵심 로직)
+	// 글 번호를 먼저 받아 정렬 경로를 계산한 뒤 답글 행을 INSERT 한 번으로 저장합니다.
+	// 다른 글은 수정하지 않기 때문에 같은 글타래에 동시에 답글이 달려도 잠금 경합이 없습니다.
+	@Transactional
 	public int reply(QnaVO qnaVO) throws Exception {
-		// 1. 답글의 기준이 되는 부모글 정보를 DB에서 조회합니다. (qnaVO에는 부모글의 boardNum이 담겨있음)
-		QnaVO parent = (QnaVO) qnaDAO.detail(qnaVO);
+		// 1. 답글의 기준이 되는 부모글의 계층 정보를 DB에서 조회합니다. (qnaVO에는 부모글의 boardNum이 담겨있음)
+		QnaVO parent = qnaDAO.threadDetail(qnaVO);
+		if (parent.getBoardPath() == null) {
+			// 아직 정렬 경로로 변환되지 않은 글타래라면 먼저 변환합니다.
+			qnaPathMigrator.migrate(parent.getBoardRef());
+			parent = qnaDAO.threadDetail(qnaVO);
+		}
 		// 2. 답글의 계층 정보를 부모글 기준으로 설정합니다.
 		qnaVO.setBoardRef(parent.getBoardRef()); // 그룹 번호(Ref)는 부모와 동일하게 설정합니다.
-		qnaVO.setBoardStep(parent.getBoardStep() + 1); // 순서(Step)는 부모보다 1 증가시킵니다.
+		qnaVO.setBoardStep(0L); // 순서(Step)는 더 이상 사용하지 않습니다. (boardPath로 정렬)
 		qnaVO.setBoardDepth(parent.getBoardDepth() + 1); // 깊이(Depth)는 부모보다 1 증가시킵니다.
 
-		// 3. 새 답글이 들어갈 자리를 만들기 위해, 기존 답글들의 Step 값을 1씩 업데이트(증가)합니다.
-		int result = qnaDAO.replyUpdate(parent);
+		// 3. 새 글 번호를 받고(qnaVO의 boardNum이 부모글 번호에서 새 글 번호로 바뀝니다), 부모 경로 뒤에 새 글 번호 조각을 붙여 정렬 경로를 만듭니다.
+		qnaVO.setBoardNum(qnaNumbers.next());
+		qnaVO.setBoardPath(QnaPath.child(parent.getBoardPath(), qnaVO.getBoardNum()));
 
-		// 4. 계층 정보 설정이 완료된 답글을 DB에 최종 INSERT 합니다.
-		result = qnaDAO.insert(qnaVO);
+		// 4. 계층 정보와 정렬 경로가 채워진 답글을 목록용 미리보기와 함께 DB에 INSERT 합니다.
+		qnaVO.setBoardPreview(BoardPreview.of(qnaVO.getBoardContents()));
+		int result = qnaDAO.insert(qnaVO);
+
+		// 5. 커밋이 끝난 뒤, 목록의 순서가 바뀌었으므로 이 게시판의 목록 캐시를 비우고 새 답글을 검색 색인에 추가합니다.
+		AfterCommit.run(() -> {
+			boardListCache.clear(board);
+			contentVersions.touch(board, qnaVO.getBoardNum());
+			boardSearchIndex.index(board, qnaVO);
+		});
 
 		return result;
 	}
 
 	// 원본글(질문)을 등록하는 메서드입니다.
+	// @Transactional: 게시글 INSERT와 첨부파일 INSERT를 하나의 트랜잭션으로 묶어 한 번만 커밋합니다.
 	@Override
+	@Transactional
 	public int insert(BoardVO boardVO, MultipartFile[] attaches) throws Exception {
-		// 1. 게시글 정보를 DB의 BOARD 테이블에 INSERT 합니다.
-		int result = qnaDAO.insert(boardVO);
-		// 2. 글이 생성된 직후, 자신의 글 번호(boardNum)를 그룹 번호(boardRef)로 업데이트하여 새로운 그룹을 생성합니다.
-		result = qnaDAO.refUpdate(boardVO);
-
-		// 3. 첨부파일이 없으면 여기서 로직을 종료합니다.
-		if (attaches == null) {
-			return result;
-		}
-
-		// 4. 첨부된 파일들을 하나씩 처리합니다.
-		for (MultipartFile m : attaches) {
-			// 5. 파일이 없거나 비어있으면 건너뜁니다.
-			if (m == null || m.isEmpty()) {
-				continue;
-			}
-			// 6. FileManager를 통해 파일을 서버 HDD에 저장하고, 저장된 파일명을 반환받습니다.
-			String fileName = fileManager.fileSave(upload + board, m);
-
-			// 7. 파일 정보를 DB의 FILE 테이블에 저장하기 위해 BoardFileVO 객체를 생성하고 값을 설정합니다.
-			BoardFileVO vo = new BoardFileVO();
-			vo.setOriName(m.getOriginalFilename()); // 원본 파일명
-			vo.setSaveName(fileName); // 서버에 저장된 파일명
-			vo.setBoardNum(boardVO.getBoardNum()); // 부모 게시글 번호
-			result = qnaDAO.insertFile(vo);
-		}
+		// 1. 새 글 번호를 받고, 자신의 글 번호(boardNum)를 그룹 번호(boardRef)로 하여 새로운 그룹을 만듭니다.
+		// 원본글의 정렬 경로는 자기 글 번호 조각 하나입니다.
+		QnaVO qnaVO = (QnaVO) boardVO;
+		qnaVO.setBoardNum(qnaNumbers.next());
+		qnaVO.setBoardRef(qnaVO.getBoardNum());
+		qnaVO.setBoardPath(QnaPath.root(qnaVO.getBoardNum()));
+
+		// 2. 게시글 정보를 목록용 미리보기와 함께 DB의 QNA 테이블에 INSERT 합니다. (그룹 번호와 정렬 경로도 함께 저장됩니다)
+		qnaVO.setBoardPreview(BoardPreview.of(qnaVO.getBoardContents()));
+		int result = qnaDAO.insert(qnaVO);
+
+		// 3. 첨부파일을 서버에 저장하고, 파일 정보를 한 번에 DB에 저장합니다.
+		this.saveFiles(boardVO.getBoardNum(), attaches);
+
+		// 4. 커밋이 끝난 뒤 이 게시판의 목록 캐시를 비우고, 새 글을 검색 색인에 추가합니다.
+		AfterCommit.run(() -> {
+			boardListCache.clear(board);
+			contentVersions.touch(board, boardVO.getBoardNum());
+			boardSearchIndex.index(board, boardVO);
+		});
 		return result;
 	}
 
 	// 게시글 정보를 수정하는 메서드입니다.
+	// @Transactional: 게시글 수정과 새 첨부파일 정보 저장을 한 번에 커밋합니다.
 	@Override
+	@Transactional
 	public int update(BoardVO boardVO, MultipartFile[] attaches) throws Exception {
-		// 1. 게시글의 제목, 내용을 DB에서 UPDATE 합니다.
+		// 1. 게시글의 제목, 내용과 다시 만든 미리보기를 DB에서 UPDATE 합니다.
+		boardVO.setBoardPreview(BoardPreview.of(boardVO.getBoardContents()));
 		int result = qnaDAO.update(boardVO);
 
-		// 2. 수정 시 새로 추가된 파일이 없다면 여기서 로직을 종료합니다.
+		// 2. (insert 로직과 동일) 새로 추가된 파일들을 서버에 저장하고 DB에도 정보를 저장합니다.
+		this.saveFiles(boardVO.getBoardNum(), attaches);
+
+		// 3. 커밋이 끝난 뒤, 목록에 보이는 제목 등이 바뀌었을 수 있으므로 목록 캐시를 비우고 검색 색인도 새 내용으로 갱신합니다.
+		// 상세 내용과 첨부파일 목록도 바뀌었으므로 이 글의 상세 캐시를 제거합니다.
+		AfterCommit.run(() -> {
+			boardListCache.clear(board);
+			contentVersions.touch(board, boardVO.getBoardNum());
+			boardSearchIndex.index(board, boardVO);
+			boardDetailCache.evict(board, boardVO.getBoardNum());
+			boardFragmentCache.evict(board, boardVO.getBoardNum());
+		});
+		return result;
+	}
+
+	// 첨부파일들을 서버에 저장하고, 파일 정보를 INSERT 한 번으로 DB에 저장하는 메서드입니다.
+	// 예전에는 파일마다 insertFile을 호출해 파일 수만큼 DB를 왕복했습니다.
+	private int saveFiles(Long boardNum, MultipartFile[] attaches) throws Exception {
+		// 1. 첨부파일이 없으면 저장할 것이 없습니다.
 		if (attaches == null) {
-			return result;
+			return 0;
 		}
 
-		// 3. (insert 로직과 동일) 새로 추가된 파일들을 서버에 저장하고 DB에도 정보를 저장합니다.
+		// 2. 파일이 없거나 비어있는 항목은 건너뛰고, 저장할 파일만 골라냅니다.
+		List<MultipartFile> uploads = new ArrayList<>();
 		for (MultipartFile m : attaches) {
-			if (m == null || m.isEmpty()) {
-				continue;
+			if (m != null && !m.isEmpty()) {
+				uploads.add(m);
 			}
-			String fileName = fileManager.fileSave(upload + board, m);
+		}
+		if (uploads.isEmpty()) {
+			return 0;
+		}
+
+		// 3. FileManager를 통해 파일들을 서버 HDD에 동시에 저장하고, 저장된 파일명들을 반환받습니다.
+		// 모든 파일이 저장된 뒤에 반환되며, 하나라도 실패하면 저장된 파일을 지우고 예외가 발생합니다.
+		List<String> fileNames = fileManager.fileSaveAll(upload + board, uploads);
 
+		// 4. 파일 정보를 BoardFileVO 객체에 담아 목록에 모아둡니다.
+		List<BoardFileVO> files = new ArrayList<>();
+		for (int i = 0; i < uploads.size(); i++) {
 			BoardFileVO vo = new BoardFileVO();
-			vo.setOriName(m.getOriginalFilename());
-			vo.setSaveName(fileName);
-			vo.setBoardNum(boardVO.getBoardNum());
-			result = qnaDAO.insertFile(vo);
+			vo.setOriName(uploads.get(i).getOriginalFilename()); // 원본 파일명
+			vo.setSaveName(fileNames.get(i)); // 서버에 저장된 파일명
+			vo.setBoardNum(boardNum); // 부모 게시글 번호
+			files.add(vo);
 		}
+
+		// 5. 모아둔 파일 정보를 한 번에 DB의 FILE 테이블에 저장합니다.
+		int result = qnaDAO.insertFiles(files);
+
+		// 6. 커밋이 끝나면 이미지 첨부파일의 축소본(썸네일 등)을 백그라운드에서 미리 만들어 둡니다.
+		AfterCommit.run(() -> {
+			for (BoardFileVO vo : files) {
+				imageVariants.generateAsync(fileManager.file(upload + board, vo.getSaveName()), vo.getOriName());
+			}
+		});
 		return result;
 	}
 
 	// 게시글을 삭제하는 메서드입니다.
+	// @Transactional: 파일 정보 삭제와 게시글 삭제를 한 번에 커밋하고, 커밋된 뒤에 실제 파일을 삭제합니다.
 	@Override
+	@Transactional
 	public int delete(BoardVO boardVO) throws Exception {
 		// 1. 삭제할 게시글의 전체 정보(첨부파일 목록 포함)를 DB에서 조회합니다.
-		boardVO = qnaDAO.detail(boardVO);
+		BoardVO detail = qnaDAO.detail(boardVO);
 
-		// 2. HDD의 물리적 파일 삭제: 조회된 첨부파일 목록을 순회하며 서버에 저장된 실제 파일을 삭제합니다.
-		for (BoardFileVO vo : boardVO.getBoardFileVOs()) {
-			fileManager.fileDelete(upload + board, vo.getSaveName());
+		// 2. 조회된 첨부파일 목록에서 서버에 저장된 파일명을 모아둡니다.
+		List<String> fileNames = new ArrayList<>();
+		for (BoardFileVO vo : detail.getBoardFileVOs()) {
+			fileNames.add(vo.getSaveName());
 		}
 
 		// 3. DB의 파일 정보 삭제: 해당 게시글에 연결된 모든 파일 정보를 FILE 테이블에서 삭제합니다.
-		int result = qnaDAO.fileDelete(boardVO);
+		int result = qnaDAO.fileDelete(detail);
 
 		// 4. DB의 게시글 삭제: 파일 정보가 모두 정리된 후, BOARD 테이블에서 해당 게시글을 최종적으로 삭제합니다.
-		result = qnaDAO.delete(boardVO);
+		result = qnaDAO.delete(detail);
+
+		// 5. HDD의 물리적 파일 삭제: 삭제 기록(journal)에 남겨 두고, 커밋 후 백그라운드에서 삭제합니다.
+		// 같은 내용의 파일을 다른 글도 쓰고 있다면 참조 수만 줄어듭니다.
+		fileJournal.enqueue(upload + board, fileNames);
+
+		// 6. 목록에 '삭제된 글입니다'로 표시되어야 하므로 목록 캐시를 비웁니다.
+		// 제목만 지워지는 논리적 삭제이므로 검색 색인에서도 제목 토큰만 비웁니다.
+		AfterCommit.run(() -> {
+			boardListCache.clear(board);
+			contentVersions.touch(board, detail.getBoardNum());
+			detail.setBoardTitle("");
+			boardSearchIndex.index(board, detail);
+			boardDetailCache.evict(board, detail.getBoardNum());
+			boardFragmentCache.evict(board, detail.getBoardNum());
+		});
 
 		return result;
 	}
 
 	// 첨부파일 하나만 개별적으로 삭제하는 메서드입니다. (수정 페이지에서 사용)
 	@Override
+	@Transactional
 	public int fileDelete(BoardFileVO boardFileVO) throws Exception {
 		// 1. 삭제할 파일의 전체 정보(저장된 이름 등)를 DB에서 조회합니다.
-		boardFileVO = qnaDAO.fileDetail(boardFileVO);
-		// 2. FileManager를 이용해 서버 HDD에 저장된 물리적 파일을 삭제합니다.
-		boolean result = fileManager.fileDelete(upload + board, boardFileVO.getSaveName());
+		BoardFileVO file = qnaDAO.fileDetail(boardFileVO);
 
-		// 3. 물리적 파일 삭제 성공 여부와 관계없이 DB의 FILE 테이블에서 해당 파일 정보를 삭제합니다.
-		return qnaDAO.fileDeleteOne(boardFileVO);
+		// 2. DB의 FILE 테이블에서 해당 파일 정보를 삭제합니다.
+		int count = qnaDAO.fileDeleteOne(file);
+
+		// 3. 서버 HDD에 저장된 물리적 파일은 삭제 기록(journal)에 남겨 두고, 커밋 후 백그라운드에서 삭제합니다. (중복 제거 파일은 참조 수 감소)
+		fileJournal.enqueue(upload + board, List.of(file.getSaveName()));
+
+		// 4. 첨부파일 목록이 바뀌었으므로 파일이 속한 글의 상세 캐시를 제거합니다.
+		AfterCommit.run(() -> {
+			boardDetailCache.evict(board, file.getBoardNum());
+			boardFragmentCache.evict(board, file.getBoardNum());
+			contentVersions.touch(board, file.getBoardNum());
+		});
+		return count;
 	}
 
 	// 파일 번호(fileNum)로 파일의 상세 정보를 조회하는 메서드입니다.
@@ -187,15 +473,30 @@ public class QnaService implements BoardService {
 		}
 		// 2. FileManager를 통해 파일을 서버에 저장하고, 저장된 고유한 파일명을 반환받습니다.
 		String fileName = fileManager.fileSave(upload + board, multipartFile);
-		// 3. 에디터가 이미지를 표시할 수 있도록 접근 가능한 URL 경로를 만들어 반환합니다.
-		return "/fileDown/" + board + "/" + fileName;
+		// 3. 본문에 표시할 축소본(large)을 백그라운드에서 미리 만들어 둡니다.
+		imageVariants.generateAsync(fileManager.file(upload + board, fileName), fileName);
+		// 4. 에디터가 이미지를 표시할 수 있도록 접근 가능한 URL 경로를 만들어 반환합니다.
+		// size=large 를 붙여 본문에는 원본 대신 축소본이 표시되게 합니다. (원본은 파라미터 없이 요청하면 받을 수 있습니다)
+		// 예전 글의 본문에는 /fileDown/qna/파일명 으로 저장되어 있습니다. SQL/Script-11.sql로 새 주소로 바꾸며,
+		// 바꾸기 전에도 정리 작업(OrphanReconciler)과 이미지 삭제(boardFileDelete)는 두 주소를 모두 처리합니다.
+		return "/files/" + board + "/" + fileName + "?size=large";
 	}
 
 	// Summernote 등 웹 에디터에서 업로드된 이미지를 삭제할 때 사용하는 메서드입니다.
 	@Override
 	public boolean boardFileDelete(String fileName) throws Exception {
-		// 1. 파일명을 받아 FileManager를 통해 서버에 저장된 물리적 파일을 삭제합니다.
-		// 2. 삭제 성공 여부를 boolean 타입으로 반환합니다.
+		// 1. 전달받은 이미지 주소(예: /files/qna/image.jpg?size=large)에서 파라미터를 떼고 파일 이름만 추출합니다.
+		if (fileName.contains("?")) {
+			fileName = fileName.substring(0, fileName.indexOf("?"));
+		}
+		fileName = fileName.substring(fileName.lastIndexOf("/") + 1);
+
+		// 2. 이 이미지를 본문에 포함한 글이 캐시되어 있다면 제거합니다.
+		boardDetailCache.evictByFile(board, fileName);
+		boardFragmentCache.evictByFile(board, fileName);
+
+		// 3. 파일명을 받아 FileManager를 통해 서버에 저장된 물리적 파일을 삭제합니다.
+		// 4. 삭제 성공 여부를 boolean 타입으로 반환합니다.
 		return fileManager.fileDelete(upload + board, fileName);
 	}
 
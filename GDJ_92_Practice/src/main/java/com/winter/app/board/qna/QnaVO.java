@@ -20,14 +20,20 @@ public class QnaVO extends BoardVO {
 	// 어떤 글들이 하나의 묶음인지를 나타냅니다.
 	private Long boardRef;
 
-	// 2. boardStep: 그룹 내 순서. 같은 그룹(boardRef) 안에서 글이 표시될 순서를 정합니다.
-	// 숫자가 작을수록 위에 표시됩니다.
+	// 2. boardStep: 예전 방식의 그룹 내 순서입니다.
+	// 답글을 달 때마다 뒤쪽 답글의 STEP을 모두 1씩 밀어야 했기 때문에 지금은 boardPath로 정렬하며,
+	// 기존 데이터를 boardPath로 옮길 때(QnaPathMigrator)만 사용합니다.
 	private Long boardStep;
 
 	// 3. boardDepth: 글의 깊이 (들여쓰기 레벨).
 	// 원본글은 0, 그에 대한 답글은 1, 답글의 답글은 2와 같이 설정되어 시각적으로 계층을 보여줍니다.
 	private Long boardDepth;
 
+	// 4. boardPath: 정렬 경로. 원본글부터 자기 자신까지의 글 번호 조각을 이어 붙인 문자열입니다. (QnaPath 참고)
+	// 목록은 이 값의 오름차순 하나로 정렬되며, 답글은 부모 경로 뒤에 자기 조각만 붙이면 되므로
+	// 다른 글을 수정하지 않고 자기 행 하나만 써서 등록할 수 있습니다.
+	private String boardPath;
+
 	// --- 커스텀 Getter 메서드 ---
 	// @Getter 어노테이션이 있지만, 아래에 같은 이름의 메서드를 직접 작성하면
 	// Lombok이 만든 메서드를 덮어쓰고 이 코드가 대신 사용됩니다.
@@ -0,0 +1,44 @@
+package com.winter.app.commons;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 트랜잭션이 커밋된 뒤에 실행할 작업(캐시 비우기, 검색 색인 갱신 등)을 등록하는 도구 클래스입니다.
+// 커밋 전에 캐시를 비우면, 그 사이 다른 요청이 아직 커밋되지 않은 "예전" 데이터를 다시 캐시에 넣을 수 있습니다.
+// 또 트랜잭션이 롤백되면 캐시/색인은 바꿀 필요가 없으므로 커밋이 성공했을 때만 실행합니다.
+// 트랜잭션 밖에서 호출되면 바로 실행합니다.
+// 반대로 롤백되었을 때만 실행할 정리 작업(이미 저장한 파일 삭제 등)은 rollback()으로 등록합니다.
+public class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	public static void run(Runnable task) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			task.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				task.run();
+			}
+		});
+	}
+
+	// 트랜잭션이 롤백되었을 때 실행할 작업을 등록합니다.
+	// 트랜잭션 밖에서는 롤백될 일이 없으므로 아무것도 하지 않습니다.
+	public static void rollback(Runnable task) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status == STATUS_ROLLED_BACK) {
+					task.run();
+				}
+			}
+		});
+	}
+}
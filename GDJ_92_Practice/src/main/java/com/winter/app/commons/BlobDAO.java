@@ -0,0 +1,20 @@
+package com.winter.app.commons;
+
+import org.apache.ibatis.annotations.Mapper;
+
+// 첨부파일 blob의 참조 수(FILE_BLOB 테이블)를 관리하는 DAO입니다.
+@Mapper
+public interface BlobDAO {
+
+	// 참조 수를 1 늘립니다. 처음 저장되는 파일이면 참조 수 1로 새 행을 추가합니다.
+	public int refIncrease(BlobVO blobVO) throws Exception;
+
+	// 참조 수를 1 줄입니다.
+	public int refDecrease(String blobHash) throws Exception;
+
+	// 참조 수가 0이 된 행을 삭제합니다. 삭제된 행이 있으면 실제 파일도 지워야 합니다.
+	public int deleteUnused(String blobHash) throws Exception;
+
+	// 참조 수를 조회합니다. 행이 없으면 null을 반환합니다.
+	public Long refCount(String blobHash) throws Exception;
+}
@@ -0,0 +1,167 @@
+package com.winter.app.commons;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 첨부파일을 내용 주소(content-addressed) 방식으로 보관하는 저장소입니다.
+// 파일명은 내용의 SHA-256 값이므로 같은 파일은 몇 번을 올려도 디스크에 한 번만 저장되고,
+// FILE_BLOB 테이블의 참조 수(REF_COUNT)로 몇 개의 첨부파일 행이 이 파일을 쓰고 있는지 관리합니다.
+// 참조 수가 0이 될 때 실제 파일을 삭제합니다.
+//
+// 저장 위치: {app.upload}blobs/{해시 앞 2글자}/{해시}  (한 폴더에 파일이 너무 많아지지 않도록 나눕니다)
+@Component
+public class BlobStore {
+
+	// 해시별 잠금 개수입니다. 같은 해시에 대한 "참조 추가 + 파일 배치"와 "참조 감소 + 파일 삭제"가 겹치지 않게 합니다.
+	private static final int STRIPES = 64;
+
+	private final Object[] locks = new Object[STRIPES];
+
+	private final Path root;
+
+	@Autowired
+	private BlobDAO blobDAO;
+
+	// blob 파일을 지울 때 그 파일로 만든 이미지 축소본도 함께 지웁니다.
+	@Autowired
+	private ImageVariants imageVariants;
+
+	// 참조 수 변경은 호출한 쪽의 트랜잭션과 상관없이 바로 커밋합니다.
+	// (잠금을 잡고 있는 동안 커밋까지 끝나야 다른 요청이 바뀐 참조 수를 볼 수 있습니다)
+	private final TransactionTemplate tx;
+
+	public BlobStore(@Value("${app.upload}") String upload, PlatformTransactionManager transactionManager) {
+		this.root = Path.of(upload, "blobs");
+		this.tx = new TransactionTemplate(transactionManager);
+		this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		for (int i = 0; i < STRIPES; i++) {
+			locks[i] = new Object();
+		}
+	}
+
+	// 저장 파일명이 blob(SHA-256 16진수 64글자)인지 확인합니다.
+	// 예전 방식(UUID_원본파일명)으로 저장된 파일과 구분할 때 사용합니다.
+	public static boolean isBlob(String name) {
+		return name != null && name.matches("[0-9a-f]{64}");
+	}
+
+	// blob 파일의 실제 경로를 반환합니다.
+	public Path path(String hash) {
+		return root.resolve(hash.substring(0, 2)).resolve(hash);
+	}
+
+	// 업로드 내용을 임시로 써 둘 파일 경로를 만듭니다. (blob과 같은 디스크에 두어야 이동이 빠릅니다)
+	public Path tempFile() throws Exception {
+		Path dir = Files.createDirectories(root.resolve("tmp"));
+		return Files.createTempFile(dir, "upload-", ".tmp");
+	}
+
+	// 임시 파일을 blob으로 등록하고 참조 수를 1 늘립니다.
+	// 같은 내용의 blob이 이미 있으면 임시 파일은 버리고 false를, 새로 배치했으면 true를 반환합니다.
+	public boolean acquire(String hash, Path temp, long size) throws Exception {
+		synchronized (this.lock(hash)) {
+			Path target = this.path(hash);
+			boolean created = false;
+			if (Files.exists(target)) {
+				Files.delete(temp);
+			} else {
+				Files.createDirectories(target.getParent());
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+				created = true;
+			}
+
+			BlobVO blobVO = new BlobVO();
+			blobVO.setBlobHash(hash);
+			blobVO.setBlobSize(size);
+			try {
+				this.inTransaction(() -> blobDAO.refIncrease(blobVO));
+			} catch (Exception e) {
+				// 참조를 기록하지 못했다면 방금 배치한 파일은 아무도 쓰지 않으므로 지웁니다.
+				if (created) {
+					Files.deleteIfExists(target);
+				}
+				throw e;
+			}
+			return created;
+		}
+	}
+
+	// 참조 수를 1 줄이고, 마지막 참조였다면 blob 파일을 삭제합니다.
+	// also는 참조 수 감소와 같은 트랜잭션에서 함께 실행할 작업입니다. (삭제 작업 기록(journal) 제거 등)
+	// 둘이 함께 커밋되므로, 중간에 서버가 죽어도 참조 수가 두 번 줄어들거나 한 번도 안 줄어드는 일이 없습니다.
+	// 파일이 실제로 삭제되었으면 true를 반환합니다.
+	public boolean release(String hash, Work<?> also) throws Exception {
+		synchronized (this.lock(hash)) {
+			int deleted = this.inTransaction(() -> {
+				if (also != null) {
+					also.run();
+				}
+				blobDAO.refDecrease(hash);
+				return blobDAO.deleteUnused(hash);
+			});
+			if (deleted == 0) {
+				return false;
+			}
+			imageVariants.remove(this.path(hash).toFile());
+			return Files.deleteIfExists(this.path(hash));
+		}
+	}
+
+	// 참조 기록(FILE_BLOB 행)이 없는 blob 파일을 삭제합니다. (정리 작업용)
+	// 파일을 배치한 직후 참조를 기록하기 전에 서버가 죽으면 이런 파일이 남습니다.
+	// 업로드와 같은 잠금 안에서 확인하므로, 지금 막 같은 내용으로 올라오는 파일을 지우지 않습니다.
+	public boolean deleteIfUnreferenced(String hash) throws Exception {
+		synchronized (this.lock(hash)) {
+			Long refCount = this.inTransaction(() -> blobDAO.refCount(hash));
+			if (refCount != null) {
+				return false;
+			}
+			imageVariants.remove(this.path(hash).toFile());
+			return Files.deleteIfExists(this.path(hash));
+		}
+	}
+
+	// blob 파일들이 들어 있는 폴더입니다.
+	public Path root() {
+		return root;
+	}
+
+	private Object lock(String hash) {
+		return locks[Math.floorMod(hash.hashCode(), STRIPES)];
+	}
+
+	// DAO 메서드들이 throws Exception을 선언하고 있어 TransactionTemplate의 콜백에서 바로 호출할 수 없으므로
+	// 예외를 감싸서 전달했다가 원래 예외로 다시 던집니다.
+	@FunctionalInterface
+	public interface Work<T> {
+		T run() throws Exception;
+	}
+
+	private <T> T inTransaction(Work<T> work) throws Exception {
+		try {
+			return tx.execute(status -> {
+				try {
+					return work.run();
+				} catch (Exception e) {
+					throw new WrappedException(e);
+				}
+			});
+		} catch (WrappedException e) {
+			throw (Exception) e.getCause();
+		}
+	}
+
+	private static class WrappedException extends RuntimeException {
+		WrappedException(Exception cause) {
+			super(cause);
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.winter.app.commons;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+// 내용 주소(SHA-256) 방식으로 저장된 첨부파일 하나(blob)의 참조 정보를 담는 VO입니다. (FILE_BLOB 테이블)
+@Setter
+@Getter
+@ToString
+public class BlobVO {
+
+	// 파일 내용의 SHA-256 값(16진수 64글자)입니다. 파일명이자 PK로 사용합니다.
+	private String blobHash;
+	// 이 파일을 첨부파일로 사용하고 있는 행(NOTICEFILES, QNAFILES)의 수입니다.
+	private Long refCount;
+	// 파일 크기(byte)입니다.
+	private Long blobSize;
+}
@@ -0,0 +1,30 @@
+package com.winter.app.commons;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+// 캐시 하나의 사용 통계를 담아 화면(JSON)으로 전달하기 위한 VO입니다.
+@Setter
+@Getter
+@ToString
+public class CacheStats {
+
+	private String name;
+	private int size;
+	private int maxSize;
+	private long hits;
+	private long misses;
+	private long evictions;
+	// 유효 시간(ttl)이 지나 제거된 횟수입니다.
+	private long expirations;
+
+	// 적중률(0.0 ~ 1.0)입니다. 요청이 한 번도 없었다면 0을 반환합니다.
+	public double getHitRate() {
+		long total = this.hits + this.misses;
+		if (total == 0) {
+			return 0;
+		}
+		return (double) this.hits / total;
+	}
+}
@@ -0,0 +1,213 @@
+package com.winter.app.commons;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.UnaryOperator;
+
+// 크기가 제한된 LRU(Least Recently Used) 캐시입니다.
+// 정해진 개수(maxSize)를 넘으면 가장 오랫동안 사용되지 않은 항목부터 밀어냅니다(eviction).
+// 유효 시간(ttl)을 지정하면, 저장된 지 ttl(ms)이 지난 항목은 조회 시 만료된 것으로 보고 다시 읽어옵니다.
+// 적중(hit) / 실패(miss) / 제거(eviction) 횟수를 기록해 두었다가 CacheStats로 보여줍니다.
+// 여러 요청 스레드가 동시에 사용하므로 내부 Map 접근은 모두 synchronized로 보호합니다.
+public class CacheStore<K, V> {
+
+	// 캐시에 값이 없을 때 값을 새로 만들어 오는 함수입니다. (보통 DAO 호출)
+	// DAO 메서드들이 throws Exception을 선언하고 있으므로 예외를 던질 수 있게 정의합니다.
+	@FunctionalInterface
+	public interface Loader<V> {
+		V load() throws Exception;
+	}
+
+	// 통계 화면에 표시할 캐시 이름입니다. (예: "notice-list")
+	private final String name;
+
+	// 캐시에 보관할 수 있는 최대 항목 수입니다.
+	private final int maxSize;
+
+	// 항목의 유효 시간(ms)입니다. 0 이하이면 만료되지 않습니다.
+	private final long ttl;
+
+	// accessOrder=true 로 만든 LinkedHashMap은 조회할 때마다 항목을 맨 뒤로 옮겨주므로
+	// 맨 앞(eldest)에 있는 항목이 곧 가장 오래 사용되지 않은 항목이 됩니다.
+	private final LinkedHashMap<K, Item<V>> map;
+
+	// 무효화(remove/clear)가 일어날 때마다 1씩 증가하는 세대 번호입니다.
+	// DB에서 값을 읽어오는 동안 무효화가 일어났다면, 읽어온 값은 이미 오래된 값이므로 캐시에 넣지 않습니다.
+	private long generation;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder expirations = new LongAdder();
+
+	// 값과 저장 시각, 값을 읽기 시작한 세대 번호를 함께 보관합니다.
+	private static class Item<V> {
+		final V value;
+		final long createdAt;
+		final long generation;
+
+		Item(V value, long generation) {
+			this(value, System.currentTimeMillis(), generation);
+		}
+
+		Item(V value, long createdAt, long generation) {
+			this.value = value;
+			this.createdAt = createdAt;
+			this.generation = generation;
+		}
+	}
+
+	// 만료 시간 없이 크기만 제한하는 캐시를 만듭니다.
+	public CacheStore(String name, int maxSize) {
+		this(name, maxSize, 0);
+	}
+
+	// 크기와 유효 시간(ms)을 함께 제한하는 캐시를 만듭니다.
+	public CacheStore(String name, int maxSize, long ttl) {
+		this.name = name;
+		this.maxSize = maxSize;
+		this.ttl = ttl;
+		this.map = new LinkedHashMap<K, Item<V>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Item<V>> eldest) {
+				// 최대 크기를 넘으면 가장 오래된 항목을 제거하고 제거 횟수를 기록합니다.
+				if (size() > CacheStore.this.maxSize) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	// 캐시에서 값을 꺼내고, 없으면 loader로 값을 만들어 캐시에 넣은 뒤 반환합니다.
+	// loader(DB 조회)는 락 밖에서 실행하므로 느린 쿼리가 다른 키의 조회를 막지 않습니다.
+	public V get(K key, Loader<V> loader) throws Exception {
+		long gen;
+		synchronized (this) {
+			V value = this.lookup(key);
+			if (value != null) {
+				hits.increment();
+				return value;
+			}
+			gen = generation;
+		}
+		misses.increment();
+
+		V value = loader.load();
+		if (value == null) {
+			return null;
+		}
+
+		synchronized (this) {
+			// 읽어오는 사이에 무효화가 없었을 때만 캐시에 넣습니다.
+			if (gen == generation) {
+				map.put(key, new Item<>(value, gen));
+			}
+		}
+		return value;
+	}
+
+	// 캐시에 값이 있으면 반환하고, 없으면 null을 반환합니다.
+	public synchronized V get(K key) {
+		V value = this.lookup(key);
+		if (value == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return value;
+	}
+
+	// 값을 직접 캐시에 넣습니다.
+	public synchronized void put(K key, V value) {
+		map.put(key, new Item<>(value, generation));
+	}
+
+	// 현재 세대 번호를 반환합니다. 값을 만드는 동안 무효화가 있었는지 put(key, value, generation)으로 확인할 때 사용합니다.
+	public synchronized long generation() {
+		return generation;
+	}
+
+	// generation() 이후 무효화가 없었을 때만 값을 캐시에 넣습니다.
+	// get(key, loader)를 쓸 수 없는 경우(JSP 렌더링 결과처럼 조회와 저장 사이에 다른 작업이 있는 경우)에 사용합니다.
+	public synchronized void put(K key, V value, long generation) {
+		if (this.generation == generation) {
+			map.put(key, new Item<>(value, generation));
+		}
+	}
+
+	// 세대 번호를 올리고 새 번호를 반환합니다. 지금 DB에서 읽고 있는 값은 캐시에 넣지 않게 됩니다.
+	// DB의 값을 바꾸기 전후에 호출하면, 반환값으로 '바꾸기 전에 읽은 항목'만 골라 update 할 수 있습니다.
+	public synchronized long advance() {
+		return ++generation;
+	}
+
+	// 키에 값이 있고, 그 값을 before 세대보다 먼저 읽기 시작했을 때만 updater가 만든 새 값으로 바꿉니다.
+	// 저장 시각(유효 시간), 읽기 시작한 세대 번호와 적중 통계는 그대로 둡니다.
+	// 세대 번호를 올리므로, 바뀌기 전에 DB에서 읽기 시작한 값은 캐시에 넣지 않습니다.
+	public synchronized void update(K key, long before, UnaryOperator<V> updater) {
+		Item<V> item = map.get(key);
+		if (item == null || item.generation >= before) {
+			return;
+		}
+		generation++;
+		map.put(key, new Item<>(updater.apply(item.value), item.createdAt, item.generation));
+	}
+
+	// 특정 키 하나를 캐시에서 제거합니다.
+	public synchronized void remove(K key) {
+		generation++;
+		map.remove(key);
+	}
+
+	// 조건에 맞는 항목들을 모두 제거합니다. (예: 특정 게시판의 항목 전체)
+	public synchronized void removeIf(BiPredicate<K, V> filter) {
+		generation++;
+		map.entrySet().removeIf(e -> filter.test(e.getKey(), e.getValue().value));
+	}
+
+	// 캐시를 모두 비웁니다.
+	public synchronized void clear() {
+		generation++;
+		map.clear();
+	}
+
+	// 현재 캐시에 들어있는 키 목록의 복사본을 반환합니다.
+	public synchronized List<K> keys() {
+		return new ArrayList<>(map.keySet());
+	}
+
+	// 현재까지의 적중/실패/제거 통계를 반환합니다.
+	public CacheStats stats() {
+		CacheStats stats = new CacheStats();
+		stats.setName(name);
+		stats.setMaxSize(maxSize);
+		synchronized (this) {
+			stats.setSize(map.size());
+		}
+		stats.setHits(hits.sum());
+		stats.setMisses(misses.sum());
+		stats.setEvictions(evictions.sum());
+		stats.setExpirations(expirations.sum());
+		return stats;
+	}
+
+	// 키에 해당하는 값을 찾되, 유효 시간이 지났으면 제거하고 null을 반환합니다. (synchronized 안에서 호출)
+	private V lookup(K key) {
+		Item<V> entry = map.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (ttl > 0 && System.currentTimeMillis() - entry.createdAt > ttl) {
+			map.remove(key);
+			expirations.increment();
+			return null;
+		}
+		return entry.value;
+	}
+}
@@ -0,0 +1,92 @@
+package com.winter.app.commons;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+// 화면 내용이 바뀌었는지 판단하기 위한 변경 번호와 변경 시각을 보관합니다. (조건부 GET : ETag / Last-Modified)
+// 키는 게시판(notice), 게시글(notice|12), 상품 목록(products), 상품(products|5)처럼 화면이 의존하는 데이터 단위입니다.
+//
+// 1) 서비스는 데이터를 바꾼 뒤(커밋 후) touch(키)를 호출합니다. 모든 키가 하나의 증가 번호를 함께 쓰므로,
+//    여러 키에 의존하는 화면도 "가장 큰 변경 번호"만으로 바뀌었는지 알 수 있습니다.
+// 2) 컨트롤러는 서비스를 호출하기 전에 checkNotModified로 요청의 If-None-Match / If-Modified-Since를 확인합니다.
+//    바뀌지 않았으면 DB 조회와 JSP 렌더링 없이 304(Not Modified)로 응답합니다.
+// 3) 한 번도 바뀌지 않은 키는 서버가 시작된 시각을 변경 시각으로 사용합니다. 재시작하면 변경 번호가 0부터 다시 시작하므로
+//    버전 문자열에 서버 시작 시각을 함께 넣어 구분합니다.
+// 4) 바뀐 적이 있는 키만 보관하므로, 항목 수는 서버가 시작된 뒤 등록/수정/삭제된 글과 상품 수를 넘지 않습니다.
+@Component
+public class ContentVersions {
+
+	// 서버가 시작된 시각입니다.
+	private final long epoch = System.currentTimeMillis();
+
+	// 모든 키가 함께 사용하는 변경 번호입니다. touch가 호출될 때마다 1씩 증가합니다.
+	private final AtomicLong sequence = new AtomicLong();
+
+	// 키 -> 마지막 변경 번호와 시각입니다.
+	private final Map<String, Change> changes = new ConcurrentHashMap<>();
+
+	private record Change(long number, long time) {
+	}
+
+	// 키의 데이터가 바뀌었음을 기록합니다.
+	public void touch(String key) {
+		Change change = new Change(sequence.incrementAndGet(), System.currentTimeMillis());
+		// 동시에 바뀐 경우에도 더 큰 변경 번호가 남도록 합니다.
+		changes.merge(key, change, (a, b) -> a.number() > b.number() ? a : b);
+	}
+
+	// 게시글, 상품처럼 "이름|번호" 형태의 키가 바뀌었음을 기록합니다.
+	public void touch(String name, Object id) {
+		this.touch(key(name, id));
+	}
+
+	// 게시글, 상품 하나를 가리키는 키를 만듭니다. (예: notice|12)
+	public static String key(String name, Object id) {
+		return name + "|" + id;
+	}
+
+	// 키들의 현재 버전을 반환합니다. 키 중 하나라도 바뀌면 값이 바뀝니다. (예: "mfz1k2a0-42")
+	public String version(String... keys) {
+		long number = 0;
+		for (String key : keys) {
+			Change change = changes.get(key);
+			if (change != null && change.number() > number) {
+				number = change.number();
+			}
+		}
+		return Long.toString(epoch, 36) + "-" + number;
+	}
+
+	// 키들 중 가장 마지막으로 바뀐 시각을 반환합니다. 바뀐 적이 없으면 서버가 시작된 시각입니다.
+	public long lastModified(String... keys) {
+		long time = epoch;
+		for (String key : keys) {
+			Change change = changes.get(key);
+			if (change != null && change.time() > time) {
+				time = change.time();
+			}
+		}
+		return time;
+	}
+
+	// 키들의 버전으로 만든 ETag와 Last-Modified를 응답에 설정하고, 요청한 화면이 바뀌지 않았는지 확인합니다.
+	// true이면 304 상태가 설정된 것이므로 컨트롤러는 서비스를 호출하지 않고 바로 반환합니다. (반환값 null 또는 void)
+	// no-cache : 브라우저와 리버스 프록시가 화면을 저장해 두되, 사용할 때마다 ETag로 바뀌었는지 확인하게 합니다.
+	//            (사용자마다 다른 내용이 없는 화면이므로 private으로 막지 않습니다)
+	public boolean checkNotModified(WebRequest webRequest, String... keys) {
+		if (webRequest instanceof NativeWebRequest nativeRequest) {
+			HttpServletResponse response = nativeRequest.getNativeResponse(HttpServletResponse.class);
+			if (response != null) {
+				response.setHeader("Cache-Control", "no-cache");
+			}
+		}
+		return webRequest.checkNotModified("\"" + this.version(keys) + "\"", this.lastModified(keys));
+	}
+}
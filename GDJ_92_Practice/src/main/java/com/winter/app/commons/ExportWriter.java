@@ -0,0 +1,161 @@
+package com.winter.app.commons;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+// 테이블 전체를 CSV 또는 NDJSON(한 줄에 JSON 객체 하나) 파일로 내려보냅니다. (/products/export, /notice/export, /qna/export)
+//
+// 1) DAO가 ResultHandler로 한 행씩 넘겨주면 바로 응답에 씁니다. List를 만들지 않으므로 테이블 크기와 관계없이 메모리 사용량이 일정합니다.
+//    (DAO의 export 쿼리는 fetchSize=Integer.MIN_VALUE로 MySQL 드라이버가 결과를 한 행씩 스트리밍하게 합니다)
+// 2) gzip=true 이면 .gz 파일로 압축해서 보냅니다. 압축도 버퍼 크기만큼씩 진행되므로 메모리 사용량은 같습니다.
+// 3) 응답은 요청 스레드에서 바로 씁니다. StreamingResponseBody(비동기 요청)는 비동기 요청 시간 제한에 걸려
+//    수 GB의 파일을 보내는 도중 끊길 수 있으므로 FileDownView처럼 응답 스트림에 직접 씁니다.
+// 4) 이미 일부를 보낸 뒤 DB 오류가 나면 상태 코드를 바꿀 수 없으므로 연결을 끊어 파일이 불완전함을 알립니다.
+@Component
+@Slf4j
+public class ExportWriter {
+
+	// 응답에 쓰기 전에 모아 두는 버퍼 크기입니다. 버퍼가 차면 그때까지 읽은 행을 보냅니다.
+	private static final int BUFFER_SIZE = 65536;
+
+	private final ObjectMapper objectMapper;
+
+	// Spring Boot가 만든 ObjectMapper(날짜 형식 등 설정 포함)로 NDJSON 값을 씁니다.
+	public ExportWriter(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	// name : 파일 이름 앞부분 (예: products -> products-2026-10-17.csv)
+	// format : csv(기본값) 또는 ndjson
+	// columns : 열 이름 -> 행에서 값을 꺼내는 함수 (LinkedHashMap으로 순서를 지정합니다)
+	// loader : DAO의 export 메서드처럼 ResultHandler로 행을 넘겨주는 함수
+	public <T> void write(HttpServletResponse response, String name, String format, boolean gzip,
+			Map<String, Function<T, Object>> columns, Loader<T> loader) throws Exception {
+		boolean csv = format == null || format.isEmpty() || "csv".equalsIgnoreCase(format);
+		if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST, "format은 csv 또는 ndjson 입니다.");
+			return;
+		}
+
+		String fileName = name + "-" + LocalDate.now() + (csv ? ".csv" : ".ndjson") + (gzip ? ".gz" : "");
+		if (gzip) {
+			response.setContentType("application/gzip");
+		} else {
+			response.setContentType(csv ? "text/csv; charset=UTF-8" : "application/x-ndjson; charset=UTF-8");
+		}
+		response.setHeader("Content-Disposition",
+				"attachment; filename*=UTF-8''" + URLEncoder.encode(fileName, StandardCharsets.UTF_8));
+
+		OutputStream out = response.getOutputStream();
+		GZIPOutputStream zip = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+		Writer writer = new BufferedWriter(
+				new OutputStreamWriter(zip != null ? zip : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+		long start = System.currentTimeMillis();
+		long[] rows = new long[1];
+
+		try {
+			if (csv) {
+				// 엑셀에서 열어도 한글이 깨지지 않도록 BOM을 씁니다. (CSV 등록(ProductCsvReader)은 BOM을 무시합니다)
+				writer.write('\uFEFF');
+				this.csvLine(writer, columns.keySet());
+				loader.load(context -> {
+					T row = context.getResultObject();
+					try {
+						this.csvLine(writer, columns.values().stream().map(f -> f.apply(row)).toList());
+					} catch (Exception e) {
+						throw new ExportException(e);
+					}
+					rows[0]++;
+				});
+			} else {
+				// 응답 스트림은 이 메서드가 마무리하므로 JsonGenerator가 닫지 않게 합니다.
+				JsonGenerator gen = objectMapper.getFactory().createGenerator(writer);
+				gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				loader.load(context -> {
+					T row = context.getResultObject();
+					try {
+						gen.writeStartObject();
+						for (Map.Entry<String, Function<T, Object>> column : columns.entrySet()) {
+							gen.writeFieldName(column.getKey());
+							gen.writeObject(column.getValue().apply(row));
+						}
+						gen.writeEndObject();
+						gen.writeRaw('\n');
+					} catch (Exception e) {
+						throw new ExportException(e);
+					}
+					rows[0]++;
+				});
+				gen.close();
+			}
+			writer.flush();
+			if (zip != null) {
+				zip.finish();
+			}
+			out.flush();
+			log.info("{} 내보내기 완료 : {}행, {}ms", fileName, rows[0], System.currentTimeMillis() - start);
+		} catch (Exception e) {
+			// 클라이언트가 다운로드를 취소한 경우(쓰기 실패)도 여기로 옵니다.
+			log.warn("{} 내보내기 중단 : {}행까지 전송", fileName, rows[0], e);
+			if (!response.isCommitted()) {
+				response.reset();
+				response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+				return;
+			}
+			throw e;
+		}
+	}
+
+	// 값 목록을 CSV 한 줄로 씁니다. 쉼표, 큰따옴표, 줄바꿈이 있는 값은 큰따옴표로 감쌉니다. (RFC 4180)
+	private void csvLine(Writer writer, Iterable<?> values) throws Exception {
+		boolean first = true;
+		for (Object value : values) {
+			if (!first) {
+				writer.write(',');
+			}
+			first = false;
+			if (value == null) {
+				continue;
+			}
+			String text = value.toString();
+			if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+				writer.write('"');
+				writer.write(text.replace("\"", "\"\""));
+				writer.write('"');
+			} else {
+				writer.write(text);
+			}
+		}
+		writer.write("\r\n");
+	}
+
+	// DAO의 export 메서드처럼 ResultHandler로 행을 넘겨주는 함수입니다.
+	@FunctionalInterface
+	public interface Loader<T> {
+		void load(ResultHandler<T> handler) throws Exception;
+	}
+
+	// ResultHandler 안에서 난 쓰기 오류를 MyBatis 밖으로 전달하기 위한 예외입니다.
+	private static class ExportException extends RuntimeException {
+		ExportException(Exception cause) {
+			super(cause);
+		}
+	}
+}
@@ -1,14 +1,21 @@
 package com.winter.app.commons;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.OutputStream;
 import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.util.FileCopyUtils;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.view.AbstractView;
 
 import com.winter.app.board.BoardFileVO;
@@ -23,18 +30,47 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class FileDownView extends AbstractView {
 	
+	// Tomcat이 sendfile을 지원할 때 요청에 넣어주는 속성과, sendfile을 요청할 때 사용하는 속성 이름입니다.
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+	
 	// @Value("${app.upload}") : application.properties의 'app.upload' 속성 값을 'path' 변수에 주입합니다. (예: "D:/upload/")
 	@Value("${app.upload}")
 	private String path;
 	
+	// 저장 파일명으로 실제 파일 위치를 찾을 때 사용합니다.
+	@Autowired
+	private FileManager fileManager;
+	
+	// 이미지 첨부파일의 축소본(썸네일 등)을 찾거나 만들 때 사용합니다.
+	@Autowired
+	private ImageVariants imageVariants;
+	
+	// 이 크기(byte) 이하의 작은 파일은 메모리 캐시에서 바로 보냅니다. (app.file.download.cache-max-file-size)
+	private final long cacheMaxFileSize;
+	
+	// 작은 파일의 내용을 보관하는 캐시입니다. 키: 파일 경로|수정 시각
+	// 파일 수(app.file.download.cache-size)로 제한하므로 최대 메모리는 "파일 수 x 최대 파일 크기"입니다.
+	private final CacheStore<String, byte[]> smallFiles;
+	
+	public FileDownView(@Value("${app.file.download.cache-size}") int cacheSize,
+			@Value("${app.file.download.cache-max-file-size}") long cacheMaxFileSize) {
+		this.smallFiles = new CacheStore<>("file-download", cacheSize);
+		this.cacheMaxFileSize = cacheMaxFileSize;
+	}
+	
+	// 작은 파일 캐시의 통계를 반환합니다.
+	public CacheStats stats() {
+		return smallFiles.stats();
+	}
+	
 	// 이 클래스의 핵심 메서드입니다.
 	// Controller가 "fileDownView"를 반환하면 Spring이 이 메서드를 자동으로 실행하여 렌더링(여기서는 파일 전송)을 수행합니다.
 	@Override
 	protected void renderMergedOutputModel(Map<String, Object> model, HttpServletRequest request,
 			HttpServletResponse response) throws Exception {
-		// Controller에서 전달한 Model 객체의 내용을 로그로 출력합니다.
-		log.info("============= FileDownView 실행 =============");
-		
 		// 1. Controller가 Model에 담아 보낸 파일 정보를 꺼냅니다.
 		// model.get("vo")는 Object 타입이므로 BoardFileVO 타입으로 형변환(casting)해줍니다.
 		BoardFileVO boardFileVO = (BoardFileVO)model.get("vo");
@@ -46,37 +82,91 @@ public class FileDownView extends AbstractView {
 		String filePath = path + board;
 		
 		// 3. 파일 경로와 서버에 저장된 파일명을 합쳐서 실제 파일 객체를 만듭니다.
-		File file = new File(filePath, boardFileVO.getSaveName());
+		// DB에 정보가 없거나 파일이 지워졌다면 404(Not Found)로 응답합니다.
+		if (boardFileVO == null) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		// 중복 제거 저장소(blob)에 있는 파일은 FileManager가 실제 위치를 찾아줍니다.
+		File original = fileManager.file(filePath, boardFileVO.getSaveName());
+		if (!original.isFile()) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		
+		// 이미지 첨부파일을 size 파라미터(thumb, medium, large)와 함께 요청하면 원본 대신 축소본을 화면에 표시할 수 있게 보냅니다.
+		// 축소본이 없으면(원본이 이미 작은 경우 등) 원본을 보냅니다.
+		ImageVariants.Size size = ImageVariants.Size.of(request.getParameter("size"));
+		boolean inline = size != null && ImageVariants.isImage(boardFileVO.getOriName());
+		File variant = inline ? imageVariants.variant(original, boardFileVO.getOriName(), size) : null;
+		File file = variant == null ? original : variant;
+		long length = file.length();
+		long lastModified = file.lastModified();
 		
 		// --- 여기서부터는 클라이언트(브라우저)에게 응답을 보내기 위한 설정입니다. ---
 		
-		// 4. 응답 헤더 설정 (1): 파일의 총 크기를 설정합니다.
-		response.setContentLengthLong(file.length());
+		// 4. 재검증(revalidation) 처리: 브라우저가 이미 같은 파일을 가지고 있으면 본문 없이 304(Not Modified)로 응답합니다.
+		// 저장 파일명은 UUID 또는 내용의 해시로 만들어져 내용이 바뀌지 않으므로, 크기와 수정 시각으로 ETag를 만듭니다.
+		// checkNotModified는 ETag / Last-Modified 헤더를 설정하고, 요청의 If-None-Match / If-Modified-Since와 비교해 줍니다.
+		String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+		response.setHeader("Cache-Control", "private, no-cache");
+		if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+			return;
+		}
+		
+		// 5. 응답 헤더 설정 (1): 파일의 총 크기와 종류를 설정합니다.
+		response.setContentLengthLong(length);
+		if (inline) {
+			response.setContentType(MediaTypeFactory.getMediaType(variant == null ? boardFileVO.getOriName() : variant.getName())
+					.orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+		} else {
+			response.setContentType("application/octet-stream");
+		}
 		
-		// 5. 응답 헤더 설정 (2): 파일 다운로드 시 표시될 파일 이름을 설정합니다.
+		// 6. 응답 헤더 설정 (2): 파일 다운로드 시 표시될 파일 이름을 설정합니다.
 		// 한글 등 비영어권 문자가 깨지지 않도록 파일 이름을 UTF-8로 인코딩합니다.
 		String fileName = URLEncoder.encode(boardFileVO.getOriName(), "UTF-8");
 		
-		// 6. 응답 헤더 설정 (3): 가장 중요한 부분.
+		// 7. 응답 헤더 설정 (3): 가장 중요한 부분.
 		// "Content-Disposition"은 응답 본문을 브라우저가 어떻게 처리할지 알려주는 헤더입니다.
 		// "attachment"는 내용을 화면에 표시하지 말고, 파일로 다운로드하라는 의미입니다.
-		response.setHeader("Content-Disposition", "attachment;filename=\"" + fileName + "\"");
+		// 축소본 요청은 "inline"으로 보내 <img> 태그에서 바로 표시되게 합니다.
+		response.setHeader("Content-Disposition", (inline ? "inline" : "attachment") + ";filename=\"" + fileName + "\"");
 		// "Content-Transfer-Encoding"은 전송 데이터의 인코딩 방식을 나타냅니다. "binary"는 이진 파일임을 의미합니다.
 		response.setHeader("Content-Transfer-Encoding", "binary");
 		
 		// --- 실제 파일 데이터 전송 ---
 		
-		// 7. 서버의 하드디스크에 있는 파일을 읽어올 준비를 합니다. (입력 스트림)
-		FileInputStream fi = new FileInputStream(file);
-		
-		// 8. 읽어온 파일 데이터를 클라이언트(브라우저)에게 전송할 준비를 합니다. (출력 스트림)
-		OutputStream os = response.getOutputStream();
+		// 8. 작은 파일은 메모리 캐시에서 꺼내 바로 씁니다. 자주 받는 작은 이미지/문서는 디스크를 읽지 않습니다.
+		if (length <= cacheMaxFileSize) {
+			String key = file.getPath() + "|" + lastModified;
+			byte[] bytes = smallFiles.get(key, () -> Files.readAllBytes(file.toPath()));
+			OutputStream os = response.getOutputStream();
+			os.write(bytes);
+			os.flush();
+			return;
+		}
 		
-		// 9. Spring의 FileCopyUtils를 사용해 입력 스트림에서 출력 스트림으로 파일 데이터를 복사(전송)합니다.
-		FileCopyUtils.copy(fi, os);
+		// 9. 큰 파일은 Tomcat의 sendfile을 사용합니다.
+		// 요청 처리 스레드에서 파일을 읽고 쓰지 않고, 메서드가 끝난 뒤 Tomcat이 운영체제의 sendfile로
+		// 디스크에서 소켓으로 바로 보냅니다. (사용자 영역 버퍼로 복사하지 않는 zero-copy)
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+			request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+			request.setAttribute(SENDFILE_START, 0L);
+			request.setAttribute(SENDFILE_END, length);
+			return;
+		}
 		
-		// 10. 데이터 전송이 끝났으므로, 사용한 모든 자원(스트림)을 닫아서 메모리 누수를 방지합니다.
-		os.close();
-		fi.close();
+		// 10. sendfile을 쓸 수 없는 환경이면 FileChannel.transferTo로 보냅니다.
+		// 받는 쪽이 소켓 채널이 아니라 응답 스트림을 감싼 채널이므로 zero-copy는 아닙니다.
+		// JDK가 내부 버퍼로 읽어 응답 스트림에 쓰는 것과 같으며, 직접 byte 배열을 만들어 반복하는 코드만 줄어듭니다.
+		try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+			long position = 0;
+			while (position < length) {
+				position += in.transferTo(position, length - position, out);
+			}
+		}
+		response.flushBuffer();
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package com.winter.app.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 게시글/첨부파일 삭제 시 지워야 할 파일을 DB(FILE_JOURNAL)에 기록해 두고, 백그라운드에서 삭제하는 작업 기록(journal)입니다.
+// 예전에는 삭제 요청을 처리하는 중에 첨부파일을 하나씩 지웠기 때문에 첨부파일이 많은 글은 삭제가 느렸고,
+// 파일을 지운 뒤 DB 삭제가 실패하거나 서버가 죽으면 파일과 DB가 서로 맞지 않게 되었습니다.
+// 이제는 게시글 삭제와 같은 트랜잭션에서 기록만 남기므로
+// 1) 삭제 요청은 INSERT 한 번으로 끝나고
+// 2) 게시글 삭제가 커밋되면 기록도 함께 커밋되고, 롤백되면 기록도 사라집니다.
+// 3) 서버가 재시작되어도 남은 기록은 다음 처리 주기에 이어서 삭제됩니다.
+@Component
+@Slf4j
+public class FileJournal {
+
+	// 한 번의 처리 주기에 삭제할 최대 파일 수입니다.
+	@Value("${app.file.journal.batch-size}")
+	private int batchSize;
+
+	@Autowired
+	private FileJournalDAO fileJournalDAO;
+
+	@Autowired
+	private FileManager fileManager;
+
+	@Autowired
+	private BlobStore blobStore;
+
+	// 삭제할 첨부파일들을 기록합니다. 호출한 쪽의 트랜잭션에 함께 참여합니다.
+	public void enqueue(String dir, List<String> names) throws Exception {
+		if (names.isEmpty()) {
+			return;
+		}
+		List<FileJournalVO> list = new ArrayList<>();
+		for (String name : names) {
+			FileJournalVO vo = new FileJournalVO();
+			vo.setFileDir(dir);
+			vo.setFileName(name);
+			list.add(vo);
+		}
+		fileJournalDAO.insertList(list);
+	}
+
+	// 기록된 파일을 주기적으로 삭제합니다.
+	// 중복 제거 저장소(blob)의 파일은 참조 수 감소와 기록 삭제를 한 트랜잭션으로 처리해 정확히 한 번만 반영합니다.
+	// 일반 파일은 먼저 지우고 기록을 삭제합니다. 그 사이 서버가 죽으면 다음에 다시 지우려 하지만, 이미 없는 파일이므로 문제가 없습니다.
+	@Scheduled(fixedDelayString = "${app.file.journal.interval}")
+	public void process() {
+		List<FileJournalVO> list;
+		try {
+			list = fileJournalDAO.list(batchSize);
+		} catch (Exception e) {
+			log.warn("파일 삭제 기록을 조회하지 못했습니다.", e);
+			return;
+		}
+
+		for (FileJournalVO vo : list) {
+			try {
+				if (BlobStore.isBlob(vo.getFileName())) {
+					// 기록이 이미 지워졌다면(다른 서버가 먼저 처리) 참조 수를 줄이지 않도록 트랜잭션을 롤백합니다.
+					blobStore.release(vo.getFileName(), () -> {
+						if (fileJournalDAO.delete(vo.getJournalNum()) == 0) {
+							throw new IllegalStateException("이미 처리된 기록입니다: " + vo.getJournalNum());
+						}
+						return null;
+					});
+				} else {
+					fileManager.fileDelete(vo.getFileDir(), vo.getFileName());
+					fileJournalDAO.delete(vo.getJournalNum());
+				}
+			} catch (Exception e) {
+				log.warn("파일을 삭제하지 못했습니다. 다음 주기에 다시 시도합니다: {}/{}", vo.getFileDir(), vo.getFileName(), e);
+				try {
+					fileJournalDAO.fail(vo.getJournalNum());
+				} catch (Exception ignore) {
+					// 실패 횟수를 기록하지 못해도 다음 주기에 다시 시도하므로 무시합니다.
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.winter.app.commons;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+
+// 삭제 예정 파일 기록(FILE_JOURNAL 테이블)을 다루는 DAO입니다.
+@Mapper
+public interface FileJournalDAO {
+
+	// 삭제할 파일들을 한 번에 기록합니다.
+	public int insertList(List<FileJournalVO> list) throws Exception;
+
+	// 처리할 기록을 오래된 순서로 최대 limit개 조회합니다. (실패가 적은 기록 우선)
+	public List<FileJournalVO> list(int limit) throws Exception;
+
+	// 처리가 끝난 기록을 삭제합니다.
+	public int delete(Long journalNum) throws Exception;
+
+	// 삭제에 실패한 기록의 실패 횟수를 1 늘립니다.
+	public int fail(Long journalNum) throws Exception;
+}
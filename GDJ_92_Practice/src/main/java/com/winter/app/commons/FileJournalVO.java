@@ -0,0 +1,19 @@
+package com.winter.app.commons;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+// 삭제 예정 파일 하나의 기록(FILE_JOURNAL 테이블)을 담는 VO입니다.
+@Setter
+@Getter
+@ToString
+public class FileJournalVO {
+
+	private Long journalNum;
+	// 파일이 있는 폴더 경로와 저장된 파일명입니다.
+	private String fileDir;
+	private String fileName;
+	// 삭제를 시도했다가 실패한 횟수입니다.
+	private Long tryCount;
+}
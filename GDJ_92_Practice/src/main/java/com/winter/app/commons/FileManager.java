@@ -1,62 +1,336 @@
 package com.winter.app.commons;
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.util.FileCopyUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
 // @Component : 이 클래스를 Spring이 직접 관리하는 객체(Bean)로 등록합니다.
 // 이렇게 등록하면 다른 클래스에서 @Autowired를 통해 이 객체를 주입받아 사용할 수 있습니다.
 @Component
+@Slf4j
 public class FileManager {
 
+	// 첨부파일 여러 개를 동시에 저장할 때 사용하는 가상 스레드(virtual thread) 실행기입니다.
+	// 가상 스레드는 디스크 쓰기를 기다리는 동안 OS 스레드를 점유하지 않으므로 파일마다 하나씩 만들어도 부담이 적습니다.
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	// 서버 전체에서 동시에 진행되는 파일 저장 수를 제한합니다. (app.file.save-concurrency)
+	// 가상 스레드 수에는 제한이 없으므로, 느린 저장소에 쓰기가 한꺼번에 몰리지 않도록 허가(permit) 수로 제한합니다.
+	private final Semaphore permits;
+
+	// 파일을 옮겨 쓸 때 사용하는 고정 크기 버퍼들입니다. (app.file.buffer-size)
+	// 허가 수와 같은 개수만 만들어 재사용하므로, 업로드 파일이 얼마나 크든, 몇 개가 동시에 오든
+	// 저장에 쓰이는 메모리는 "버퍼 크기 x 동시 저장 수"를 넘지 않습니다.
+	// 힙 밖(direct) 메모리에 만들어 FileChannel이 중간 복사 없이 바로 디스크에 쓸 수 있게 합니다.
+	private final BlockingQueue<ByteBuffer> buffers;
+	private final int bufferSize;
+
+	// 저장 후 디스크 동기화(fsync) 정책입니다. (app.file.fsync)
+	private final Fsync fsync;
+
+	// 저장 통계입니다. /stats/file 에서 확인할 수 있습니다.
+	private final LongAdder saves = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+	private final LongAdder saveNanos = new LongAdder();
+	private final LongAdder fsyncNanos = new LongAdder();
+	private final LongAdder bufferAllocations = new LongAdder();
+	private final LongAdder dedupeHits = new LongAdder();
+	private final LongAdder dedupeBytes = new LongAdder();
+
+	// 첨부파일 중복 제거 저장소입니다. (app.file.dedupe=true 일 때 사용)
+	@Autowired
+	private BlobStore blobStore;
+
+	// 파일을 지울 때 그 파일로 만든 이미지 축소본도 함께 지웁니다.
+	@Autowired
+	private ImageVariants imageVariants;
+
+	// true이면 첨부파일을 내용(SHA-256) 기준으로 한 번만 저장합니다.
+	private final boolean dedupe;
+
+	// fsync 정책의 종류입니다.
+	// NONE : 운영체제가 알아서 디스크에 기록합니다. 가장 빠르지만 서버 전원이 꺼지면 최근 파일이 유실될 수 있습니다.
+	// DATA : 파일 내용을 디스크에 기록한 뒤 반환합니다. (FileChannel.force(false))
+	// FULL : 파일 내용과 크기/수정 시각 같은 메타데이터까지 기록한 뒤 반환합니다. (FileChannel.force(true))
+	public enum Fsync {
+		NONE, DATA, FULL
+	}
+
+	public FileManager(@Value("${app.file.save-concurrency}") int concurrency,
+			@Value("${app.file.buffer-size}") int bufferSize,
+			@Value("${app.file.fsync}") Fsync fsync,
+			@Value("${app.file.dedupe}") boolean dedupe) {
+		this.dedupe = dedupe;
+		this.permits = new Semaphore(concurrency);
+		this.buffers = new ArrayBlockingQueue<>(concurrency);
+		this.bufferSize = bufferSize;
+		this.fsync = fsync;
+	}
+
+	// 애플리케이션 종료 시 실행기를 정리합니다.
+	@PreDestroy
+	public void close() {
+		executor.shutdown();
+	}
+
+	// 파일명으로 두 단계 하위 폴더 이름(예: "3f/a0")을 만듭니다.
+	// 한 폴더에 파일이 수십만 개 쌓이면 파일 찾기, 목록 조회, 백업이 모두 느려지므로
+	// 파일명의 CRC32 값 앞 4자리로 게시판 폴더를 256 x 256개의 하위 폴더로 나누어 저장합니다.
+	// 파일명만으로 위치가 정해지므로 DB에 경로를 따로 저장할 필요가 없습니다.
+	public static String shard(String fileName) {
+		CRC32 crc = new CRC32();
+		crc.update(fileName.getBytes(StandardCharsets.UTF_8));
+		String hex = String.format("%08x", crc.getValue());
+		return hex.substring(0, 2) + "/" + hex.substring(2, 4);
+	}
+
+	// 하위 폴더로 나누어 저장할 때의 파일 위치입니다. (예: D:/upload/notice/3f/a0/UUID_사진.jpg)
+	public static File shardFile(String dir, String fileName) {
+		return new File(new File(dir, shard(fileName)), fileName);
+	}
+
+	// 저장된 파일명으로 실제 파일 위치를 찾아주는 메서드입니다.
+	// 중복 제거 저장소(blob)에 있는 파일은 게시판 폴더가 아니라 blobs 폴더에 있습니다.
+	// 하위 폴더로 옮기기 전(ShardMigrator)의 파일은 예전처럼 게시판 폴더 바로 아래에 있으므로 그 위치도 확인합니다.
+	public File file(String dir, String fileName) {
+		if (BlobStore.isBlob(fileName)) {
+			return blobStore.path(fileName).toFile();
+		}
+		File sharded = shardFile(dir, fileName);
+		if (sharded.isFile()) {
+			return sharded;
+		}
+		File flat = new File(dir, fileName);
+		if (flat.isFile()) {
+			return flat;
+		}
+		// 둘 다 없으면(확인하는 사이 옮겨진 경우 포함) 새 위치를 반환합니다.
+		return sharded;
+	}
+
+	// 첨부파일을 삭제하는 메서드입니다. (attachSave로 저장한 파일)
+	// 중복 제거 저장소의 파일은 참조 수만 줄이고, 마지막 참조였을 때만 실제로 삭제합니다.
+	// 예전 방식(UUID_원본파일명)으로 저장된 첨부파일은 fileDelete와 같이 바로 삭제합니다.
+	public boolean attachDelete(String dir, String fileName) throws Exception {
+		if (BlobStore.isBlob(fileName)) {
+			blobStore.release(fileName, null);
+			return true;
+		}
+		return this.fileDelete(dir, fileName);
+	}
+
 	// 파일을 삭제하는 메서드입니다.
 	// dir: 파일이 위치한 폴더 경로 (예: "D:/upload/notice/")
 	// fileName: 삭제할 파일의 이름
 	public boolean fileDelete(String dir, String fileName) throws Exception {
-		// 폴더 경로와 파일 이름을 합쳐서 실제 파일에 대한 File 객체를 생성합니다.
-		File file = new File(dir, fileName);
+		// 새 위치(하위 폴더)와 예전 위치(게시판 폴더 바로 아래)의 File 객체를 생성합니다.
+		// 옮기는 중(ShardMigrator)에는 두 곳에 모두 있을 수 있으므로 둘 다 삭제합니다.
+		File sharded = shardFile(dir, fileName);
+		File flat = new File(dir, fileName);
 
-		// file.delete() 메서드를 호출하여 실제 파일을 삭제하고, 성공 여부(true/false)를 반환합니다.
-		return file.delete();
+		// 이 파일로 만든 이미지 축소본도 함께 지웁니다.
+		imageVariants.remove(sharded);
+
+		// file.delete() 메서드를 호출하여 실제 파일을 삭제하고, 하나라도 삭제했으면 true를 반환합니다.
+		boolean deleted = sharded.delete();
+		return flat.delete() || deleted;
 	}
 
 	// 파일을 저장하는 메서드입니다.
 	// dir: 파일을 저장할 폴더 경로 (예: "D:/upload/notice/")
 	// attaces: 사용자가 업로드한 파일 데이터가 담긴 MultipartFile 객체
 	public String fileSave(String dir, MultipartFile attaces) throws Exception {
-		// 1. 파일을 저장할 디렉토리(폴더)를 준비합니다.
-		// 전달받은 경로로 File 객체를 생성합니다.
-		File file = new File(dir);
-		// 만약 해당 경로의 폴더가 존재하지 않는다면,
-		if (!file.exists()) {
-			// file.mkdirs()를 호출하여 폴더를 생성합니다. (s가 붙으면 상위 폴더까지 모두 생성)
-			file.mkdirs();
-		}
-
-		// 2. 저장할 파일명을 고유하게 생성합니다.
+		// 1. 저장할 파일명을 고유하게 생성합니다.
 		// 다른 사용자가 같은 이름의 파일을 올려도 겹치지 않도록 하기 위함입니다.
 		// UUID.randomUUID()를 사용해 절대로 중복되지 않는 랜덤한 문자열을 생성합니다.
 		String fileName = UUID.randomUUID().toString();
 		// 생성된 랜덤 문자열과 파일의 원본 이름을 '_'로 연결하여 새로운 파일명을 만듭니다.
 		fileName = fileName + "_" + attaces.getOriginalFilename();
 
+		// 2. 파일을 저장할 하위 폴더(예: D:/upload/notice/3f/a0/)를 준비합니다.
+		// 폴더가 없으면 상위 폴더까지 모두 생성합니다. (이미 있으면 아무것도 하지 않습니다)
+		Path path = shardFile(dir, fileName).toPath();
+		Files.createDirectories(path.getParent());
+
 		// 3. 최종적으로 파일을 하드디스크(HDD)에 저장합니다.
-		// 저장할 폴더와 새로 만든 파일명을 합쳐서 최종 저장 경로를 나타내는 File 객체를 다시 생성합니다.
-		file = new File(file, fileName);
+		this.write(attaces, path, null);
 
-		// 파일을 저장하는 방법은 두 가지가 있습니다.
+		// DB에 저장하기 위해, 새로 만들어진 고유한 파일명을 반환합니다.
+		return fileName;
+	}
 
-		// a. MutipartFile의 transferTo 메서드 사용 (내부적으로 처리되어 더 간편함)
-		// attaces.transferTo(file);
+	// 첨부파일을 저장하는 메서드입니다.
+	// 중복 제거(app.file.dedupe)를 사용하면 저장하면서 SHA-256을 계산하고, 같은 내용의 파일이 이미 있으면
+	// 새로 쓴 임시 파일은 버리고 기존 파일의 참조 수만 늘립니다. 반환하는 파일명은 해시 값입니다.
+	// 사용하지 않으면 fileSave와 같습니다.
+	public String attachSave(String dir, MultipartFile attaces) throws Exception {
+		if (!dedupe) {
+			return this.fileSave(dir, attaces);
+		}
 
-		// b. Spring의 FileCopyUtils의 copy 메서드 사용 (byte 배열로 변환 후 저장)
-		// attaces.getBytes()로 파일 데이터를 byte 배열로 읽어온 뒤, 지정된 경로(file)에 복사(저장)합니다.
-		FileCopyUtils.copy(attaces.getBytes(), file);
+		Path temp = blobStore.tempFile();
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		long size = this.write(attaces, temp, digest);
+		String hash = HexFormat.of().formatHex(digest.digest());
 
-		// DB에 저장하기 위해, 새로 만들어진 고유한 파일명을 반환합니다.
-		return fileName;
+		if (!blobStore.acquire(hash, temp, size)) {
+			dedupeHits.increment();
+			dedupeBytes.add(size);
+		}
+		return hash;
+	}
+
+	// 업로드 스트림을 target 파일로 옮겨 쓰고, 쓴 바이트 수를 반환합니다.
+	// digest가 있으면 쓰는 동안 같은 버퍼로 해시를 함께 계산합니다. (파일을 한 번 더 읽지 않습니다)
+	// 예전에는 attaces.getBytes()로 파일 전체를 byte 배열로 읽은 뒤 저장했기 때문에
+	// 25MB 요청이 여러 개 동시에 들어오면 그만큼 힙 메모리를 차지해 GC가 몰리고 OOM 위험이 있었습니다.
+	// 이제는 업로드 스트림에서 고정 크기 버퍼만큼씩 읽어 FileChannel로 바로 씁니다.
+	private long write(MultipartFile attaces, Path file, MessageDigest digest) throws Exception {
+		long start = System.nanoTime();
+		permits.acquire();
+		ByteBuffer buffer = this.borrowBuffer();
+		// 임시 파일은 미리 만들어져 있으므로 CREATE_NEW 대신 덮어쓰기로 엽니다.
+		StandardOpenOption create = digest == null ? StandardOpenOption.CREATE_NEW : StandardOpenOption.TRUNCATE_EXISTING;
+		try (InputStream is = attaces.getInputStream();
+				ReadableByteChannel in = Channels.newChannel(is);
+				FileChannel out = FileChannel.open(file, create, StandardOpenOption.WRITE)) {
+			long written = 0;
+			while (in.read(buffer) != -1) {
+				buffer.flip();
+				if (digest != null) {
+					digest.update(buffer.duplicate());
+				}
+				while (buffer.hasRemaining()) {
+					written += out.write(buffer);
+				}
+				buffer.clear();
+			}
+			this.force(out);
+			bytes.add(written);
+			saves.increment();
+			return written;
+		} catch (Exception e) {
+			// 저장 도중 실패하면 일부만 쓰인 파일이 남지 않도록 삭제합니다.
+			failures.increment();
+			Files.deleteIfExists(file);
+			throw e;
+		} finally {
+			buffer.clear();
+			buffers.offer(buffer);
+			permits.release();
+			saveNanos.add(System.nanoTime() - start);
+		}
+	}
+
+	// 버퍼를 하나 빌려옵니다. 허가(permit)를 얻은 상태에서만 호출하므로,
+	// 버퍼는 허가 수만큼만 만들어지고 이후에는 반납된 버퍼를 재사용합니다.
+	private ByteBuffer borrowBuffer() {
+		ByteBuffer buffer = buffers.poll();
+		if (buffer == null) {
+			buffer = ByteBuffer.allocateDirect(bufferSize);
+			bufferAllocations.increment();
+		}
+		return buffer;
+	}
+
+	// fsync 정책에 따라 파일 내용을 디스크에 기록합니다.
+	private void force(FileChannel out) throws Exception {
+		if (fsync == Fsync.NONE) {
+			return;
+		}
+		long start = System.nanoTime();
+		out.force(fsync == Fsync.FULL);
+		fsyncNanos.add(System.nanoTime() - start);
+	}
+
+	// 파일 저장 통계를 반환합니다.
+	public FileStats stats() {
+		FileStats stats = new FileStats();
+		stats.setSaves(saves.sum());
+		stats.setFailures(failures.sum());
+		stats.setBytes(bytes.sum());
+		stats.setSaveNanos(saveNanos.sum());
+		stats.setFsyncNanos(fsyncNanos.sum());
+		stats.setFsync(fsync.name());
+		stats.setBufferSize(bufferSize);
+		stats.setBufferAllocations(bufferAllocations.sum());
+		stats.setDedupeHits(dedupeHits.sum());
+		stats.setDedupeBytes(dedupeBytes.sum());
+		return stats;
+	}
+
+	// 여러 첨부파일을 가상 스레드에서 동시에 저장하고, 저장된 파일명을 전달받은 순서대로 반환하는 메서드입니다.
+	// 요청 처리 시간이 "모든 파일 저장 시간의 합"이 아니라 "가장 오래 걸린 파일 하나의 저장 시간"에 가까워집니다.
+	// 1) 모든 저장이 끝난 뒤에 반환하므로, 호출한 쪽의 트랜잭션은 파일이 모두 저장된 다음에 커밋됩니다.
+	// 2) 하나라도 실패하면 이미 저장된 파일을 모두 삭제하고 첫 번째 예외를 던집니다.
+	// 3) 파일 저장 이후 트랜잭션이 롤백되어도(예: 파일 정보 INSERT 실패) 저장했던 파일을 삭제합니다.
+	public List<String> fileSaveAll(String dir, List<MultipartFile> attaches) throws Exception {
+		List<Future<String>> futures = new ArrayList<>();
+		for (MultipartFile m : attaches) {
+			futures.add(executor.submit(() -> this.attachSave(dir, m)));
+		}
+
+		// 실패한 저장이 있어도 나머지 저장이 모두 끝날 때까지 기다립니다.
+		// (진행 중인 저장을 취소하면 어떤 파일이 남았는지 알 수 없게 됩니다)
+		List<String> names = new ArrayList<>();
+		Exception error = null;
+		for (Future<String> f : futures) {
+			try {
+				names.add(f.get());
+			} catch (ExecutionException e) {
+				if (error == null) {
+					error = e.getCause() instanceof Exception ex ? ex : e;
+				}
+			}
+		}
+
+		if (error != null) {
+			this.fileDeleteAll(dir, names);
+			throw error;
+		}
+
+		AfterCommit.rollback(() -> this.fileDeleteAll(dir, names));
+		return names;
+	}
+
+	// 여러 첨부파일을 삭제합니다. 정리(cleanup) 용도이므로 삭제에 실패해도 예외를 던지지 않고 기록만 남깁니다.
+	private void fileDeleteAll(String dir, List<String> names) {
+		for (String name : names) {
+			try {
+				this.attachDelete(dir, name);
+			} catch (Exception e) {
+				log.warn("저장된 파일을 정리하지 못했습니다: {}/{}", dir, name, e);
+			}
+		}
 	}
 }
\ No newline at end of file
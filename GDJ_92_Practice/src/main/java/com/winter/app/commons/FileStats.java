@@ -0,0 +1,52 @@
+package com.winter.app.commons;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+// 첨부파일 저장 통계를 담아 화면(JSON)으로 전달하기 위한 VO입니다.
+@Setter
+@Getter
+@ToString
+public class FileStats {
+
+	// 저장에 성공한 파일 수와 실패한 파일 수입니다.
+	private long saves;
+	private long failures;
+	// 디스크에 쓴 총 바이트 수입니다.
+	private long bytes;
+	// 저장에 걸린 시간의 합(ns)과 그중 fsync에 걸린 시간의 합(ns)입니다.
+	private long saveNanos;
+	private long fsyncNanos;
+	// 사용 중인 fsync 정책입니다. (NONE, DATA, FULL)
+	private String fsync;
+	// 저장용 버퍼 하나의 크기와, 지금까지 새로 만든 버퍼 수입니다.
+	// 버퍼는 재사용되므로 이 값은 동시 저장 수 이상으로 늘어나지 않습니다.
+	private int bufferSize;
+	private long bufferAllocations;
+	// 이미 저장된 파일과 내용이 같아 새로 저장하지 않은 첨부파일 수와, 그만큼 아낀 디스크 용량(byte)입니다.
+	private long dedupeHits;
+	private long dedupeBytes;
+
+	// 저장용 버퍼가 차지하는 메모리의 최대치(byte)입니다. 업로드 파일 크기와 무관합니다.
+	public long getBufferBytes() {
+		return this.bufferSize * this.bufferAllocations;
+	}
+
+	// 파일 하나를 저장하는 데 걸린 평균 시간(ms)입니다.
+	public double getAvgSaveMillis() {
+		long total = this.saves + this.failures;
+		if (total == 0) {
+			return 0;
+		}
+		return this.saveNanos / 1_000_000.0 / total;
+	}
+
+	// 저장 처리량(MB/s)입니다.
+	public double getThroughput() {
+		if (this.saveNanos == 0) {
+			return 0;
+		}
+		return this.bytes / 1_048_576.0 / (this.saveNanos / 1_000_000_000.0);
+	}
+}
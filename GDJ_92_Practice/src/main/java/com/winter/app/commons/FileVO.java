@@ -13,4 +13,9 @@ public class FileVO {
 	private String oriName;
 	private String saveName;
 
+	// 축소본(썸네일 등)을 만들 수 있는 이미지 파일인지 확인합니다. (JSP에서 ${f.image}로 사용)
+	public boolean isImage() {
+		return ImageVariants.isImage(this.oriName);
+	}
+
 }
@@ -0,0 +1,35 @@
+package com.winter.app.commons;
+
+import java.util.function.Consumer;
+
+// 렌더링된 JSP 화면 일부(HTML 조각)를 캐시에서 찾은 결과입니다. (<app:fragment> 태그, FragmentTag 참고)
+// 캐시에 있으면 태그가 html을 그대로 출력하고, 없으면 태그 안의 JSP를 렌더링한 결과를 save로 캐시에 넣습니다.
+public class Fragment {
+
+	// 캐시에 있던 HTML입니다. 없으면 null입니다.
+	private final String html;
+
+	// 렌더링 결과를 캐시에 넣는 함수입니다. 캐시에 이미 있으면 null입니다.
+	private final Consumer<String> saver;
+
+	public Fragment(String html, Consumer<String> saver) {
+		this.html = html;
+		this.saver = saver;
+	}
+
+	// 캐시에 HTML이 있으면 true입니다. 이 경우 컨트롤러는 목록/상세 조회(DB)를 생략합니다.
+	public boolean isCached() {
+		return html != null;
+	}
+
+	public String getHtml() {
+		return html;
+	}
+
+	// 렌더링된 HTML을 캐시에 넣습니다.
+	public void save(String html) {
+		if (saver != null) {
+			saver.accept(html);
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.winter.app.commons;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import jakarta.servlet.jsp.JspException;
+import jakarta.servlet.jsp.tagext.JspFragment;
+import jakarta.servlet.jsp.tagext.SimpleTagSupport;
+
+// <app:fragment fragment="${fragment}"> ... </app:fragment> 태그의 구현입니다. (/WEB-INF/tld/app.tld)
+// 1) 캐시에 HTML이 있으면 태그 안의 JSP를 실행하지 않고 그 HTML을 그대로 출력합니다.
+// 2) 없으면 태그 안의 JSP를 문자열로 렌더링해서 캐시에 넣고 출력합니다.
+// 3) fragment가 null이면(캐시하지 않는 화면) 태그 안의 JSP를 그대로 출력합니다.
+public class FragmentTag extends SimpleTagSupport {
+
+	private Fragment fragment;
+
+	public void setFragment(Fragment fragment) {
+		this.fragment = fragment;
+	}
+
+	@Override
+	public void doTag() throws JspException, IOException {
+		if (fragment != null && fragment.isCached()) {
+			getJspContext().getOut().write(fragment.getHtml());
+			return;
+		}
+
+		JspFragment body = getJspBody();
+		if (body == null) {
+			return;
+		}
+		if (fragment == null) {
+			body.invoke(null);
+			return;
+		}
+
+		StringWriter writer = new StringWriter();
+		body.invoke(writer);
+		String html = writer.toString();
+		fragment.save(html);
+		getJspContext().getOut().write(html);
+	}
+}
@@ -0,0 +1,61 @@
+package com.winter.app.commons;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+// 본문 이미지의 축소본을 보내는 컨트롤러입니다.
+// size 파라미터가 없는 /files/** 요청은 지금처럼 FileConfig의 정적 리소스 핸들러가 원본을 보내고,
+// size 파라미터가 있는 요청(예: /files/notice/abc_photo.jpg?size=large)만 이 컨트롤러가 처리합니다.
+// (@RequestMapping 핸들러가 정적 리소스 핸들러보다 먼저 검사됩니다)
+@Controller
+public class ImageController {
+
+	@Value("${app.upload}")
+	private String upload;
+
+	@Autowired
+	private ImageVariants imageVariants;
+
+	@Autowired
+	private FileManager fileManager;
+
+	@GetMapping(path = "/files/{board}/{fileName}", params = "size")
+	public ResponseEntity<Resource> variant(@PathVariable String board, @PathVariable String fileName,
+			@RequestParam String size) throws Exception {
+		// 하위 폴더로 옮겨졌는지와 관계없이 FileManager가 실제 위치를 찾아줍니다.
+		File source = fileManager.file(upload + board, fileName);
+		if (board.contains("..") || fileName.contains("..") || !source.isFile()) {
+			return ResponseEntity.notFound().build();
+		}
+
+		// 축소본이 없으면(이미지가 아니거나 원본이 이미 작은 경우 등) 원본을 보냅니다.
+		ImageVariants.Size s = ImageVariants.Size.of(size);
+		File variant = s == null ? null : imageVariants.variant(source, fileName, s);
+		File file = variant == null ? source : variant;
+
+		// 저장 파일명은 UUID로 만들어져 내용이 바뀌지 않으므로 브라우저가 하루 동안 다시 요청하지 않도록 합니다.
+		// ETag / Last-Modified를 넣어 두면 그 뒤의 재요청은 304(Not Modified)로 응답합니다.
+		long lastModified = file.lastModified();
+		String etag = "\"" + Long.toHexString(file.length()) + "-" + Long.toHexString(lastModified) + "\"";
+		return ResponseEntity.ok()
+				.cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePrivate())
+				.eTag(etag)
+				.lastModified(lastModified)
+				.contentType(MediaTypeFactory.getMediaType(file.getName()).orElse(MediaType.APPLICATION_OCTET_STREAM))
+				.contentLength(file.length())
+				.body(new FileSystemResource(file));
+	}
+}
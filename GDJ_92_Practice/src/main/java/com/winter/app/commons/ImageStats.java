@@ -0,0 +1,44 @@
+package com.winter.app.commons;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+// 이미지 축소본(썸네일 등) 통계를 담아 화면(JSON)으로 전달하기 위한 VO입니다.
+@Setter
+@Getter
+@ToString
+public class ImageStats {
+
+	// 디스크에 있는 축소본 수와 전체 용량(byte), 용량 상한(byte)입니다.
+	private int files;
+	private long bytes;
+	private long maxBytes;
+	// 축소본 요청 중 이미 만들어져 있던 횟수와 새로 만들어야 했던 횟수입니다.
+	private long hits;
+	private long misses;
+	// 축소본을 만든 원본 수와 걸린 시간의 합(ns), 만들지 못한 원본 수입니다.
+	private long generated;
+	private long generateNanos;
+	private long failures;
+	// 용량 상한을 넘어 지운 축소본 수입니다.
+	private long evictions;
+
+	// 요청한 축소본이 이미 만들어져 있던 비율(0.0 ~ 1.0)입니다.
+	public double getHitRate() {
+		long total = this.hits + this.misses;
+		if (total == 0) {
+			return 0;
+		}
+		return (double) this.hits / total;
+	}
+
+	// 원본 하나의 축소본을 만드는 데 걸린 평균 시간(ms)입니다.
+	public double getAvgGenerateMillis() {
+		long total = this.generated + this.failures;
+		if (total == 0) {
+			return 0;
+		}
+		return this.generateNanos / 1_000_000.0 / total;
+	}
+}
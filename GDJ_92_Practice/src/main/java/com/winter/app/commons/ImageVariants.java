@@ -0,0 +1,440 @@
+package com.winter.app.commons;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// 업로드된 이미지의 축소본(썸네일 등)을 만들어 디스크에 보관하는 컴포넌트입니다.
+// 휴대폰 사진처럼 수 MB짜리 원본을 목록/상세 화면에 그대로 보내면 전송량이 크므로,
+// 업로드 직후 백그라운드에서 정해진 크기(Size)의 축소본을 만들어 두고 size 파라미터로 요청하면 축소본을 보냅니다.
+//
+// 저장 위치: {app.upload}variants/{크기}/{FileManager.shard(원본 파일명)}/{원본 파일명}.{jpg|png}
+// 원본 파일명(UUID 또는 해시)만으로 위치가 정해지므로, 원본이 다른 폴더로 옮겨져도 축소본을 그대로 사용할 수 있습니다.
+// 축소본 전체 용량은 app.image.cache-max-bytes 로 제한하며, 넘으면 가장 오랫동안 요청되지 않은 축소본부터 지웁니다. (LRU)
+// 지워진 축소본은 다시 요청될 때 원본에서 새로 만듭니다.
+@Component
+@Slf4j
+public class ImageVariants {
+
+	// 축소본의 종류와 긴 변의 최대 길이(px)입니다. 요청 파라미터로는 소문자 이름(thumb, medium, large)을 사용합니다.
+	public enum Size {
+		THUMB(200), MEDIUM(800), LARGE(1600);
+
+		private final int max;
+
+		Size(int max) {
+			this.max = max;
+		}
+
+		public int getMax() {
+			return max;
+		}
+
+		// 요청 파라미터로 크기를 찾습니다. 없는 이름이면 null을 반환합니다.
+		public static Size of(String name) {
+			if (name == null) {
+				return null;
+			}
+			for (Size size : values()) {
+				if (size.name().equalsIgnoreCase(name)) {
+					return size;
+				}
+			}
+			return null;
+		}
+	}
+
+	// 축소본을 만들 수 있는 이미지 확장자입니다. (JDK의 ImageIO가 읽을 수 있는 형식)
+	private static final Set<String> EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+
+	// 축소본 저장 형식입니다. 투명한 부분이 있는 이미지는 png, 나머지는 jpg로 저장합니다.
+	private static final List<String> FORMATS = List.of("jpg", "png");
+
+	private final Path root;
+
+	// 축소본 전체 용량의 상한(byte)입니다.
+	private final long maxBytes;
+
+	// 이보다 픽셀 수가 많은 이미지는 축소본을 만들지 않고 원본을 보냅니다. (압축 폭탄 이미지로 메모리가 부족해지는 것을 막습니다)
+	private final long maxPixels;
+
+	// jpg 축소본의 압축 품질(0.0 ~ 1.0)입니다.
+	private final float quality;
+
+	// 축소본 생성은 가상 스레드에서 하고, 동시에 진행되는 수는 허가(permit) 수로 제한합니다.
+	// 이미지 디코딩은 CPU와 메모리를 많이 쓰므로 업로드가 몰려도 서버 전체가 느려지지 않게 합니다.
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Semaphore permits;
+
+	// 같은 원본의 축소본을 여러 요청이 동시에 만들지 않도록, 진행 중인 작업을 원본 경로별로 보관합니다.
+	private final Map<String, Future<Map<Size, Path>>> inflight = new ConcurrentHashMap<>();
+
+	// 원본마다 축소본을 만들지 않는 크기입니다. 키: 원본 경로|수정 시각
+	// 원본이 그 크기보다 작거나, 너무 크거나, ImageIO가 읽을 수 없는 형식이면 축소본 파일이 생기지 않으므로, 기억해 두지 않으면
+	// 요청할 때마다 원본을 다시 디코딩하고 다른 크기의 축소본을 다시 쓰게 됩니다. 원본을 바꾸면 수정 시각이 달라져 다시 확인합니다.
+	private final CacheStore<String, Set<Size>> unneeded;
+
+	// 디스크에 있는 축소본 파일과 크기입니다. accessOrder=true 이므로 맨 앞이 가장 오랫동안 요청되지 않은 파일입니다.
+	private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long totalBytes;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder generated = new LongAdder();
+	private final LongAdder generateNanos = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+
+	public ImageVariants(@Value("${app.upload}") String upload,
+			@Value("${app.image.cache-max-bytes}") long maxBytes,
+			@Value("${app.image.concurrency}") int concurrency,
+			@Value("${app.image.max-pixels}") long maxPixels,
+			@Value("${app.image.quality}") float quality,
+			@Value("${app.image.known-size}") int knownSize) {
+		this.root = Path.of(upload, "variants");
+		this.maxBytes = maxBytes;
+		this.permits = new Semaphore(concurrency);
+		this.maxPixels = maxPixels;
+		this.quality = quality;
+		this.unneeded = new CacheStore<>("image-no-variant", knownSize);
+	}
+
+	// 시작할 때 디스크에 남아 있는 축소본을 읽어 LRU 목록을 만듭니다.
+	// 요청 기록은 남아 있지 않으므로 수정 시각이 오래된 파일을 먼저 지워지도록 앞에 둡니다.
+	@PostConstruct
+	public void load() throws Exception {
+		if (!Files.isDirectory(root)) {
+			return;
+		}
+		List<Path> files;
+		try (Stream<Path> stream = Files.walk(root)) {
+			files = new ArrayList<>(stream.filter(Files::isRegularFile).toList());
+		}
+		files.sort(Comparator.comparingLong(p -> p.toFile().lastModified()));
+		for (Path path : files) {
+			if (path.startsWith(root.resolve("tmp"))) {
+				// 만드는 도중에 서버가 종료되어 남은 임시 파일입니다.
+				Files.deleteIfExists(path);
+				continue;
+			}
+			this.add(path, Files.size(path));
+		}
+		log.info("이미지 축소본 {}개를 불러왔습니다. ({} bytes)", entries.size(), totalBytes);
+	}
+
+	@PreDestroy
+	public void close() {
+		executor.shutdown();
+	}
+
+	// 파일명(원본 파일명)의 확장자로 축소본을 만들 수 있는 이미지인지 확인합니다.
+	public static boolean isImage(String name) {
+		if (name == null) {
+			return false;
+		}
+		int dot = name.lastIndexOf('.');
+		return dot >= 0 && EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+	}
+
+	// 업로드 직후 호출합니다. 모든 크기의 축소본을 백그라운드에서 미리 만들어 둡니다.
+	// name은 확장자를 확인할 파일명입니다. (중복 제거 저장소의 파일은 저장 파일명에 확장자가 없으므로 원본 파일명을 넘깁니다)
+	public void generateAsync(File source, String name) {
+		if (isImage(name)) {
+			this.submit(source);
+		}
+	}
+
+	// 원본의 size 크기 축소본 파일을 반환합니다. 아직 없으면 만들어서 반환합니다.
+	// 이미지가 아니거나, 원본이 이미 그 크기보다 작거나, 만들지 못했다면 null을 반환합니다. (원본을 보내면 됩니다)
+	public File variant(File source, String name, Size size) throws Exception {
+		if (!isImage(name) || !source.isFile()) {
+			return null;
+		}
+		for (String format : FORMATS) {
+			Path path = this.path(source, size, format);
+			if (this.touch(path)) {
+				hits.increment();
+				return path.toFile();
+			}
+		}
+
+		// 이미 확인해서 이 크기의 축소본이 필요 없는 원본이면 디코딩하지 않고 원본을 보냅니다.
+		Set<Size> skipped = unneeded.get(this.key(source));
+		if (skipped != null && skipped.contains(size)) {
+			hits.increment();
+			return null;
+		}
+
+		misses.increment();
+		try {
+			Path path = this.submit(source).get().get(size);
+			return path == null ? null : path.toFile();
+		} catch (ExecutionException e) {
+			return null;
+		}
+	}
+
+	// 원본이 삭제될 때 호출합니다. 원본의 모든 축소본을 지웁니다.
+	public void remove(File source) {
+		String prefix = source.getPath() + "|";
+		unneeded.removeIf((k, v) -> k.startsWith(prefix));
+		for (Size size : Size.values()) {
+			for (String format : FORMATS) {
+				Path path = this.path(source, size, format);
+				synchronized (this) {
+					Long length = entries.remove(path);
+					if (length == null) {
+						continue;
+					}
+					totalBytes -= length;
+				}
+				try {
+					Files.deleteIfExists(path);
+				} catch (Exception e) {
+					log.warn("이미지 축소본을 삭제하지 못했습니다: {}", path, e);
+				}
+			}
+		}
+	}
+
+	// 축소본 통계를 반환합니다.
+	public ImageStats stats() {
+		ImageStats stats = new ImageStats();
+		synchronized (this) {
+			stats.setFiles(entries.size());
+			stats.setBytes(totalBytes);
+		}
+		stats.setMaxBytes(maxBytes);
+		stats.setHits(hits.sum());
+		stats.setMisses(misses.sum());
+		stats.setGenerated(generated.sum());
+		stats.setGenerateNanos(generateNanos.sum());
+		stats.setEvictions(evictions.sum());
+		stats.setFailures(failures.sum());
+		return stats;
+	}
+
+	// 원본 하나의 축소본 생성 작업을 시작합니다. 이미 진행 중이면 그 작업을 함께 기다립니다.
+	private Future<Map<Size, Path>> submit(File source) {
+		String key = source.getPath();
+		FutureTask<Map<Size, Path>> task = new FutureTask<>(() -> {
+			String known = this.key(source);
+			Map<Size, Path> made = this.generate(source);
+			// 만들지 않은 크기를 기억해 둡니다. 다음 요청부터는 그 크기를 요청해도 원본을 다시 읽지 않습니다.
+			// 원본이 그 크기보다 작거나 읽을 수 없는 형식인 경우만 여기에 옵니다. (만드는 중 오류가 나면 generate가 예외를 던집니다)
+			Set<Size> skipped = EnumSet.allOf(Size.class);
+			skipped.removeAll(made.keySet());
+			if (!skipped.isEmpty()) {
+				unneeded.put(known, skipped);
+			}
+			return made;
+		});
+		Future<Map<Size, Path>> running = inflight.putIfAbsent(key, task);
+		if (running != null) {
+			return running;
+		}
+		executor.execute(() -> {
+			try {
+				task.run();
+			} finally {
+				inflight.remove(key, task);
+			}
+		});
+		return task;
+	}
+
+	// 원본을 한 번만 읽어서 필요한 모든 크기의 축소본을 만듭니다.
+	// 1) 헤더만 읽어 가로/세로 크기를 확인하고, 원본보다 작은 크기의 축소본만 만듭니다.
+	// 2) 원본이 가장 큰 축소본의 2배보다 크면 픽셀을 건너뛰며 읽어(subsampling) 디코딩 시간과 메모리를 줄입니다.
+	// 3) 큰 축소본부터 만들고, 작은 축소본은 바로 앞에서 만든 축소본을 다시 줄여서 만듭니다.
+	private Map<Size, Path> generate(File source) throws Exception {
+		permits.acquire();
+		long start = System.nanoTime();
+		try (ImageInputStream in = ImageIO.createImageInputStream(source)) {
+			Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+			if (readers == null || !readers.hasNext()) {
+				return Map.of();
+			}
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(in, true, true);
+				int width = reader.getWidth(0);
+				int height = reader.getHeight(0);
+				if ((long) width * height > maxPixels) {
+					log.info("이미지가 너무 커서 축소본을 만들지 않습니다: {} ({}x{})", source, width, height);
+					return Map.of();
+				}
+
+				int longest = Math.max(width, height);
+				List<Size> sizes = new ArrayList<>();
+				for (Size size : Size.values()) {
+					if (size.getMax() < longest) {
+						sizes.add(size);
+					}
+				}
+				if (sizes.isEmpty()) {
+					return Map.of();
+				}
+				sizes.sort(Comparator.comparingInt(Size::getMax).reversed());
+
+				ImageReadParam param = reader.getDefaultReadParam();
+				int step = Math.max(1, longest / (sizes.get(0).getMax() * 2));
+				param.setSourceSubsampling(step, step, 0, 0);
+				BufferedImage image = reader.read(0, param);
+
+				Map<Size, Path> made = new EnumMap<>(Size.class);
+				for (Size size : sizes) {
+					image = scale(image, size.getMax());
+					made.put(size, this.write(source, size, image));
+				}
+				generated.increment();
+				return made;
+			} finally {
+				reader.dispose();
+			}
+		} catch (Exception e) {
+			// 읽기/쓰기 오류는 일시적일 수 있으므로 '축소본이 필요 없는 원본'으로 기억하지 않고 예외를 그대로 던집니다.
+			// (submit은 결과를 기록하지 않고, variant는 원본을 보내며, 다음 요청에서 다시 만들어 봅니다)
+			failures.increment();
+			log.warn("이미지 축소본을 만들지 못했습니다: {}", source, e);
+			throw e;
+		} finally {
+			generateNanos.add(System.nanoTime() - start);
+			permits.release();
+		}
+	}
+
+	// 긴 변이 max가 되도록 줄입니다.
+	// 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 줄여 나가다가 마지막에 목표 크기로 맞춥니다.
+	private static BufferedImage scale(BufferedImage source, int max) {
+		int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+		int width = source.getWidth();
+		int height = source.getHeight();
+		double ratio = (double) max / Math.max(width, height);
+		int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+		int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+		BufferedImage current = source;
+		do {
+			width = Math.max(targetWidth, width / 2);
+			height = Math.max(targetHeight, height / 2);
+			BufferedImage next = new BufferedImage(width, height, type);
+			Graphics2D g = next.createGraphics();
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g.drawImage(current, 0, 0, width, height, null);
+			g.dispose();
+			current = next;
+		} while (width != targetWidth || height != targetHeight);
+		return current;
+	}
+
+	// 축소본을 임시 파일에 쓴 뒤 제자리로 옮깁니다. 요청하는 쪽에서 다 쓰이지 않은 파일을 읽는 일이 없습니다.
+	private Path write(File source, Size size, BufferedImage image) throws Exception {
+		String format = image.getColorModel().hasAlpha() ? "png" : "jpg";
+		Path target = this.path(source, size, format);
+		Path temp = Files.createTempFile(Files.createDirectories(root.resolve("tmp")), "variant-", ".tmp");
+		try {
+			ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+			try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+				writer.setOutput(out);
+				ImageWriteParam param = writer.getDefaultWriteParam();
+				if (format.equals("jpg")) {
+					param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+					param.setCompressionQuality(quality);
+				}
+				writer.write(null, new IIOImage(image, null, null), param);
+			} finally {
+				writer.dispose();
+			}
+			Files.createDirectories(target.getParent());
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+		this.add(target, Files.size(target));
+		return target;
+	}
+
+	// 축소본이 필요 없는 크기를 기억할 때의 키입니다. 원본이 바뀌면(수정 시각) 다른 키가 됩니다.
+	private String key(File source) {
+		return source.getPath() + "|" + source.lastModified();
+	}
+
+	private Path path(File source, Size size, String format) {
+		return root.resolve(size.name().toLowerCase(Locale.ROOT))
+				.resolve(FileManager.shard(source.getName()))
+				.resolve(source.getName() + "." + format);
+	}
+
+	// LRU 목록에 있으면 가장 최근에 사용한 것으로 표시하고 true를 반환합니다.
+	private synchronized boolean touch(Path path) {
+		return entries.get(path) != null;
+	}
+
+	// LRU 목록에 추가하고, 전체 용량이 상한을 넘으면 오래된 축소본부터 지웁니다.
+	private void add(Path path, long length) {
+		List<Path> evicted = new ArrayList<>();
+		synchronized (this) {
+			Long old = entries.put(path, length);
+			totalBytes += length - (old == null ? 0 : old);
+			Iterator<Map.Entry<Path, Long>> it = entries.entrySet().iterator();
+			while (totalBytes > maxBytes && entries.size() > 1 && it.hasNext()) {
+				Map.Entry<Path, Long> eldest = it.next();
+				if (eldest.getKey().equals(path)) {
+					continue;
+				}
+				totalBytes -= eldest.getValue();
+				evicted.add(eldest.getKey());
+				it.remove();
+			}
+		}
+		for (Path p : evicted) {
+			evictions.increment();
+			try {
+				Files.deleteIfExists(p);
+			} catch (Exception e) {
+				log.warn("이미지 축소본을 삭제하지 못했습니다: {}", p, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,310 @@
+package com.winter.app.commons;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import com.winter.app.board.BoardDAO;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 업로드 폴더({app.upload})에서 아무도 쓰지 않는 파일(orphan)을 찾아 지우는 백그라운드 정리 작업입니다.
+// 이런 파일이 생기는 경우는 다음과 같습니다.
+// 1) 에디터로 본문 이미지를 올린 뒤 글을 저장하지 않은 경우 (본문 이미지는 DB 행이 없습니다)
+// 2) 글을 수정하면서 본문에서 이미지를 지운 경우
+// 3) blob 파일을 배치한 뒤 참조 수를 기록하기 전에 서버가 죽은 경우, 업로드 도중 남은 임시 파일
+//
+// 폴더 전체를 한 번에 훑지 않고, app.reconcile.interval 마다 파일명 순서로 app.reconcile.batch-size 개씩만 확인합니다.
+// 어디까지 확인했는지(폴더 순서, 마지막 파일명)를 기억해 두었다가 다음 주기에 이어서 진행하므로
+// 파일이 아주 많아도 한 번의 작업이 DB와 디스크에 주는 부담은 일정합니다.
+// 방금 올라온 파일은 아직 글에 연결되기 전일 수 있으므로 app.reconcile.grace 보다 오래된 파일만 지웁니다.
+@Component
+@Slf4j
+public class OrphanReconciler {
+
+	@Value("${app.upload}")
+	private String upload;
+
+	// 한 주기에 확인할 최대 파일 수입니다.
+	@Value("${app.reconcile.batch-size}")
+	private int batchSize;
+
+	// 수정된 지 이 시간(ms)이 지나지 않은 파일은 지우지 않습니다.
+	@Value("${app.reconcile.grace}")
+	private long grace;
+
+	@Autowired
+	private BlobStore blobStore;
+
+	@Autowired
+	private ImageVariants imageVariants;
+
+	// 게시판 이름별 첨부파일/본문을 조회할 DAO입니다. 폴더를 항상 같은 순서로 돌도록 이름순으로 보관합니다.
+	private final Map<String, BoardDAO> daos = new TreeMap<>();
+
+	// 이번 한 바퀴(pass)에서 확인할 폴더 목록과 진행 위치입니다.
+	private List<Target> targets = new ArrayList<>();
+	private int targetIndex;
+	private String lastName;
+
+	// 지금 확인 중인 게시판의 본문에 들어 있는 이미지 파일명입니다.
+	// 파일마다 본문을 LIKE로 조회(전체 스캔)하지 않도록, 게시판 폴더에 처음 들어갈 때 본문을 한 번만 읽어 모아 둡니다.
+	// 폴더는 게시판 이름순으로 돌기 때문에 한 번에 한 게시판의 목록만 보관합니다.
+	private String referencedBoard;
+	private Set<String> referenced;
+	private long referencedAt;
+
+	// 본문의 이미지 주소(예: /files/notice/파일명?size=large)에서 파일명 부분을 찾습니다.
+	// 예전 QnA 글의 본문에는 /fileDown/qna/파일명 형태로 저장되어 있으므로 이 주소도 함께 찾습니다.
+	private static final Pattern FILE_URL = Pattern.compile("/(?:files|fileDown)/([^/\"'?#\\s<>]+)/([^/\"'?#\\s<>]+)");
+
+	// 이번 한 바퀴의 통계입니다. 한 바퀴를 마칠 때 로그로 남깁니다.
+	private long scanned;
+	private long reclaimed;
+	private long reclaimedBytes;
+
+	// 확인할 폴더의 종류입니다.
+	// BOARD : 게시판 폴더 (예전 방식 첨부파일 + 본문 이미지)
+	// BLOB  : 중복 제거 저장소 폴더
+	// TMP   : 업로드 도중의 임시 파일 폴더
+	private enum Kind {
+		BOARD, BLOB, TMP
+	}
+
+	private record Target(Kind kind, String board, Path dir) {
+	}
+
+	// 게시판 폴더를 정리 대상으로 등록합니다. (각 서비스가 시작될 때 호출)
+	public synchronized void register(String board, BoardDAO boardDAO) {
+		daos.put(board, boardDAO);
+	}
+
+	@Scheduled(fixedDelayString = "${app.reconcile.interval}", initialDelayString = "${app.reconcile.interval}")
+	public synchronized void reconcile() {
+		if (targetIndex >= targets.size()) {
+			this.startPass();
+		}
+
+		int remaining = batchSize;
+		while (remaining > 0 && targetIndex < targets.size()) {
+			Target target = targets.get(targetIndex);
+			List<Path> batch;
+			try {
+				batch = this.nextBatch(target.dir(), remaining);
+			} catch (IOException e) {
+				log.warn("정리 작업 중 폴더를 읽지 못했습니다: {}", target.dir(), e);
+				batch = List.of();
+			}
+
+			if (batch.isEmpty()) {
+				// 이 폴더는 끝까지 확인했으므로 다음 폴더로 넘어갑니다.
+				targetIndex++;
+				lastName = null;
+				continue;
+			}
+
+			lastName = batch.get(batch.size() - 1).getFileName().toString();
+			remaining -= batch.size();
+			scanned += batch.size();
+			try {
+				this.reclaim(target, batch);
+			} catch (Exception e) {
+				log.warn("정리 작업 중 오류가 발생했습니다. 다음 주기에 다시 확인합니다: {}", target.dir(), e);
+				return;
+			}
+		}
+
+		if (targetIndex >= targets.size()) {
+			log.info("업로드 폴더 정리 완료: 확인 {}개, 삭제 {}개 ({} bytes)", scanned, reclaimed, reclaimedBytes);
+		}
+	}
+
+	// 한 바퀴를 새로 시작합니다. 그 사이 생긴 blob 하위 폴더도 포함되도록 폴더 목록을 다시 만듭니다.
+	private void startPass() {
+		targets = new ArrayList<>();
+		for (String board : daos.keySet()) {
+			// 게시판 폴더 바로 아래(아직 옮기지 않은 예전 파일)와 두 단계 하위 폴더(FileManager.shard)를 모두 확인합니다.
+			Path dir = Path.of(upload + board);
+			targets.add(new Target(Kind.BOARD, board, dir));
+			for (Path first : this.shardDirs(dir)) {
+				for (Path second : this.shardDirs(first)) {
+					targets.add(new Target(Kind.BOARD, board, second));
+				}
+			}
+		}
+		Path root = blobStore.root();
+		if (Files.isDirectory(root)) {
+			try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root, Files::isDirectory)) {
+				List<Path> list = new ArrayList<>();
+				dirs.forEach(list::add);
+				list.sort(Comparator.naturalOrder());
+				for (Path dir : list) {
+					Kind kind = dir.getFileName().toString().equals("tmp") ? Kind.TMP : Kind.BLOB;
+					targets.add(new Target(kind, null, dir));
+				}
+			} catch (IOException e) {
+				log.warn("blob 폴더 목록을 읽지 못했습니다: {}", root, e);
+			}
+		}
+		targetIndex = 0;
+		lastName = null;
+		referencedBoard = null;
+		referenced = null;
+		scanned = 0;
+		reclaimed = 0;
+		reclaimedBytes = 0;
+	}
+
+	// 하위 폴더 중 FileManager.shard가 만든 폴더(16진수 2글자)만 이름순으로 반환합니다.
+	private List<Path> shardDirs(Path dir) {
+		List<Path> list = new ArrayList<>();
+		if (!Files.isDirectory(dir)) {
+			return list;
+		}
+		try (DirectoryStream<Path> dirs = Files.newDirectoryStream(dir,
+				p -> Files.isDirectory(p) && p.getFileName().toString().matches("[0-9a-f]{2}"))) {
+			dirs.forEach(list::add);
+		} catch (IOException e) {
+			log.warn("하위 폴더 목록을 읽지 못했습니다: {}", dir, e);
+		}
+		list.sort(Comparator.naturalOrder());
+		return list;
+	}
+
+	// 폴더에서 lastName 다음 파일부터 이름순으로 최대 limit개를 가져옵니다.
+	// 폴더 전체를 정렬하지 않고 크기가 limit인 힙으로 가장 앞선 이름들만 남기므로 메모리 사용량이 일정합니다.
+	private List<Path> nextBatch(Path dir, int limit) throws IOException {
+		if (!Files.isDirectory(dir)) {
+			return List.of();
+		}
+		String after = lastName;
+		PriorityQueue<Path> heap = new PriorityQueue<>(Comparator.reverseOrder());
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir,
+				p -> after == null || p.getFileName().toString().compareTo(after) > 0)) {
+			for (Path path : stream) {
+				heap.add(path);
+				if (heap.size() > limit) {
+					heap.poll();
+				}
+			}
+		}
+		List<Path> batch = new ArrayList<>(heap);
+		batch.sort(Comparator.naturalOrder());
+		return batch;
+	}
+
+	private void reclaim(Target target, List<Path> batch) throws Exception {
+		long limit = System.currentTimeMillis() - grace;
+		List<Path> old = new ArrayList<>();
+		for (Path path : batch) {
+			if (Files.isRegularFile(path) && Files.getLastModifiedTime(path).toMillis() < limit) {
+				old.add(path);
+			}
+		}
+		if (old.isEmpty()) {
+			return;
+		}
+
+		switch (target.kind()) {
+		case BOARD -> this.reclaimBoard(target.board(), old);
+		case BLOB -> {
+			for (Path path : old) {
+				String hash = path.getFileName().toString();
+				long size = Files.size(path);
+				if (BlobStore.isBlob(hash) && blobStore.deleteIfUnreferenced(hash)) {
+					this.count(path, size);
+				}
+			}
+		}
+		case TMP -> {
+			for (Path path : old) {
+				long size = Files.size(path);
+				if (Files.deleteIfExists(path)) {
+					this.count(path, size);
+				}
+			}
+		}
+		}
+	}
+
+	// 게시판 폴더의 파일은 첨부파일 행(SAVE_NAME)과 본문(BOARD_CONTENTS)의 이미지 주소 중 어디에도 없을 때만 지웁니다.
+	// 첨부파일 행은 IN 조회 한 번으로 확인하고, 본문은 이번 바퀴에 모아 둔 파일명 목록(referenced)으로 확인합니다.
+	private void reclaimBoard(String board, List<Path> old) throws Exception {
+		BoardDAO boardDAO = daos.get(board);
+		Set<String> inContents = this.referenced(board, boardDAO);
+		// 본문을 읽은 뒤에 저장된 글이 참조하는 파일일 수 있으므로, 본문을 읽은 시각보다 grace 이상 앞선 파일만 지웁니다.
+		long limit = referencedAt - grace;
+
+		List<String> names = new ArrayList<>();
+		for (Path path : old) {
+			names.add(path.getFileName().toString());
+		}
+		Set<String> used = new HashSet<>(boardDAO.fileNameList(names));
+
+		for (Path path : old) {
+			String name = path.getFileName().toString();
+			if (used.contains(name) || inContents.contains(name) || Files.getLastModifiedTime(path).toMillis() >= limit) {
+				continue;
+			}
+			imageVariants.remove(path.toFile());
+			long size = Files.size(path);
+			if (Files.deleteIfExists(path)) {
+				this.count(path, size);
+			}
+		}
+	}
+
+	// 게시판 본문에 들어 있는 이미지 파일명을 반환합니다. 이번 바퀴에 처음 확인하는 게시판이면 본문을 한 번 읽어 모읍니다.
+	private Set<String> referenced(String board, BoardDAO boardDAO) throws Exception {
+		if (board.equals(referencedBoard)) {
+			return referenced;
+		}
+		long start = System.currentTimeMillis();
+		Set<String> names = new HashSet<>();
+		boardDAO.contentsList(context -> {
+			String contents = context.getResultObject();
+			if (contents == null) {
+				return;
+			}
+			Matcher matcher = FILE_URL.matcher(contents);
+			while (matcher.find()) {
+				if (!matcher.group(1).equals(board)) {
+					continue;
+				}
+				// 한글 파일명은 주소에 인코딩된 형태로 들어 있을 수 있으므로 두 형태를 모두 보관합니다.
+				String name = matcher.group(2);
+				names.add(name);
+				names.add(UriUtils.decode(name, StandardCharsets.UTF_8));
+			}
+		});
+		referencedBoard = board;
+		referenced = names;
+		referencedAt = start;
+		log.debug("{} 본문 이미지 {}개를 확인했습니다. ({}ms)", board, names.size(), System.currentTimeMillis() - start);
+		return names;
+	}
+
+	private void count(Path path, long size) {
+		reclaimed++;
+		reclaimedBytes += size;
+		log.debug("사용하지 않는 파일을 삭제했습니다: {}", path);
+	}
+}
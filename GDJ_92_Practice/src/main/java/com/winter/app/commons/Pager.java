@@ -1,5 +1,7 @@
 package com.winter.app.commons;
 
+import java.util.List;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -29,6 +31,12 @@ public class Pager {
 	// 사용자가 입력한 검색어입니다.
 	private String keyword;
 
+	// 검색 색인(BoardSearchIndex)으로 찾은 후보 게시글 번호 목록입니다.
+	// 값이 있으면 Mapper는 테이블 전체를 LIKE로 훑지 않고 이 번호들만 PK로 읽어서 확인합니다.
+	// null이면 검색어가 없거나 색인을 사용할 수 없는 경우이므로 기존처럼 LIKE 검색만 수행합니다.
+	// 서비스가 채우는 값이므로 요청 파라미터로는 받지 않습니다. (PagerBinding 참고)
+	private List<Long> boardNums;
+
 	// --- 계산을 통해 만들어져서 View(JSP)로 전달되는 변수들 ---
 
 	// 전체 페이지의 총 개수입니다.
@@ -43,8 +51,39 @@ public class Pager {
 	// 예: 현재 페이지가 7일 때, 블럭당 5개씩 보여준다면 끝 번호는 10이 됩니다.
 	private Long endNum;
 
-	// 내부적으로 startIndex 값을 계산하는 메서드입니다.
-	private void makePage() {
+	// --- 커서(Seek) 방식 페이징에서 사용하는 변수들 ---
+
+	// 이전 화면에서 마지막으로 본 게시글 번호입니다. (NOTICE)
+	// 값이 있으면 LIMIT offset 대신 "BOARD_NUM < lastNum" 조건으로 다음 페이지를 바로 찾아갑니다.
+	// 버려지는 앞쪽 행을 읽지 않으므로 몇 번째 페이지든 1페이지와 같은 비용으로 조회됩니다.
+	private Long lastNum;
+
+	// 이전 화면에서 마지막으로 본 글의 정렬 경로(BOARD_PATH)입니다. (QNA)
+	// QnA는 BOARD_PATH 오름차순 하나로 정렬되므로 "BOARD_PATH > lastPath" 조건으로 다음 페이지를 찾습니다.
+	private String lastPath;
+
+	// 현재 페이지의 마지막 행으로 만든 '다음 페이지' 커서 값입니다.
+	// 서비스 계층에서 채워주며, JSP는 이 값으로 다음 목록 링크를 만듭니다.
+	private Long nextNum;
+	private String nextPath;
+
+	// --- 전체 개수(COUNT) 없이 조회하는 모드에서 사용하는 변수들 (BoardPaging 참고) ---
+
+	// true이면 정확한 전체 개수 대신 perPage + 1개를 읽어 다음 페이지가 있는지만 확인한 경우입니다.
+	// 이때 totalPage는 '최소한 이만큼은 있다'는 값(또는 테이블 통계로 추정한 값)이므로 화면에서 정확한 개수로 쓰면 안 됩니다.
+	private boolean lookahead;
+
+	// lookahead 모드에서 현재 페이지 뒤에 글이 더 있는지 여부입니다.
+	private boolean hasNext;
+
+	// 다음 페이지가 있는지 확인하기 위해 한 행을 더 읽을 때 사용하는 LIMIT 값입니다. (perPage + 1)
+	public Long getPerPageNext() {
+		return this.getPerPage() + 1;
+	}
+
+	// startIndex 값을 계산하는 메서드입니다.
+	// makeNum()이 마지막에 호출하며, 목록과 전체 개수를 함께 조회(listCount)할 때는 개수를 알기 전에 먼저 호출합니다.
+	public void makePage() {
 		// SQL의 LIMIT 구문에 사용할 값을 계산합니다.
 		// 공식 : 시작 인덱스 = (요청 페이지 번호 - 1) * 페이지당 보여줄 개수
 		this.startIndex = (this.getPageNum() - 1) * this.getPerPage();
@@ -95,6 +134,12 @@ public class Pager {
 		this.makePage();
 	}
 
+	// 커서 값이 전달되었는지 확인합니다.
+	// true이면 커서(Seek) 방식, false이면 기존 OFFSET 방식(번호 블럭 이동)으로 조회합니다.
+	public boolean isSeek() {
+		return this.lastNum != null || this.lastPath != null;
+	}
+
 	// --- Getter 재정의(Override) : 안정적인 값 반환을 위함 ---
 
 	// 검색어가 null일 경우, MyBatis에서 에러가 발생할 수 있으므로 빈 문자열("")을 반환하도록 합니다.
@@ -0,0 +1,142 @@
+package com.winter.app.commons;
+
+import java.io.File;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 게시판 폴더 바로 아래에 쌓여 있던 예전 파일들을 하위 폴더(FileManager.shard)로 옮기는 작업입니다.
+// 서버를 멈추지 않고 app.file.shard.interval 마다 app.file.shard.batch-size 개씩 옮깁니다.
+//
+// 파일을 읽는 쪽(FileManager.file, ShardResourceResolver)은 새 위치를 먼저 찾고 없으면 예전 위치를 찾으므로
+// 옮기기 전/중/후 언제든 같은 파일을 찾을 수 있습니다. 옮기는 순간에 예전 위치를 찾아 열려던 요청이 실패하지 않도록
+// 1) 먼저 새 위치에 하드 링크를 만들어 두 경로가 같은 파일을 가리키게 하고
+// 2) 다음 주기에 예전 경로를 지웁니다. (그 사이 예전 경로를 찾은 요청은 이미 파일을 열었습니다)
+// 하드 링크를 지원하지 않는 파일 시스템에서는 이름 바꾸기(atomic move)로 바로 옮깁니다.
+@Component
+@Slf4j
+public class ShardMigrator {
+
+	// 한 주기에 옮길 최대 파일 수입니다.
+	@Value("${app.file.shard.batch-size}")
+	private int batchSize;
+
+	// 옮길 게시판 폴더 목록입니다. (각 서비스가 시작될 때 등록)
+	private final List<String> dirs = new CopyOnWriteArrayList<>();
+
+	// 새 위치에 링크를 만들었고, 다음 주기에 지울 예전 경로입니다.
+	private List<Path> unlink = new ArrayList<>();
+
+	// 옮기지 못한 파일입니다. 같은 파일을 매 주기 다시 시도하느라 다른 파일이 밀리지 않도록 이번 실행 동안은 건너뜁니다.
+	private final Set<Path> failed = new HashSet<>();
+
+	// 옮기기를 마친 폴더입니다. 다시 목록을 읽지 않습니다.
+	private final Set<String> done = new HashSet<>();
+
+	private long moved;
+
+	// 게시판 폴더를 옮길 대상으로 등록합니다.
+	public void register(String dir) {
+		dirs.add(dir);
+	}
+
+	@Scheduled(fixedDelayString = "${app.file.shard.interval}")
+	public synchronized void migrate() {
+		// 지난 주기에 링크를 만든 예전 경로를 지웁니다.
+		for (Path path : unlink) {
+			try {
+				Files.deleteIfExists(path);
+			} catch (Exception e) {
+				log.warn("옮긴 파일의 예전 경로를 지우지 못했습니다: {}", path, e);
+			}
+		}
+		unlink = new ArrayList<>();
+
+		int remaining = batchSize;
+		for (String dir : dirs) {
+			if (remaining <= 0) {
+				break;
+			}
+			if (done.contains(dir)) {
+				continue;
+			}
+			try {
+				List<Path> batch = this.nextBatch(Path.of(dir), remaining);
+				if (batch.isEmpty()) {
+					done.add(dir);
+					log.info("하위 폴더로 옮기기 완료: {} (지금까지 {}개)", dir, moved);
+					continue;
+				}
+				for (Path path : batch) {
+					remaining--;
+					this.move(dir, path);
+				}
+			} catch (Exception e) {
+				log.warn("하위 폴더로 옮기는 중 오류가 발생했습니다. 다음 주기에 다시 시도합니다: {}", dir, e);
+			}
+		}
+	}
+
+	// 폴더 바로 아래에 있는 파일을 최대 limit개 가져옵니다. (하위 폴더와 실패한 파일은 제외)
+	private List<Path> nextBatch(Path dir, int limit) throws Exception {
+		List<Path> batch = new ArrayList<>();
+		if (!Files.isDirectory(dir)) {
+			return batch;
+		}
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir,
+				p -> Files.isRegularFile(p) && !failed.contains(p))) {
+			for (Path path : stream) {
+				batch.add(path);
+				if (batch.size() >= limit) {
+					break;
+				}
+			}
+		}
+		return batch;
+	}
+
+	private void move(String dir, Path source) {
+		String fileName = source.getFileName().toString();
+		Path target = FileManager.shardFile(dir, fileName).toPath();
+		try {
+			Files.createDirectories(target.getParent());
+			try {
+				Files.createLink(target, source);
+				unlink.add(source);
+			} catch (UnsupportedOperationException e) {
+				Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+			}
+			moved++;
+		} catch (NoSuchFileException e) {
+			// 옮기기 전에 삭제된 파일입니다.
+		} catch (FileAlreadyExistsException e) {
+			// 새 위치에 이미 같은 이름의 파일이 있습니다. (지난 실행에서 링크만 만들고 종료된 경우)
+			// 같은 파일이면 예전 경로만 지우고, 다르면 건드리지 않습니다.
+			File a = source.toFile();
+			File b = target.toFile();
+			if (a.length() == b.length() && a.lastModified() == b.lastModified()) {
+				unlink.add(source);
+			} else {
+				log.warn("새 위치에 다른 파일이 있어 옮기지 않습니다: {}", source);
+				failed.add(source);
+			}
+		} catch (Exception e) {
+			log.warn("파일을 하위 폴더로 옮기지 못했습니다: {}", source, e);
+			failed.add(source);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.winter.app.commons;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.winter.app.board.BoardDetailCache;
+import com.winter.app.board.BoardFragmentCache;
+import com.winter.app.board.BoardListCache;
+
+// 운영 중 캐시 등의 동작 상태를 확인하기 위한 컨트롤러입니다.
+// @ResponseBody 메서드는 JSP 대신 객체를 JSON으로 변환하여 응답합니다.
+@Controller
+@RequestMapping("/stats/*")
+public class StatsController {
+
+	@Autowired
+	private BoardListCache boardListCache;
+
+	@Autowired
+	private BoardDetailCache boardDetailCache;
+
+	@Autowired
+	private BoardFragmentCache boardFragmentCache;
+
+	@Autowired
+	private FileManager fileManager;
+
+	@Autowired
+	private FileDownView fileDownView;
+
+	@Autowired
+	private ImageVariants imageVariants;
+
+	// GET 방식으로 /stats/cache 주소를 요청했을 때 실행됩니다.
+	// 각 캐시의 크기와 적중/실패/제거 횟수를 JSON 배열로 반환합니다.
+	@GetMapping("cache")
+	@ResponseBody
+	public List<CacheStats> cache() throws Exception {
+		List<CacheStats> list = new ArrayList<>();
+		list.addAll(boardListCache.stats());
+		list.add(boardDetailCache.stats());
+		list.add(boardFragmentCache.stats());
+		list.add(fileDownView.stats());
+		return list;
+	}
+
+	// GET 방식으로 /stats/file 주소를 요청했을 때 실행됩니다.
+	// 첨부파일 저장 횟수, 바이트 수, 처리량, 버퍼 사용량을 JSON으로 반환합니다.
+	@GetMapping("file")
+	@ResponseBody
+	public FileStats file() throws Exception {
+		return fileManager.stats();
+	}
+
+	// GET 방식으로 /stats/image 주소를 요청했을 때 실행됩니다.
+	// 이미지 축소본의 수와 용량, 적중률, 생성 시간을 JSON으로 반환합니다.
+	@GetMapping("image")
+	@ResponseBody
+	public ImageStats image() throws Exception {
+		return imageVariants.stats();
+	}
+}
@@ -33,7 +33,12 @@ public class FileConfig implements WebMvcConfigurer {
 			// 위에서 지정한 URL 요청이 들어왔을 때, 파일을 어디서 찾아 제공할지를 지정합니다.
 			// "file:/" 접두사는 로컬 파일 시스템(하드디스크)의 경로를 의미합니다.
 			// 최종적으로 "file:/D:/upload/" 경로를 가리키게 됩니다.
-				.addResourceLocations("file:" + path);
+				.addResourceLocations("file:" + path)
+			// 파일은 하위 폴더(예: notice/3f/a0/)로 나누어 저장되므로, 예전과 같은 URL(/files/notice/파일명)로
+			// 요청해도 실제 위치를 찾아주는 ShardResourceResolver를 사용합니다.
+			// 옮기는 중(ShardMigrator)에는 파일 위치가 바뀌므로 찾은 위치를 캐시하지 않도록 resourceChain(false)로 설정합니다.
+				.resourceChain(false)
+				.addResolver(new ShardResourceResolver());
 	}
 
 }
\ No newline at end of file
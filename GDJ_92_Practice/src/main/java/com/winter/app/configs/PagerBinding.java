@@ -0,0 +1,24 @@
+package com.winter.app.configs;
+
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.InitBinder;
+
+// @ControllerAdvice: 모든 컨트롤러에 공통으로 적용되는 설정을 모아 두는 클래스입니다.
+// 요청 파라미터를 Pager에 담을 때, 서비스가 계산해서 채우는 값은 파라미터로 받지 않도록 막습니다.
+// 이 값들은 목록 캐시(BoardListCache)와 화면 조각 캐시(BoardFragmentCache)의 키에 들어가지 않으므로,
+// 파라미터로 받으면 예를 들어 ?boardNums=1 요청의 목록이나 ?nextNum=... 요청의 '다음 목록' 링크가
+// 일반 요청과 같은 키로 캐시되어 모든 사용자에게 보이게 됩니다.
+@ControllerAdvice
+public class PagerBinding {
+
+	// 서비스와 Pager.makeNum()이 계산하는 필드입니다.
+	private static final String[] COMPUTED_FIELDS = { "startIndex", "boardNums", "totalPage", "startNum", "endNum",
+			"nextNum", "nextPath", "lookahead", "hasNext" };
+
+	// @InitBinder("pager") : 이름이 pager인 모델 속성(컨트롤러의 Pager 파라미터)을 바인딩하기 전에 호출됩니다.
+	@InitBinder("pager")
+	public void computedFields(WebDataBinder binder) {
+		binder.setDisallowedFields(COMPUTED_FIELDS);
+	}
+}
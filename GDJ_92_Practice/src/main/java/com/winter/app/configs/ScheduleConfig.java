@@ -0,0 +1,13 @@
+package com.winter.app.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Configuration: Spring 설정 클래스임을 선언합니다.
+// @EnableScheduling: @Scheduled 어노테이션이 붙은 메서드를 정해진 주기마다 실행하도록 스케줄러를 활성화합니다.
+// (예: 조회수 반영 BoardHitCounter.flush())
+@Configuration
+@EnableScheduling
+public class ScheduleConfig {
+
+}
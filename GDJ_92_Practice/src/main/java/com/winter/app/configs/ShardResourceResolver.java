@@ -0,0 +1,34 @@
+package com.winter.app.configs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.util.UriUtils;
+
+import com.winter.app.commons.FileManager;
+
+// /files/** 요청을 하위 폴더로 나누어 저장된 파일로 연결해 주는 리소스 리졸버입니다.
+// 요청 경로 "notice/UUID_사진.jpg"는 먼저 새 위치 "notice/3f/a0/UUID_사진.jpg"에서 찾고,
+// 없으면 아직 옮기지 않은 예전 위치 "notice/UUID_사진.jpg"에서 찾습니다.
+// 그래서 본문에 저장된 예전 이미지 주소도 옮기기 전/중/후 언제든 그대로 동작합니다.
+// 위치가 file: URL이면 resourcePath가 URL 인코딩된 상태로 전달되므로(예: %EC%82%AC%EC%A7%84.jpg),
+// 하위 폴더는 저장할 때처럼 디코딩한 원래 파일명으로 계산합니다.
+public class ShardResourceResolver extends PathResourceResolver {
+
+	@Override
+	protected Resource getResource(String resourcePath, Resource location) throws IOException {
+		int slash = resourcePath.lastIndexOf('/');
+		if (slash > 0) {
+			String dir = resourcePath.substring(0, slash + 1);
+			String fileName = resourcePath.substring(slash + 1);
+			String shard = FileManager.shard(UriUtils.decode(fileName, StandardCharsets.UTF_8));
+			Resource sharded = super.getResource(dir + shard + "/" + fileName, location);
+			if (sharded != null) {
+				return sharded;
+			}
+		}
+		return super.getResource(resourcePath, location);
+	}
+}
@@ -0,0 +1,325 @@
+package com.winter.app.products;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.winter.app.commons.ContentVersions;
+
+import lombok.extern.slf4j.Slf4j;
+
+// 상품 전체를 메모리에 보관하는 카탈로그입니다.
+// 상품 목록/상세 화면은 DB를 거치지 않고 이 카탈로그에서 바로 읽습니다.
+// - 상품 번호(PK) -> 상품 맵
+// - 상품 번호 내림차순으로 정렬된 전체 목록 (목록 화면 순서)
+// - 종류 번호(kindNum) -> 그 종류의 상품들 (보조 색인)
+// - 종류 번호 -> ProductKindVO 참조 테이블. 종류는 거의 바뀌지 않으므로 종류마다 객체 하나만 만들어 모든 상품이 같은 객체를 가리킵니다.
+//
+// 애플리케이션이 시작되면 별도 스레드에서 전체를 읽어 오며, 그 전까지 서비스는 예전처럼 DB에서 조회합니다.
+// 상품이 등록/수정/삭제되면 서비스가 refresh(상품 번호)를 호출해 그 상품 하나만 DB에서 다시 읽어 반영합니다.
+@Component
+@Slf4j
+public class ProductCatalog {
+
+	// 조건부 GET(ContentVersions)에서 상품 목록 화면이 의존하는 키입니다. 상품 하나는 ContentVersions.key(VERSION_KEY, 상품 번호)입니다.
+	public static final String VERSION_KEY = "products";
+
+	// 전체를 다시 읽었을 때 바꾸는 키입니다. 다시 읽는 동안 어떤 상품이 바뀌었는지 모르므로 모든 상세 화면이 이 키에도 의존합니다.
+	public static final String RELOAD_KEY = ContentVersions.key(VERSION_KEY, "reload");
+
+	@Autowired
+	private ProductDAO productDAO;
+
+	@Autowired
+	private ContentVersions contentVersions;
+
+	// 전체를 읽어 온 카탈로그입니다. 아직 읽지 않았거나 읽기에 실패했다면 null입니다.
+	private volatile Tables tables;
+
+	// 종류 참조 테이블입니다. 바뀔 때는 새 Map으로 통째로 바꿉니다.
+	private volatile Map<Long, ProductKindVO> kinds = Map.of();
+
+	// 목록 화면용 전체 목록입니다. 상품이 바뀌면 비우고, 다음 목록 요청에서 다시 만듭니다.
+	private volatile List<ProductVO> listView;
+
+	// 상품이 바뀔 때마다 1씩 증가합니다. 목록을 만드는 사이에 상품이 바뀌었다면 만든 목록을 보관하지 않습니다.
+	private volatile long version;
+
+	// 검색용 색인입니다. 상품이 바뀐 뒤 처음 검색할 때 새로 만듭니다.
+	private volatile ProductIndex index;
+	private final ReentrantLock indexLock = new ReentrantLock();
+
+	// 전체를 읽는 중인지 여부와, 그동안 바뀐 상품 번호입니다. 다 읽은 뒤 이 상품들만 다시 읽습니다.
+	private boolean loading;
+	private final Set<Long> dirty = new HashSet<>();
+
+	// 세 가지 조회 구조를 묶어 둔 클래스입니다. 전체를 다시 읽을 때는 새로 만들어 한 번에 바꿉니다.
+	private static class Tables {
+		final Map<Long, ProductVO> byNum = new ConcurrentHashMap<>();
+		final NavigableMap<Long, ProductVO> ordered = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+		final Map<Long, NavigableMap<Long, ProductVO>> byKind = new ConcurrentHashMap<>();
+
+		void put(ProductVO productVO) {
+			Long num = productVO.getProductNum();
+			ProductVO old = byNum.put(num, productVO);
+			// 종류가 바뀌었다면 예전 종류의 색인에서 뺍니다.
+			if (old != null && old.getKindNum() != null && !old.getKindNum().equals(productVO.getKindNum())) {
+				this.kindMap(old.getKindNum()).remove(num);
+			}
+			ordered.put(num, productVO);
+			if (productVO.getKindNum() != null) {
+				this.kindMap(productVO.getKindNum()).put(num, productVO);
+			}
+		}
+
+		void remove(Long num) {
+			ProductVO old = byNum.remove(num);
+			ordered.remove(num);
+			if (old != null && old.getKindNum() != null) {
+				this.kindMap(old.getKindNum()).remove(num);
+			}
+		}
+
+		NavigableMap<Long, ProductVO> kindMap(Long kindNum) {
+			return byKind.computeIfAbsent(kindNum, k -> new ConcurrentSkipListMap<>(Comparator.reverseOrder()));
+		}
+	}
+
+	// 애플리케이션 시작이 완료되면 별도의 가상 스레드에서 상품 전체를 읽어 옵니다.
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		Thread.ofVirtual().name("product-catalog").start(this::reload);
+	}
+
+	// DB에서 종류와 상품 전체를 읽어 카탈로그를 새로 만듭니다.
+	// 결과를 List로 한꺼번에 만들지 않고 한 행씩 받아 바로 색인에 넣습니다.
+	public void reload() {
+		synchronized (this) {
+			loading = true;
+			dirty.clear();
+		}
+		long start = System.currentTimeMillis();
+		try {
+			Map<Long, ProductKindVO> kindMap = this.loadKinds();
+			Tables loaded = new Tables();
+			productDAO.catalogList(context -> {
+				ProductVO productVO = context.getResultObject();
+				productVO.setProductKindVO(kindMap.get(productVO.getKindNum()));
+				loaded.put(productVO);
+			});
+
+			List<Long> pending;
+			synchronized (this) {
+				this.kinds = kindMap;
+				this.tables = loaded;
+				this.changed();
+				loading = false;
+				pending = new ArrayList<>(dirty);
+				dirty.clear();
+			}
+			contentVersions.touch(VERSION_KEY);
+			contentVersions.touch(RELOAD_KEY);
+			// 읽는 동안 바뀐 상품은 이미 예전 값으로 읽었을 수 있으므로 다시 읽습니다.
+			for (Long productNum : pending) {
+				this.refresh(productNum);
+			}
+			log.info("상품 카탈로그 로드 완료 : {}건, {}ms", loaded.byNum.size(), System.currentTimeMillis() - start);
+		} catch (Exception e) {
+			synchronized (this) {
+				loading = false;
+			}
+			log.error("상품 카탈로그 로드 실패. DB에서 직접 조회합니다.", e);
+		}
+	}
+
+	// 상품 하나를 DB에서 다시 읽어 카탈로그에 반영합니다. (상품 등록/수정/삭제 후 호출)
+	// DB에 없으면 삭제된 상품이므로 카탈로그에서 뺍니다.
+	// 같은 상품이 동시에 바뀌어도 늦게 읽은 값이 먼저 읽은 값을 덮어쓰도록 한 번에 하나씩 처리합니다.
+	public synchronized void refresh(Long productNum) {
+		try {
+			this.apply(productNum);
+		} finally {
+			// 카탈로그에 반영한 뒤에 버전(ETag)을 바꿉니다. 카탈로그를 사용하지 않는 중(DB 조회)이어도 화면은 바뀌므로 항상 바꿉니다.
+			contentVersions.touch(VERSION_KEY);
+			contentVersions.touch(VERSION_KEY, productNum);
+		}
+	}
+
+	private void apply(Long productNum) {
+		if (loading) {
+			dirty.add(productNum);
+			return;
+		}
+		Tables current = this.tables;
+		if (current == null || productNum == null) {
+			return;
+		}
+
+		try {
+			ProductVO param = new ProductVO();
+			param.setProductNum(productNum);
+			ProductVO productVO = productDAO.detail(param);
+			if (productVO == null) {
+				current.remove(productNum);
+			} else {
+				// JOIN으로 함께 읽은 종류 객체 대신 참조 테이블의 객체를 사용합니다.
+				productVO.setProductKindVO(this.kind(productVO.getKindNum()));
+				current.put(productVO);
+			}
+			this.changed();
+		} catch (Exception e) {
+			// 카탈로그가 DB와 달라졌을 수 있으므로 사용을 멈추고 전체를 다시 읽습니다.
+			log.warn("상품 카탈로그 갱신 실패. 전체를 다시 읽습니다: {}", productNum, e);
+			this.tables = null;
+			this.load();
+		}
+	}
+
+	// 카탈로그를 사용할 수 있는지 여부입니다. false이면 서비스가 DB에서 조회합니다.
+	public boolean isReady() {
+		return this.tables != null;
+	}
+
+	// 목록/검색 화면이 최신 상품으로 만들어지는지 여부입니다.
+	// 상품이 바뀐 뒤 검색 색인을 새로 만드는 동안에는 직전 색인으로 검색하므로 false입니다.
+	// 이때 컨트롤러는 예전 결과가 새 ETag로 저장되지 않도록 조건부 GET을 하지 않습니다.
+	public boolean isCurrent() {
+		ProductIndex current = this.index;
+		return this.tables == null || current == null || current.getVersion() == this.version;
+	}
+
+	// 상품 번호 내림차순 전체 목록을 반환합니다. 여러 요청이 함께 쓰는 목록이므로 수정할 수 없습니다.
+	// 카탈로그를 아직 사용할 수 없으면 null을 반환합니다.
+	public List<ProductVO> list() {
+		Tables current = this.tables;
+		if (current == null) {
+			return null;
+		}
+		List<ProductVO> view = this.listView;
+		if (view == null) {
+			long v = this.version;
+			view = List.copyOf(current.ordered.values());
+			synchronized (this) {
+				if (v == this.version) {
+					this.listView = view;
+				}
+			}
+		}
+		return view;
+	}
+
+	// 검색용 색인(ProductIndex)을 반환합니다. 카탈로그를 아직 사용할 수 없으면 null을 반환합니다.
+	// 색인은 전체 상품을 이름/이율로 정렬해서 만들므로 상품이 많으면 만드는 데 수 초가 걸립니다.
+	// 그래서 처음 한 번만 요청 스레드에서 만들고, 그 뒤 상품이 바뀌면 별도의 가상 스레드에서 새로 만드는 동안
+	// 직전 색인을 반환합니다. (바뀐 상품이 잠시 늦게 검색될 뿐입니다)
+	public ProductIndex index() {
+		if (this.tables == null) {
+			return null;
+		}
+		ProductIndex current = this.index;
+		if (current == null) {
+			return this.buildIndex();
+		}
+		if (current.getVersion() != this.version && !indexLock.isLocked()) {
+			Thread.ofVirtual().name("product-index").start(this::buildIndex);
+		}
+		return current;
+	}
+
+	// 현재 상품 목록으로 색인을 만들어 보관합니다. 이미 최신 색인이 있으면 그대로 반환합니다.
+	private ProductIndex buildIndex() {
+		indexLock.lock();
+		try {
+			ProductIndex current = this.index;
+			long v = this.version;
+			if (current == null || current.getVersion() != v) {
+				List<ProductVO> list = this.list();
+				if (list == null) {
+					return null;
+				}
+				long start = System.currentTimeMillis();
+				current = new ProductIndex(list, v);
+				this.index = current;
+				log.debug("상품 검색 색인 생성 : {}건, {}ms", current.size(), System.currentTimeMillis() - start);
+			}
+			return current;
+		} finally {
+			indexLock.unlock();
+		}
+	}
+
+	// 한 종류의 상품을 상품 번호 내림차순으로 반환합니다. (종류 보조 색인)
+	public List<ProductVO> list(Long kindNum) {
+		Tables current = this.tables;
+		if (current == null) {
+			return null;
+		}
+		NavigableMap<Long, ProductVO> map = current.byKind.get(kindNum);
+		return map == null ? List.of() : List.copyOf(map.values());
+	}
+
+	// 상품 하나를 반환합니다. 화면에서 값을 바꿔도 카탈로그에 영향이 없도록 복사본을 반환합니다.
+	// 없는 상품이면 null을 반환하므로, 카탈로그를 사용할 수 있는지는 isReady()로 먼저 확인합니다.
+	public ProductVO detail(Long productNum) {
+		Tables current = this.tables;
+		if (current == null || productNum == null) {
+			return null;
+		}
+		ProductVO cached = current.byNum.get(productNum);
+		if (cached == null) {
+			return null;
+		}
+		ProductVO copy = new ProductVO();
+		BeanUtils.copyProperties(cached, copy);
+		return copy;
+	}
+
+	// 종류 목록을 종류 번호 순서로 반환합니다.
+	public List<ProductKindVO> kinds() {
+		List<ProductKindVO> list = new ArrayList<>(this.kinds.values());
+		list.sort(Comparator.comparing(ProductKindVO::getKindNum));
+		return list;
+	}
+
+	// 종류 번호에 해당하는 종류 객체를 반환합니다.
+	// 참조 테이블에 없으면(카탈로그를 읽은 뒤 DB에 추가된 종류) 종류 테이블만 다시 읽어 새 종류를 추가합니다.
+	// 이미 있던 종류는 상품들이 가리키고 있는 객체를 그대로 둡니다.
+	private ProductKindVO kind(Long kindNum) throws Exception {
+		ProductKindVO kind = this.kinds.get(kindNum);
+		if (kind == null && kindNum != null) {
+			Map<Long, ProductKindVO> merged = new HashMap<>(this.loadKinds());
+			merged.putAll(this.kinds);
+			this.kinds = Map.copyOf(merged);
+			kind = this.kinds.get(kindNum);
+		}
+		return kind;
+	}
+
+	private Map<Long, ProductKindVO> loadKinds() throws Exception {
+		Map<Long, ProductKindVO> kindMap = new HashMap<>();
+		for (ProductKindVO kind : productDAO.kindList()) {
+			kindMap.put(kind.getKindNum(), kind);
+		}
+		return Map.copyOf(kindMap);
+	}
+
+	// 상품이 바뀌었음을 기록하고 목록 화면용 전체 목록을 비웁니다.
+	private synchronized void changed() {
+		this.version++;
+		this.listView = null;
+	}
+}
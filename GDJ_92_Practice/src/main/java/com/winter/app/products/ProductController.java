@@ -1,15 +1,27 @@
 package com.winter.app.products;
 
 // 필요한 클래스들을 가져옵니다.
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.ModelAndView;
 
+import com.winter.app.commons.ContentVersions;
+import com.winter.app.commons.ExportWriter;
+import com.winter.app.commons.Pager;
+
+import jakarta.servlet.http.HttpServletResponse;
+
 @Controller
 // @RequestMapping: 이 클래스 내부의 모든 메서드들은 "/products/"로 시작하는 URL 요청을 처리합니다.
 @RequestMapping("/products/*")
@@ -18,20 +30,48 @@ public class ProductController {
 	@Autowired
 	private ProductService productService;
 
+	// 전체 상품을 CSV/NDJSON 파일로 내보낼 때 사용합니다.
+	@Autowired
+	private ExportWriter exportWriter;
+
+	// 상품이 바뀌지 않았으면 목록/상세 화면을 304(Not Modified)로 응답할 때 사용합니다.
+	@Autowired
+	private ContentVersions contentVersions;
+
 	// GET 방식의 "/products/list" 요청을 처리합니다.
 	// 리턴 타입이 void일 경우, Spring은 요청 URL 경로를 기반으로 View의 이름을 자동으로 유추합니다.
 	// 즉, "/products/list" 요청은 "products/list"라는 View 이름으로 자동 매핑됩니다.
+	// 종류(kindNum), 이율 범위(minRate, maxRate), 이름 앞부분(name)으로 검색하고 pageNum, perPage로 페이지를 나눕니다.
+	// 예: /products/list?kindNum=2&minRate=1.5&maxRate=3&name=적금&pageNum=2
 	@GetMapping("list")
-	public void list(Model model) throws Exception {
-		// Service를 통해 상품 목록을 가져와서,
+	public void list(ProductQuery productQuery, Pager pager, Model model, WebRequest webRequest) throws Exception {
+		// 상품이 바뀌지 않았다면 브라우저(또는 프록시)에 저장된 화면을 그대로 쓰도록 검색하지 않고 304로 응답합니다.
+		// 바뀐 상품으로 검색 색인을 다시 만드는 중이면 직전 결과가 새 ETag로 저장되지 않도록 확인하지 않습니다.
+		if (productService.isCurrent() && contentVersions.checkNotModified(webRequest, ProductCatalog.VERSION_KEY)) {
+			return;
+		}
+		ProductSearchResult result = productService.search(productQuery, pager);
+		// Service를 통해 검색한 상품 목록(현재 페이지)을
 		// "list"라는 이름으로 Model에 담아 View로 전달합니다.
-		model.addAttribute("list", productService.list());
+		model.addAttribute("list", result.getList());
+		model.addAttribute("totalCount", result.getTotalCount());
+		// 종류 버튼에 표시할 종류 목록과 종류별 상품 수입니다.
+		model.addAttribute("kinds", productService.kinds());
+		model.addAttribute("kindCounts", result.getKindCounts());
+		// 검색 조건과 페이지네이션 정보도 화면에서 다시 사용하도록 전달합니다.
+		model.addAttribute("query", productQuery);
+		model.addAttribute("pager", pager);
 	}
 
 	// GET 방식의 "/products/detail" 요청을 처리합니다.
 	// 리턴 타입이 void이므로, "products/detail"이라는 View 이름으로 자동 매핑됩니다.
 	@GetMapping("detail")
-	public void detail(ProductVO productVO, Model model) throws Exception {
+	public void detail(ProductVO productVO, Model model, WebRequest webRequest) throws Exception {
+		// 상품이 바뀌지 않았다면 조회하지 않고 304로 응답합니다.
+		if (contentVersions.checkNotModified(webRequest,
+				ContentVersions.key(ProductCatalog.VERSION_KEY, productVO.getProductNum()), ProductCatalog.RELOAD_KEY)) {
+			return;
+		}
 		// Service를 통해 특정 상품의 상세 정보를 가져와 Model에 담아 전달합니다.
 		model.addAttribute("vo", productService.detail(productVO));
 	}
@@ -69,6 +109,38 @@ public class ProductController {
 		return mv;
 	}
 
+	// GET 방식의 "/products/import" 요청을 처리합니다. (CSV 일괄 등록 폼으로 이동)
+	@GetMapping("import")
+	public void importForm() throws Exception {
+	}
+
+	// POST 방식의 "/products/import" 요청을 처리합니다. (CSV 파일 제출)
+	// 등록 결과(추가된 수, 오류가 난 행)를 같은 화면에 보여줍니다.
+	@PostMapping("import")
+	public String importCsv(MultipartFile csv, Model model) throws Exception {
+		if (csv == null || csv.isEmpty()) {
+			model.addAttribute("msg", "CSV 파일을 선택하세요");
+			model.addAttribute("url", "./import");
+			return "commons/result";
+		}
+		model.addAttribute("result", productService.importCsv(csv));
+		return "products/import";
+	}
+
+	// GET 방식의 "/products/export" 요청을 처리합니다. (전체 상품 내보내기)
+	// ?format=csv(기본값) 또는 ?format=ndjson, 압축 파일로 받으려면 &gzip=true 를 함께 보냅니다.
+	@GetMapping("export")
+	public void export(String format, boolean gzip, HttpServletResponse response) throws Exception {
+		Map<String, Function<ProductVO, Object>> columns = new LinkedHashMap<>();
+		columns.put("PRODUCT_NUM", ProductVO::getProductNum);
+		columns.put("PRODUCT_NAME", ProductVO::getProductName);
+		columns.put("PRODUCT_CONTENTS", ProductVO::getProductContents);
+		columns.put("PRODUCT_DATE", ProductVO::getProductDate);
+		columns.put("PRODUCT_RATE", ProductVO::getProductRate);
+		columns.put("KIND_NUM", ProductVO::getKindNum);
+		exportWriter.write(response, "products", format, gzip, columns, handler -> productService.exportList(handler));
+	}
+
 	// GET 방식의 "/products/update" 요청을 처리합니다. (상품 수정 폼으로 이동)
 	// ModelAndView를 파라미터로 받을 수도 있습니다. Spring이 빈 객체를 만들어 주입해줍니다.
 	@GetMapping("update")
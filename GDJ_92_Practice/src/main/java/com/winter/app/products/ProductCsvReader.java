@@ -0,0 +1,122 @@
+package com.winter.app.products;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// CSV 파일을 한 행(레코드)씩 읽는 클래스입니다. (RFC 4180 형식)
+// 파일 전체를 메모리에 올리지 않고 Reader에서 필요한 만큼만 읽으므로, 파일 크기와 관계없이 메모리 사용량이 일정합니다.
+// - 쉼표(,)로 값을 구분하고, 큰따옴표(")로 감싼 값 안의 쉼표/줄바꿈은 값의 일부로 봅니다.
+// - 큰따옴표 안에서 ""는 큰따옴표 하나입니다.
+// - 줄바꿈은 \n, \r\n 모두 허용하며, 파일 맨 앞의 BOM(엑셀에서 저장한 UTF-8 파일)은 무시합니다.
+public class ProductCsvReader {
+
+	// 값 하나의 최대 길이입니다. 닫는 큰따옴표가 빠진 파일이 파일 끝까지 한 값으로 읽히지 않도록 제한합니다.
+	private static final int MAX_VALUE_LENGTH = 1_000_000;
+
+	private final Reader reader;
+
+	// 다음에 읽을 문자입니다. (-2 : 아직 읽지 않음, -1 : 파일 끝)
+	private int next = -2;
+	private boolean started;
+
+	// 지금 읽고 있는 줄 번호와, 마지막으로 반환한 행이 시작된 줄 번호입니다. (오류 메시지에 사용)
+	private long line = 1;
+	private long recordLine;
+
+	public ProductCsvReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	// 다음 행의 값들을 반환합니다. 파일 끝이면 null을 반환합니다.
+	// 형식이 잘못된 행(닫히지 않은 큰따옴표, 너무 긴 값)은 IllegalArgumentException을 던집니다.
+	public String[] next() throws IOException {
+		int c = this.peek();
+		if (c == -1) {
+			return null;
+		}
+		this.recordLine = this.line;
+
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		boolean wasQuoted = false;
+
+		while (true) {
+			c = this.read();
+			if (quoted) {
+				if (c == -1) {
+					throw new IllegalArgumentException("큰따옴표가 닫히지 않았습니다.");
+				}
+				if (c == '"') {
+					if (this.peek() == '"') {
+						this.read();
+						value.append('"');
+					} else {
+						quoted = false;
+					}
+				} else {
+					value.append((char) c);
+				}
+			} else if (c == '"' && value.isEmpty() && !wasQuoted) {
+				quoted = true;
+				wasQuoted = true;
+			} else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+				wasQuoted = false;
+			} else if (c == '\n' || c == -1) {
+				break;
+			} else if (c == '\r') {
+				if (this.peek() == '\n') {
+					this.read();
+				}
+				break;
+			} else {
+				value.append((char) c);
+			}
+
+			if (value.length() > MAX_VALUE_LENGTH) {
+				this.skipLine();
+				throw new IllegalArgumentException("값이 너무 깁니다. (최대 " + MAX_VALUE_LENGTH + "자)");
+			}
+		}
+		values.add(value.toString());
+		return values.toArray(new String[0]);
+	}
+
+	// 마지막으로 반환한(또는 형식 오류가 난) 행이 시작된 줄 번호입니다.
+	public long getLine() {
+		return this.recordLine;
+	}
+
+	private int peek() throws IOException {
+		if (this.next == -2) {
+			this.next = reader.read();
+			// 파일 맨 앞의 BOM은 건너뜁니다.
+			if (!this.started && this.next == '\uFEFF') {
+				this.next = reader.read();
+			}
+			this.started = true;
+		}
+		return this.next;
+	}
+
+	private int read() throws IOException {
+		int c = this.peek();
+		this.next = c == -1 ? -1 : reader.read();
+		if (c == '\n') {
+			this.line++;
+		}
+		return c;
+	}
+
+	// 형식 오류가 난 행의 나머지를 버립니다.
+	private void skipLine() throws IOException {
+		int c;
+		do {
+			c = this.read();
+		} while (c != '\n' && c != -1);
+	}
+}
@@ -2,9 +2,14 @@ package com.winter.app.products;
 
 // List 컬렉션을 사용하기 위해 가져옵니다.
 import java.util.List;
+import java.util.Map;
 
 // MyBatis의 @Mapper 어노테이션을 사용하기 위해 가져옵니다.
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import com.winter.app.commons.Pager;
 
 // @Mapper: 이 인터페이스가 MyBatis의 매퍼(Mapper)임을 선언합니다.
 // Spring이 이 인터페이스의 구현체를 자동으로 만들어주므로, 개발자가 직접 클래스를 만들 필요가 없습니다.
@@ -16,14 +21,39 @@ public interface ProductDAO {
 	// ProductVO 객체들을 담은 List를 반환합니다.
 	public List<ProductVO> list()throws Exception;
 	
+	// 상품 카탈로그(ProductCatalog)를 만들기 위해 모든 상품을 한 행씩 넘겨주는 기능의 명세입니다.
+	// 결과를 List로 한꺼번에 만들지 않고, ResultHandler로 한 행씩 넘겨주어 메모리를 적게 사용합니다.
+	public void catalogList(ResultHandler<ProductVO> handler) throws Exception;
+	
+	// 내보내기(CSV/NDJSON)용으로 모든 상품을 상품 번호 순서로 한 행씩 넘겨주는 기능의 명세입니다.
+	public void exportList(ResultHandler<ProductVO> handler) throws Exception;
+	
+	// 모든 상품 종류를 조회하는 기능의 명세입니다.
+	public List<ProductKindVO> kindList() throws Exception;
+	
+	// 검색 조건에 맞는 상품 수를 조회하는 기능의 명세입니다. (카탈로그를 읽는 중일 때 사용)
+	public Long searchCount(@Param("query") ProductQuery productQuery) throws Exception;
+	
+	// 종류 조건을 뺀 나머지 검색 조건에 맞는 상품 수를 종류별로 조회하는 기능의 명세입니다.
+	// 행마다 kindNum(종류 번호), productCount(상품 수)를 담은 Map을 반환합니다.
+	public List<Map<String, Object>> searchKindCounts(@Param("query") ProductQuery productQuery) throws Exception;
+	
+	// 검색 조건에 맞는 상품 중 pager가 가리키는 페이지의 상품들을 조회하는 기능의 명세입니다.
+	public List<ProductVO> searchList(@Param("query") ProductQuery productQuery, @Param("pager") Pager pager) throws Exception;
+	
 	// 특정 상품 하나의 상세 정보를 조회하는 기능의 명세입니다.
 	// 조회할 상품의 번호가 담긴 productVO를 받아, 해당 상품의 모든 정보가 담긴 ProductVO를 반환합니다.
 	public ProductVO detail(ProductVO productVO) throws Exception;
 	
 	// 새로운 상품 정보를 데이터베이스에 추가하는 기능의 명세입니다.
+	// 생성된 상품 번호는 productVO의 productNum에 담깁니다.
 	// 성공적으로 추가된 행(row)의 개수(보통 1)를 정수(int)로 반환합니다.
 	public int insert(ProductVO productVO)throws Exception;
 	
+	// 여러 상품을 INSERT 문 하나로 한 번에 추가하는 기능의 명세입니다. (CSV 일괄 등록에 사용)
+	// 문장 하나로 실행되므로 일부 행만 들어가는 일 없이 전부 추가되거나 전부 실패합니다.
+	public int insertList(List<ProductVO> list) throws Exception;
+	
 	// 기존 상품 정보를 수정하는 기능의 명세입니다.
 	// 성공적으로 수정된 행의 개수를 반환합니다.
 	public int update(ProductVO productVO)throws Exception;
@@ -0,0 +1,35 @@
+package com.winter.app.products;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+// CSV 일괄 등록 결과입니다.
+@Getter
+@Setter
+@ToString
+public class ProductImportResult {
+
+	// 읽은 데이터 행 수(헤더 제외), 추가된 상품 수, 오류가 난 행 수입니다.
+	private long total;
+	private long inserted;
+	private long failed;
+
+	// 오류가 난 행의 줄 번호와 이유입니다.
+	// 파일 전체가 잘못된 경우에도 메모리를 많이 쓰지 않도록 앞쪽 일부(app.product.import.max-errors)만 보관합니다.
+	private List<RowError> errors = new ArrayList<>();
+
+	// 파일 자체를 읽을 수 없는 경우(헤더 누락 등)의 오류 메시지입니다. 이 경우 아무 행도 추가하지 않습니다.
+	private String message;
+
+	@Getter
+	@Setter
+	@ToString
+	public static class RowError {
+		private long line;
+		private String reason;
+	}
+}
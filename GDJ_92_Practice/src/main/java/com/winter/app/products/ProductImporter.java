@@ -0,0 +1,290 @@
+package com.winter.app.products;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// CSV 파일로 상품을 일괄 등록합니다. (/products/import)
+//
+// 첫 줄은 헤더이며, 아래 열 이름(대소문자 무관, 순서 무관)을 사용합니다.
+//   PRODUCT_NAME(필수), PRODUCT_CONTENTS, PRODUCT_DATE(yyyy-MM-dd), PRODUCT_RATE, KIND_NUM 또는 KIND_NAME(필수)
+//
+// 1) 파일을 한 행씩 읽어 검사하고, app.product.import.batch-size 개씩 모아 INSERT 문 하나(insertList)로 추가합니다.
+//    모아 둔 행만 메모리에 있으므로 파일 크기와 관계없이 메모리 사용량이 일정합니다.
+// 2) 각 INSERT 문은 그 자체로 하나의 트랜잭션(자동 커밋)입니다. 파일 전체를 하나의 트랜잭션으로 묶지 않으므로
+//    긴 트랜잭션이 잠금과 undo 로그를 계속 붙잡고 있지 않고, 앞에서 추가된 행은 뒤에서 오류가 나도 그대로 남습니다.
+// 3) 잘못된 행은 건너뛰고 줄 번호와 이유를 결과에 담습니다. 묶음 INSERT가 DB 오류로 실패하면
+//    그 묶음만 한 행씩 다시 추가해서 어느 행이 문제인지 찾습니다.
+// 4) 종류(KIND_NUM/KIND_NAME)는 파일을 읽기 전에 한 번만 종류 테이블(카탈로그의 종류 참조 테이블)을 읽어 확인합니다.
+@Component
+@Slf4j
+public class ProductImporter {
+
+	// PRODUCTS 테이블의 컬럼 크기입니다. (PRODUCT_NAME VARCHAR(255), PRODUCT_RATE DECIMAL(4,2))
+	private static final int MAX_NAME_LENGTH = 255;
+	private static final double MAX_RATE = 99.99;
+
+	@Value("${app.product.import.batch-size}")
+	private int batchSize;
+
+	@Value("${app.product.import.max-errors}")
+	private int maxErrors;
+
+	@Autowired
+	private ProductDAO productDAO;
+
+	@Autowired
+	private ProductCatalog productCatalog;
+
+	public ProductImportResult importCsv(InputStream in) throws Exception {
+		ProductImportResult result = new ProductImportResult();
+		ProductCsvReader reader = new ProductCsvReader(
+				new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 65536));
+
+		String[] header;
+		try {
+			header = reader.next();
+		} catch (IllegalArgumentException e) {
+			header = null;
+		}
+		Columns columns = header == null ? null : Columns.of(header);
+		if (columns == null) {
+			result.setMessage("헤더가 없거나 PRODUCT_NAME, KIND_NUM(또는 KIND_NAME) 열이 없습니다.");
+			return result;
+		}
+
+		Kinds kinds = this.kinds();
+		List<ProductVO> batch = new ArrayList<>(batchSize);
+		List<Long> lines = new ArrayList<>(batchSize);
+		long start = System.currentTimeMillis();
+
+		while (true) {
+			String[] row;
+			try {
+				row = reader.next();
+			} catch (IllegalArgumentException e) {
+				result.setTotal(result.getTotal() + 1);
+				this.error(result, reader.getLine(), e.getMessage());
+				continue;
+			}
+			if (row == null) {
+				break;
+			}
+			// 빈 줄은 건너뜁니다.
+			if (row.length == 1 && row[0].isBlank()) {
+				continue;
+			}
+			result.setTotal(result.getTotal() + 1);
+
+			ProductVO productVO;
+			try {
+				productVO = this.toProduct(row, columns, header.length, kinds);
+			} catch (IllegalArgumentException e) {
+				this.error(result, reader.getLine(), e.getMessage());
+				continue;
+			}
+			batch.add(productVO);
+			lines.add(reader.getLine());
+			if (batch.size() >= batchSize) {
+				this.flush(batch, lines, result);
+			}
+		}
+		this.flush(batch, lines, result);
+
+		log.info("상품 CSV 등록 : {}행 중 {}건 추가, {}건 오류, {}ms",
+				result.getTotal(), result.getInserted(), result.getFailed(), System.currentTimeMillis() - start);
+
+		// 추가된 상품이 많으므로 상품마다 refresh 하지 않고 카탈로그 전체를 다시 읽습니다.
+		// 다시 읽는 동안에는 기존 카탈로그가 그대로 사용됩니다.
+		if (result.getInserted() > 0) {
+			productCatalog.load();
+		}
+		return result;
+	}
+
+	// 모아 둔 행을 INSERT 문 하나로 추가합니다. 실패하면 한 행씩 다시 추가해 오류가 난 행을 찾습니다.
+	private void flush(List<ProductVO> batch, List<Long> lines, ProductImportResult result) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		try {
+			productDAO.insertList(batch);
+			result.setInserted(result.getInserted() + batch.size());
+		} catch (Exception e) {
+			log.warn("상품 CSV 묶음 추가 실패, 한 행씩 다시 추가합니다 : {}행부터 {}건", lines.get(0), batch.size());
+			for (int i = 0; i < batch.size(); i++) {
+				try {
+					productDAO.insert(batch.get(i));
+					result.setInserted(result.getInserted() + 1);
+				} catch (Exception ex) {
+					this.error(result, lines.get(i), this.rootMessage(ex));
+				}
+			}
+		}
+		batch.clear();
+		lines.clear();
+	}
+
+	// CSV 한 행을 검사해서 ProductVO로 바꿉니다. 잘못된 값이 있으면 IllegalArgumentException을 던집니다.
+	private ProductVO toProduct(String[] row, Columns columns, int width, Kinds kinds) {
+		if (row.length != width) {
+			throw new IllegalArgumentException("열 개수(" + row.length + ")가 헤더(" + width + ")와 다릅니다.");
+		}
+		ProductVO productVO = new ProductVO();
+
+		String name = row[columns.name].trim();
+		if (name.isEmpty()) {
+			throw new IllegalArgumentException("PRODUCT_NAME이 비어 있습니다.");
+		}
+		if (name.length() > MAX_NAME_LENGTH) {
+			throw new IllegalArgumentException("PRODUCT_NAME은 " + MAX_NAME_LENGTH + "자를 넘을 수 없습니다.");
+		}
+		productVO.setProductName(name);
+
+		if (columns.contents >= 0) {
+			productVO.setProductContents(row[columns.contents]);
+		}
+
+		String date = columns.date < 0 ? "" : row[columns.date].trim();
+		if (!date.isEmpty()) {
+			try {
+				productVO.setProductDate(LocalDate.parse(date));
+			} catch (DateTimeParseException e) {
+				throw new IllegalArgumentException("PRODUCT_DATE 형식(yyyy-MM-dd)이 아닙니다 : " + date);
+			}
+		}
+
+		String rate = columns.rate < 0 ? "" : row[columns.rate].trim();
+		if (!rate.isEmpty()) {
+			double value;
+			try {
+				value = Double.parseDouble(rate);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("PRODUCT_RATE가 숫자가 아닙니다 : " + rate);
+			}
+			if (!(Math.abs(value) <= MAX_RATE)) {
+				throw new IllegalArgumentException("PRODUCT_RATE는 -" + MAX_RATE + " ~ " + MAX_RATE + " 사이여야 합니다 : " + rate);
+			}
+			productVO.setProductRate(value);
+		}
+
+		productVO.setKindNum(kinds.resolve(row[columns.kind].trim(), columns.kindByName));
+		return productVO;
+	}
+
+	private void error(ProductImportResult result, long line, String reason) {
+		result.setFailed(result.getFailed() + 1);
+		if (result.getErrors().size() < maxErrors) {
+			ProductImportResult.RowError error = new ProductImportResult.RowError();
+			error.setLine(line);
+			error.setReason(reason);
+			result.getErrors().add(error);
+		}
+	}
+
+	// DB 오류는 가장 안쪽 원인(드라이버의 메시지)을 보여줍니다.
+	private String rootMessage(Throwable e) {
+		Throwable cause = e;
+		while (cause.getCause() != null && cause.getCause() != cause) {
+			cause = cause.getCause();
+		}
+		return cause.getMessage();
+	}
+
+	// 종류 테이블을 한 번 읽어 둡니다. 카탈로그를 사용할 수 있으면 DB를 조회하지 않습니다.
+	private Kinds kinds() throws Exception {
+		List<ProductKindVO> list = productCatalog.isReady() ? productCatalog.kinds() : productDAO.kindList();
+		Kinds kinds = new Kinds();
+		for (ProductKindVO kind : list) {
+			kinds.nums.add(kind.getKindNum());
+			if (kind.getKindName() != null) {
+				kinds.names.putIfAbsent(kind.getKindName().trim().toLowerCase(), kind.getKindNum());
+			}
+		}
+		return kinds;
+	}
+
+	// 종류 번호와 종류 이름(소문자) -> 번호 참조 테이블입니다.
+	private static class Kinds {
+		final Set<Long> nums = new HashSet<>();
+		final Map<String, Long> names = new HashMap<>();
+
+		Long resolve(String value, boolean byName) {
+			if (value.isEmpty()) {
+				throw new IllegalArgumentException("상품 종류가 비어 있습니다.");
+			}
+			Long kindNum;
+			if (byName) {
+				kindNum = names.get(value.toLowerCase());
+			} else {
+				try {
+					kindNum = Long.valueOf(value);
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("KIND_NUM이 숫자가 아닙니다 : " + value);
+				}
+				if (!nums.contains(kindNum)) {
+					kindNum = null;
+				}
+			}
+			if (kindNum == null) {
+				throw new IllegalArgumentException("없는 상품 종류입니다 : " + value);
+			}
+			return kindNum;
+		}
+	}
+
+	// 헤더에서 찾은 열의 위치입니다. (없는 열은 -1)
+	private static class Columns {
+		int name = -1;
+		int contents = -1;
+		int date = -1;
+		int rate = -1;
+		int kind = -1;
+		boolean kindByName;
+
+		// 필수 열이 없으면 null을 반환합니다.
+		static Columns of(String[] header) {
+			Columns columns = new Columns();
+			for (int i = 0; i < header.length; i++) {
+				switch (header[i].trim().toUpperCase()) {
+				case "PRODUCT_NAME" -> columns.name = i;
+				case "PRODUCT_CONTENTS" -> columns.contents = i;
+				case "PRODUCT_DATE" -> columns.date = i;
+				case "PRODUCT_RATE" -> columns.rate = i;
+				case "KIND_NUM" -> {
+					columns.kind = i;
+					columns.kindByName = false;
+				}
+				case "KIND_NAME" -> {
+					// 두 열이 모두 있으면 KIND_NUM을 사용합니다.
+					if (columns.kind < 0) {
+						columns.kind = i;
+						columns.kindByName = true;
+					}
+				}
+				default -> {
+				}
+				}
+			}
+			if (columns.name < 0 || columns.kind < 0) {
+				return null;
+			}
+			return columns;
+		}
+	}
+}
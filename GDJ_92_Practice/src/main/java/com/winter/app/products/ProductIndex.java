@@ -0,0 +1,288 @@
+package com.winter.app.products;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import com.winter.app.commons.Pager;
+
+// 상품 검색(종류, 이율 범위, 이름 앞부분)을 위한 읽기 전용 색인입니다.
+// ProductCatalog가 상품 목록 화면 순서(상품 번호 내림차순)의 전체 목록으로 만들며, 상품이 바뀌면 새로 만듭니다.
+//
+// 상품은 목록 순서의 위치(0, 1, 2 ...)로 구분하며, 모든 색인은 이 위치를 담은 기본형 배열입니다.
+// - 종류 색인   : 종류마다 그 종류 상품의 위치 배열 (int[])
+// - 이율 색인   : 이율 오름차순으로 정렬한 이율 배열(double[])과 같은 순서의 위치 배열. 이진 탐색으로 범위의 시작과 끝을 찾습니다.
+// - 이름 색인   : 소문자 이름 오름차순으로 정렬한 이름 배열과 위치 배열.
+//                같은 앞부분으로 시작하는 이름은 정렬된 배열에서 항상 연속된 구간이므로,
+//                트라이(trie)의 한 노드 아래에 있는 이름들을 이진 탐색 두 번으로 찾을 수 있습니다.
+//                상품마다 노드 객체를 여러 개 만드는 트라이보다 메모리를 훨씬 적게 사용합니다.
+//
+// 검색은 범위가 더 좁은 색인(이율 또는 이름) 구간을 한 번 훑으면서 나머지 조건을 확인하고,
+// 같은 반복 안에서 종류별 개수(facet)를 세고 결과 위치를 BitSet에 표시합니다.
+// BitSet을 앞에서부터 읽으면 결과가 목록 순서대로 나오므로 따로 정렬하지 않습니다.
+public class ProductIndex {
+
+	// 이 색인을 만들 때의 카탈로그 버전입니다. (ProductCatalog 참고)
+	private final long version;
+
+	// 목록 순서의 상품들입니다.
+	private final ProductVO[] products;
+
+	// 종류 번호(오름차순)와, 상품 위치 -> 종류 순번(종류가 없으면 -1), 종류 순번 -> 상품 위치들
+	private final long[] kindNums;
+	private final int[] kindOf;
+	private final int[][] kindDocs;
+
+	// 상품 위치 -> 이율(없으면 NaN)과, 이율이 있는 상품만 이율 오름차순으로 정렬한 이율/위치 배열
+	private final double[] rateOf;
+	private final double[] rates;
+	private final int[] rateDocs;
+
+	// 상품 위치 -> 소문자 이름과, 소문자 이름 오름차순으로 정렬한 이름/위치 배열
+	private final String[] nameOf;
+	private final String[] names;
+	private final int[] nameDocs;
+
+	public ProductIndex(List<ProductVO> list, long version) {
+		this.version = version;
+		this.products = list.toArray(new ProductVO[0]);
+		int n = products.length;
+
+		// 종류 색인
+		this.kindNums = list.stream().map(ProductVO::getKindNum).filter(Objects::nonNull)
+				.mapToLong(Long::longValue).distinct().sorted().toArray();
+		this.kindOf = new int[n];
+		int[] sizes = new int[kindNums.length];
+		for (int doc = 0; doc < n; doc++) {
+			Long kindNum = products[doc].getKindNum();
+			kindOf[doc] = kindNum == null ? -1 : Arrays.binarySearch(kindNums, kindNum);
+			if (kindOf[doc] >= 0) {
+				sizes[kindOf[doc]]++;
+			}
+		}
+		this.kindDocs = new int[kindNums.length][];
+		for (int k = 0; k < kindNums.length; k++) {
+			kindDocs[k] = new int[sizes[k]];
+			sizes[k] = 0;
+		}
+		for (int doc = 0; doc < n; doc++) {
+			int k = kindOf[doc];
+			if (k >= 0) {
+				kindDocs[k][sizes[k]++] = doc;
+			}
+		}
+
+		// 이율 색인 (이율이 없는 상품은 범위 검색에서 항상 제외됩니다)
+		this.rateOf = new double[n];
+		for (int doc = 0; doc < n; doc++) {
+			Double rate = products[doc].getProductRate();
+			rateOf[doc] = rate == null ? Double.NaN : rate;
+		}
+		this.rateDocs = IntStream.range(0, n).filter(doc -> !Double.isNaN(rateOf[doc])).boxed()
+				.sorted(Comparator.comparingDouble(doc -> rateOf[doc]))
+				.mapToInt(Integer::intValue).toArray();
+		this.rates = new double[rateDocs.length];
+		for (int i = 0; i < rateDocs.length; i++) {
+			rates[i] = rateOf[rateDocs[i]];
+		}
+
+		// 이름 색인
+		this.nameOf = new String[n];
+		for (int doc = 0; doc < n; doc++) {
+			String name = products[doc].getProductName();
+			nameOf[doc] = name == null ? "" : name.toLowerCase();
+		}
+		this.nameDocs = IntStream.range(0, n).boxed()
+				.sorted(Comparator.comparing(doc -> nameOf[doc]))
+				.mapToInt(Integer::intValue).toArray();
+		this.names = new String[n];
+		for (int i = 0; i < n; i++) {
+			names[i] = nameOf[nameDocs[i]];
+		}
+	}
+
+	public long getVersion() {
+		return this.version;
+	}
+
+	public int size() {
+		return this.products.length;
+	}
+
+	// 조건에 맞는 상품 수와 종류별 개수를 계산하고, Pager가 가리키는 페이지의 상품들을 반환합니다.
+	// Pager에는 번호 블럭 계산 결과(makeNum)를 채웁니다.
+	public ProductSearchResult search(ProductQuery query, Pager pager) {
+		// 종류 조건 : -1이면 조건 없음, -2이면 없는 종류(결과 없음)
+		int kind = -1;
+		if (query.getKindNum() != null) {
+			kind = Arrays.binarySearch(kindNums, query.getKindNum());
+			if (kind < 0) {
+				kind = -2;
+			}
+		}
+		Double minRate = query.getMinRate();
+		Double maxRate = query.getMaxRate();
+		boolean byRate = minRate != null || maxRate != null;
+		String prefix = query.getNamePrefix();
+		boolean byName = !prefix.isEmpty();
+
+		int[] counts = new int[kindNums.length];
+		ProductSearchResult result = new ProductSearchResult();
+
+		if (!byRate && !byName) {
+			// 종류 조건만 있거나 조건이 없으면 색인의 크기가 곧 개수이므로 상품을 훑지 않습니다.
+			for (int k = 0; k < kindNums.length; k++) {
+				counts[k] = kindDocs[k].length;
+			}
+			int[] docs = kind >= 0 ? kindDocs[kind] : null;
+			int total = kind == -1 ? products.length : (docs == null ? 0 : docs.length);
+			pager.makeNum((long) total);
+			result.setTotalCount(total);
+			result.setList(this.page(total, pager, i -> docs == null ? i : docs[i]));
+		} else {
+			// 범위가 더 좁은 색인 구간을 골라 한 번만 훑습니다.
+			int rateFrom = 0;
+			int rateTo = rates.length;
+			if (byRate) {
+				rateFrom = minRate == null ? 0 : this.rateBound(minRate, false);
+				rateTo = maxRate == null ? rates.length : this.rateBound(maxRate, true);
+			}
+			int nameFrom = 0;
+			int nameTo = names.length;
+			if (byName) {
+				nameFrom = this.nameFrom(prefix);
+				nameTo = this.nameTo(prefix, nameFrom);
+			}
+			boolean rateFirst = byRate && (!byName || rateTo - rateFrom <= nameTo - nameFrom);
+			int[] driver = rateFirst ? rateDocs : nameDocs;
+			int from = rateFirst ? rateFrom : nameFrom;
+			int to = rateFirst ? rateTo : nameTo;
+
+			BitSet hits = new BitSet(products.length);
+			for (int i = from; i < to; i++) {
+				int doc = driver[i];
+				if (rateFirst && byName && !nameOf[doc].startsWith(prefix)) {
+					continue;
+				}
+				if (!rateFirst && byRate && !this.rateMatches(doc, minRate, maxRate)) {
+					continue;
+				}
+				int k = kindOf[doc];
+				if (k >= 0) {
+					counts[k]++;
+				}
+				if (kind == -1 || k == kind) {
+					hits.set(doc);
+				}
+			}
+
+			int total = hits.cardinality();
+			pager.makeNum((long) total);
+			result.setTotalCount(total);
+			result.setList(this.page(hits, total, pager));
+		}
+
+		Map<Long, Integer> kindCounts = new LinkedHashMap<>();
+		for (int k = 0; k < kindNums.length; k++) {
+			kindCounts.put(kindNums[k], counts[k]);
+		}
+		result.setKindCounts(kindCounts);
+		return result;
+	}
+
+	// 결과의 i번째 상품 위치를 반환하는 함수입니다.
+	private interface DocAt {
+		int get(int i);
+	}
+
+	// 결과 위치를 차례대로 꺼낼 수 있을 때(전체 또는 한 종류) 요청한 페이지만 잘라서 반환합니다.
+	private List<ProductVO> page(int total, Pager pager, DocAt docAt) {
+		if (total == 0) {
+			return List.of();
+		}
+		int start = pager.getStartIndex().intValue();
+		int end = (int) Math.min(total, (long) start + pager.getPerPage());
+		ProductVO[] page = new ProductVO[Math.max(end - start, 0)];
+		for (int i = start; i < end; i++) {
+			page[i - start] = products[docAt.get(i)];
+		}
+		return List.of(page);
+	}
+
+	// BitSet에 표시된 결과 중 요청한 페이지만 목록 순서대로 반환합니다.
+	private List<ProductVO> page(BitSet hits, int total, Pager pager) {
+		if (total == 0) {
+			return List.of();
+		}
+		long start = pager.getStartIndex();
+		int size = (int) Math.max(Math.min(total - start, pager.getPerPage()), 0);
+		ProductVO[] page = new ProductVO[size];
+		int doc = hits.nextSetBit(0);
+		for (long skip = 0; skip < start; skip++) {
+			doc = hits.nextSetBit(doc + 1);
+		}
+		for (int i = 0; i < size; i++) {
+			page[i] = products[doc];
+			doc = hits.nextSetBit(doc + 1);
+		}
+		return List.of(page);
+	}
+
+	private boolean rateMatches(int doc, Double minRate, Double maxRate) {
+		double rate = rateOf[doc];
+		if (Double.isNaN(rate)) {
+			return false;
+		}
+		return (minRate == null || rate >= minRate) && (maxRate == null || rate <= maxRate);
+	}
+
+	// 정렬된 이율 배열에서 key 이상(after가 true이면 key 초과)인 첫 위치를 찾습니다.
+	private int rateBound(double key, boolean after) {
+		int low = 0;
+		int high = rates.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (rates[mid] < key || (after && rates[mid] == key)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	// 정렬된 이름 배열에서 prefix 이상인 첫 위치를 찾습니다. (prefix로 시작하는 구간의 시작)
+	private int nameFrom(String prefix) {
+		int low = 0;
+		int high = names.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (names[mid].compareTo(prefix) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	// from부터 prefix로 시작하지 않는 첫 위치를 찾습니다. (prefix로 시작하는 구간의 끝)
+	private int nameTo(String prefix, int from) {
+		int low = from;
+		int high = names.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (names[mid].startsWith(prefix)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
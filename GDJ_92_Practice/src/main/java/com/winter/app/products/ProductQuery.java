@@ -0,0 +1,38 @@
+package com.winter.app.products;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+// 상품 검색 조건입니다. (/products/list의 파라미터)
+// 값이 없는(null 또는 빈 문자열) 조건은 검사하지 않습니다.
+@Getter
+@Setter
+@ToString
+public class ProductQuery {
+
+	// 상품 종류 번호입니다.
+	private Long kindNum;
+
+	// 상품 이율(productRate)의 범위입니다. 두 값 모두 범위에 포함됩니다.
+	private Double minRate;
+	private Double maxRate;
+
+	// 상품 이름의 앞부분입니다. 대소문자를 구분하지 않습니다.
+	private String name;
+
+	// 이름 조건을 비교할 수 있도록 앞뒤 공백을 없애고 소문자로 바꾼 값을 반환합니다.
+	public String getNamePrefix() {
+		if (this.name == null) {
+			return "";
+		}
+		return this.name.trim().toLowerCase();
+	}
+
+	// 카탈로그를 읽는 중 DB에서 검색할 때 사용하는 LIKE 패턴입니다. (productDAO.xml의 searchCondition)
+	// 이름에 들어 있는 %, _ 를 와일드카드가 아닌 일반 문자로 비교하도록 ! 를 앞에 붙입니다. (ESCAPE '!')
+	// 메모리 색인(ProductIndex)의 startsWith와 같은 결과가 나오게 하기 위함입니다.
+	public String getNameLike() {
+		return this.getNamePrefix().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+	}
+}
@@ -0,0 +1,25 @@
+package com.winter.app.products;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+// 상품 검색 결과입니다.
+@Getter
+@Setter
+@ToString
+public class ProductSearchResult {
+
+	// 요청한 페이지의 상품 목록입니다.
+	private List<ProductVO> list;
+
+	// 조건에 맞는 전체 상품 수입니다.
+	private int totalCount;
+
+	// 종류 번호 -> 그 종류에서 조건에 맞는 상품 수 (종류 조건을 뺀 나머지 조건 기준)
+	// 화면의 종류 버튼에 '이 종류를 고르면 몇 개가 나오는지'를 표시하는 데 사용합니다.
+	private Map<Long, Integer> kindCounts;
+}
@@ -1,11 +1,19 @@
 package com.winter.app.products;
 
 // 필요한 클래스들을 가져옵니다.
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.winter.app.board.notice.NoticeService;
+import com.winter.app.commons.AfterCommit;
+import com.winter.app.commons.Pager;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
 // @Service: 이 클래스가 비즈니스 로직을 처리하는 '서비스' 계층의 컴포넌트임을 Spring에게 알립니다.
 // 이 어노테이션을 통해 Spring이 이 클래스를 객체(Bean)로 관리하게 됩니다.
@@ -19,6 +27,14 @@ public class ProductService {
 	// 이 DAO를 통해 데이터베이스 관련 작업을 수행합니다.
 	@Autowired
 	private ProductDAO productDAO;
+	
+	// 상품 목록/상세를 DB 대신 메모리에서 읽기 위한 카탈로그입니다.
+	@Autowired
+	private ProductCatalog productCatalog;
+	
+	// CSV 일괄 등록을 처리합니다.
+	@Autowired
+	private ProductImporter productImporter;
 
     // 생성자를 통한 의존성 주입(Constructor Injection) 방식입니다.
     // Spring이 ProductService 객체를 생성할 때, NoticeService 객체를 자동으로 넣어줍니다.
@@ -27,33 +43,99 @@ public class ProductService {
     }
 	
 	// 상품 목록을 조회하는 서비스 메서드입니다.
+	// 카탈로그를 읽어 온 뒤에는 DB를 거치지 않고 메모리의 목록을 반환합니다.
 	public List<ProductVO> list()throws Exception{
-		// 별도의 비즈니스 로직 없이, DAO의 list 메서드를 그대로 호출하여 결과를 반환합니다.
+		List<ProductVO> list = productCatalog.list();
+		if(list != null) {
+			return list;
+		}
+		// 카탈로그를 아직 읽는 중이면 DAO의 list 메서드로 DB에서 조회합니다.
 		return productDAO.list();
 	}
 	
+	// 종류, 이율 범위, 이름 앞부분으로 상품을 검색하는 서비스 메서드입니다.
+	// 카탈로그의 검색 색인으로 조건에 맞는 상품 수, 종류별 개수, 요청한 페이지의 목록을 함께 구합니다.
+	public ProductSearchResult search(ProductQuery productQuery, Pager pager)throws Exception{
+		ProductIndex index = productCatalog.index();
+		if(index != null) {
+			return index.search(productQuery, pager);
+		}
+		// 카탈로그를 아직 읽는 중이면(애플리케이션 시작 직후) 색인 없이 DB에서 검색합니다.
+		// 요청마다 전체 목록으로 임시 색인을 만들면, 시작 직후 몰린 요청 수만큼 모든 상품을 읽고 정렬하게 됩니다.
+		ProductSearchResult result = new ProductSearchResult();
+		Long total = productDAO.searchCount(productQuery);
+		pager.makeNum(total);
+		result.setTotalCount(total.intValue());
+		result.setList(total == 0 ? new ArrayList<>() : productDAO.searchList(productQuery, pager));
+		
+		Map<Long, Integer> kindCounts = new LinkedHashMap<>();
+		for(Map<String, Object> row : productDAO.searchKindCounts(productQuery)) {
+			kindCounts.put(((Number)row.get("kindNum")).longValue(), ((Number)row.get("productCount")).intValue());
+		}
+		result.setKindCounts(kindCounts);
+		return result;
+	}
+	
+	// 목록/검색 결과가 최신 상품으로 만들어지는지 여부입니다.
+	// 검색 색인을 새로 만드는 중이면 false이며, 컨트롤러는 이때 304 응답(조건부 GET)을 하지 않습니다.
+	public boolean isCurrent()throws Exception{
+		return productCatalog.isCurrent();
+	}
+	
+	// 상품 종류 목록을 조회하는 서비스 메서드입니다.
+	public List<ProductKindVO> kinds()throws Exception{
+		if(productCatalog.isReady()) {
+			return productCatalog.kinds();
+		}
+		return productDAO.kindList();
+	}
+	
 	// 특정 상품의 상세 정보를 조회하는 서비스 메서드입니다.
+	// 카탈로그에는 종류 정보(ProductKindVO)도 함께 들어 있으므로 PRODUCTS_KIND를 JOIN 하지 않습니다.
 	public ProductVO detail(ProductVO productVO) throws Exception{
-		// DAO의 detail 메서드를 그대로 호출하여 결과를 반환합니다.
+		if(productCatalog.isReady()) {
+			return productCatalog.detail(productVO.getProductNum());
+		}
+		// 카탈로그를 아직 읽는 중이면 DAO의 detail 메서드로 DB에서 조회합니다.
 		return productDAO.detail(productVO);
 	}
 	
 	// 새로운 상품을 등록하는 서비스 메서드입니다.
+	// 등록이 끝나면 생성된 상품 번호로 카탈로그에 새 상품을 추가합니다.
 	public int insert(ProductVO productVO)throws Exception{
-		// DAO의 insert 메서드를 그대로 호출하여 결과를 반환합니다.
-		return productDAO.insert(productVO);
+		int result = productDAO.insert(productVO);
+		AfterCommit.run(() -> productCatalog.refresh(productVO.getProductNum()));
+		return result;
+	}
+	
+	// CSV 파일로 상품을 일괄 등록하는 서비스 메서드입니다.
+	// 업로드된 파일을 한꺼번에 읽지 않고 스트림으로 넘겨 한 행씩 처리합니다. (ProductImporter 참고)
+	public ProductImportResult importCsv(MultipartFile csv)throws Exception{
+		try (InputStream in = csv.getInputStream()) {
+			return productImporter.importCsv(in);
+		}
+	}
+	
+	// 내보내기(CSV/NDJSON)용으로 모든 상품을 한 행씩 넘겨주는 서비스 메서드입니다.
+	// 카탈로그가 아닌 DB에서 읽어 내보내는 시점의 최신 값을 사용합니다.
+	public void exportList(ResultHandler<ProductVO> handler)throws Exception{
+		productDAO.exportList(handler);
 	}
 	
 	// 기존 상품 정보를 수정하는 서비스 메서드입니다.
+	// 수정이 끝나면 카탈로그의 해당 상품을 DB의 값으로 다시 읽습니다.
 	public int update(ProductVO productVO)throws Exception{
-		// DAO의 update 메서드를 그대로 호출하여 결과를 반환합니다.
-		return productDAO.update(productVO);
+		int result = productDAO.update(productVO);
+		AfterCommit.run(() -> productCatalog.refresh(productVO.getProductNum()));
+		return result;
 	}
 	
 	// 특정 상품을 삭제하는 서비스 메서드입니다.
+	// 삭제가 끝나면 카탈로그에서도 해당 상품을 뺍니다.
 	public int delete(ProductVO productVO)throws Exception{
-		// DAO의 delete 메서드를 그대로 호출하여 결과를 반환합니다.
-		return productDAO.delete(productVO);
+		int result = productDAO.delete(productVO);
+		AfterCommit.run(() -> productCatalog.refresh(productVO.getProductNum()));
+		return result;
 	}
 
 }
\ No newline at end of file
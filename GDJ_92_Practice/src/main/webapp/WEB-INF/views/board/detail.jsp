@@ -3,6 +3,8 @@
     pageEncoding="UTF-8"%>
 <%-- JSTL Core 태그 라이브러리를 'c'라는 접두사로 사용하겠다고 선언합니다. --%>
 <%@ taglib prefix="c" uri="jakarta.tags.core" %>    
+<%-- 렌더링된 화면 조각을 캐시하는 커스텀 태그(app:fragment)를 선언합니다. --%>
+<%@ taglib prefix="app" uri="/WEB-INF/tld/app.tld" %>
 <!DOCTYPE html>
 <html>
 <head>
@@ -30,6 +32,11 @@
 					--%>
 					<h1>${board} Detail page</h1>
 					
+					<%-- 
+						제목, 본문, 첨부파일 목록은 렌더링된 HTML을 캐시합니다. (BoardFragmentCache)
+						캐시에 있으면 컨트롤러가 상세 정보를 조회하지 않고, 아래 내용도 실행하지 않고 보관된 HTML을 출력합니다.
+					--%>
+					<app:fragment fragment="${fragment}">
 					<%-- 컨트롤러에서 전달된 게시글 정보(vo) 객체의 제목과 내용을 출력합니다. --%>
 					<h3>${vo.boardTitle}</h3>
 					<%-- 
@@ -56,10 +63,15 @@
 							- ${f.oriName}은 사용자가 업로드했던 원본 파일명을 화면에 표시합니다.
 						--%>
 						<h4><a href="./fileDown?fileNum=${f.fileNum}">${f.oriName}</a></h4>
+						<%-- 이미지 첨부파일은 원본 대신 썸네일(size=thumb)을 표시합니다. 누르면 원본을 받습니다. --%>
+						<c:if test="${f.image}">
+							<a href="./fileDown?fileNum=${f.fileNum}"><img src="./fileDown?fileNum=${f.fileNum}&size=thumb" alt="${f.oriName}" loading="lazy"></a>
+						</c:if>
 						<%-- 서버에 저장된 실제 파일명을 출력합니다. (개발 확인용으로 사용될 수 있습니다) --%>
 						<h4>${f.saveName}</h4>
 						</c:forEach>
 					</div>
+					</app:fragment>
 					
 					<%-- 수정, 삭제, 답글 등 기능 버튼이 있는 영역 --%>
 					<div>
@@ -3,6 +3,8 @@
     pageEncoding="UTF-8"%>
 <%-- JSTL Core 태그 라이브러리를 'c'라는 접두사로 사용하겠다고 선언합니다. --%>
 <%@ taglib prefix="c" uri="jakarta.tags.core" %>    
+<%-- 렌더링된 화면 조각을 캐시하는 커스텀 태그(app:fragment)를 선언합니다. --%>
+<%@ taglib prefix="app" uri="/WEB-INF/tld/app.tld" %>
 <!DOCTYPE html>
 <html>
 <head>
@@ -52,6 +54,11 @@
 							</form>
 						</div>
 						
+						<%-- 
+							목록 표, 페이지 번호, 다음 목록 링크는 렌더링된 HTML을 캐시합니다. (BoardFragmentCache)
+							캐시에 있으면 컨트롤러가 목록을 조회하지 않고, 아래 내용도 실행하지 않고 보관된 HTML을 출력합니다.
+						--%>
+						<app:fragment fragment="${fragment}">
 						<%-- 게시물 목록을 보여주는 테이블 --%>
 						<table class="table table-striped">
 							<thead>
@@ -89,6 +96,10 @@
 										<c:otherwise>										
 											<%-- 게시글 제목을 클릭하면 상세 페이지로 이동하는 링크 --%>
 											<a href="./detail?boardNum=${vo.boardNum}">${vo.boardTitle}</a>
+											<%-- 본문 대신 저장해 둔 미리보기(태그를 뺀 본문 앞부분)를 제목 아래에 보여줍니다. --%>
+											<c:if test="${not empty vo.boardPreview}">
+												<div class="small text-muted text-truncate" style="max-width: 40rem;"><c:out value="${vo.boardPreview}" /></div>
+											</c:if>
 										</c:otherwise>
 									</c:choose>
 									</td>
@@ -101,6 +112,8 @@
 						</table>
 						
 						<%-- 페이지네이션(페이지 번호) UI --%>
+						<%-- 커서(Seek) 방식으로 조회한 경우에는 전체 개수를 계산하지 않으므로 번호 블럭을 표시하지 않습니다. --%>
+						<c:if test="${not pager.seek}">
 						<div>
 							<nav>
 							  <ul class="pagination">
@@ -129,6 +142,32 @@
 							  </ul>
 							</nav>
 						</div>
+						</c:if>
+						
+						<%-- 
+							커서(Seek) 방식의 '다음 목록' 링크입니다.
+							커서 방식(lastNum/lastPath)으로 조회한 목록이고, 서비스가 채워준 다음 커서(notice: nextNum, qna: nextPath)가 있을 때만 표시됩니다.
+							번호 블럭(pageNum) 방식에서는 위의 페이지 번호로 이동하므로 표시하지 않습니다.
+						--%>
+						<c:if test="${pager.seek and (not empty pager.nextNum or not empty pager.nextPath)}">
+						<c:url var="nextUrl" value="./list">
+							<c:param name="kind" value="${pager.kind}"></c:param>
+							<c:param name="keyword" value="${pager.keyword}"></c:param>
+							<c:param name="perPage" value="${pager.perPage}"></c:param>
+							<c:choose>
+								<c:when test="${not empty pager.nextPath}">
+									<c:param name="lastPath" value="${pager.nextPath}"></c:param>
+								</c:when>
+								<c:otherwise>
+									<c:param name="lastNum" value="${pager.nextNum}"></c:param>
+								</c:otherwise>
+							</c:choose>
+						</c:url>
+						<div class="mb-3">
+							<a href="${nextUrl}" class="btn btn-outline-secondary">다음 목록</a>
+						</div>
+						</c:if>
+						</app:fragment>
 						
 						<%-- 글쓰기 페이지로 이동하는 버튼 --%>
 						<div>
@@ -0,0 +1,88 @@
+<%-- JSP 페이지의 언어, 콘텐츠 타입, 인코딩을 설정합니다. --%>
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%-- JSTL Core 태그 라이브러리를 'c' 접두사로 사용하도록 선언합니다. --%>
+<%@ taglib prefix="c" uri="jakarta.tags.core"%>
+<!DOCTYPE html>
+<html>
+<head>
+<meta charset="UTF-8">
+<title>Product Import</title>
+<%-- 공통 CSS 설정이 담긴 JSP 파일을 포함시킵니다. --%>
+<%@ include file="/WEB-INF/views/include/head_css.jsp"%>
+</head>
+<body id="page-top">
+	<div id="wrapper">
+		<%-- 사이드바 메뉴를 동적으로 포함시킵니다. --%>
+		<c:import url="/WEB-INF/views/include/sidebar.jsp"></c:import>
+
+		<div id="content-wrapper" class="d-flex flex-column">
+			<div id="content">
+				<%-- 상단 메뉴바(topbar)를 포함시킵니다. --%>
+				<c:import url="/WEB-INF/views/include/topbar.jsp"></c:import>
+				<div class="container-fluid">
+					<div class="row justify-content-center ">
+						<div class="col-md-8">
+							<h2>상품 CSV 등록</h2>
+							<%--
+								CSV 파일을 업로드하는 폼입니다.
+								첫 줄은 헤더이며 PRODUCT_NAME, KIND_NUM(또는 KIND_NAME)은 필수,
+								PRODUCT_CONTENTS, PRODUCT_DATE(yyyy-MM-dd), PRODUCT_RATE는 선택입니다. (UTF-8)
+							--%>
+							<form method="post" enctype="multipart/form-data" class="mb-4">
+								<div class="mb-3">
+									<label for="csv" class="form-label">CSV 파일</label>
+									<input type="file" class="form-control" name="csv" id="csv" accept=".csv,text/csv">
+									<small class="text-muted">PRODUCT_NAME, PRODUCT_CONTENTS, PRODUCT_DATE, PRODUCT_RATE, KIND_NUM(또는 KIND_NAME)</small>
+								</div>
+								<button type="submit" class="btn btn-primary">등록</button>
+								<a href="./list" class="btn btn-outline-secondary">목록</a>
+							</form>
+
+							<%-- 등록 결과입니다. 오류가 난 행은 건너뛰고 나머지 행은 추가됩니다. --%>
+							<c:if test="${not empty result}">
+								<c:choose>
+									<c:when test="${not empty result.message}">
+										<div class="alert alert-danger"><c:out value="${result.message}"></c:out></div>
+									</c:when>
+									<c:otherwise>
+										<div class="alert ${result.failed eq 0 ? 'alert-success' : 'alert-warning'}">
+											${result.total}행 중 ${result.inserted}건 추가, ${result.failed}건 오류
+										</div>
+										<c:if test="${result.failed gt 0}">
+										<table class="table table-sm table-striped">
+											<thead>
+												<tr>
+													<th>Line</th>
+													<th>Reason</th>
+												</tr>
+											</thead>
+											<tbody>
+											<c:forEach items="${result.errors}" var="error">
+												<tr>
+													<td>${error.line}</td>
+													<td><c:out value="${error.reason}"></c:out></td>
+												</tr>
+											</c:forEach>
+											</tbody>
+										</table>
+										<c:if test="${result.failed gt result.errors.size()}">
+											<div class="text-muted">앞쪽 ${result.errors.size()}건만 표시했습니다.</div>
+										</c:if>
+										</c:if>
+									</c:otherwise>
+								</c:choose>
+							</c:if>
+						</div>
+					</div>
+				</div>
+			</div>
+			<c:import url="/WEB-INF/views/include/footer.jsp"></c:import>
+		</div>
+
+
+	</div>
+	<%-- 공통 JavaScript 파일들(jQuery, Bootstrap 등)을 포함시킵니다. --%>
+	<c:import url="/WEB-INF/views/include/tail.jsp"></c:import>
+
+</body>
+</html>
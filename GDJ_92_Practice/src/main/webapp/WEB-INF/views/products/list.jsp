@@ -22,6 +22,33 @@
 				<c:import url="/WEB-INF/views/include/topbar.jsp"></c:import>
 				<div class="container-fluid">
 					<div class="row col-md-8 offset-md-2">
+						<%-- 
+							상품 검색 폼입니다. 종류 버튼을 누르거나 페이지 번호를 누르면 hidden input의 값을 바꿔 이 폼을 다시 제출합니다.
+							(페이지 번호 클릭은 게시판과 같은 board_list.js를 사용합니다)
+						--%>
+						<form id="searchForm">
+						<input type="hidden" id="pageNum" name="pageNum">
+						<input type="hidden" id="kindNum" name="kindNum" value="${query.kindNum}">
+						<div class="input-group mb-3">
+						  <input type="text" class="form-control" value="${query.name}" name="name" placeholder="상품 이름">
+						  <input type="number" step="0.01" class="form-control" value="${query.minRate}" name="minRate" placeholder="최소 이율">
+						  <input type="number" step="0.01" class="form-control" value="${query.maxRate}" name="maxRate" placeholder="최대 이율">
+						  <button class="btn btn-outline-secondary" type="submit">Search</button>
+						</div>
+						</form>
+						
+						<%-- 
+							상품 종류별로 볼 수 있는 버튼입니다. 선택한 종류는 버튼 색을 바꿔 표시합니다.
+							괄호 안의 숫자는 이름/이율 조건은 그대로 두고 그 종류를 골랐을 때 나오는 상품 수입니다.
+						--%>
+						<div class="mb-3">
+							<button type="button" class="btn btn-sm kind ${empty query.kindNum ? 'btn-primary' : 'btn-outline-primary'}" data-kind="">All</button>
+							<c:forEach items="${kinds}" var="kind">
+								<button type="button" class="btn btn-sm kind ${query.kindNum eq kind.kindNum ? 'btn-primary' : 'btn-outline-primary'}" data-kind="${kind.kindNum}"><c:out value="${kind.kindName}"></c:out> (${empty kindCounts[kind.kindNum] ? 0 : kindCounts[kind.kindNum]})</button>
+							</c:forEach>
+						</div>
+						<div class="mb-2">검색 결과 ${totalCount}건</div>
+						
 						<%-- 상품 목록을 표시하는 테이블 --%>
 						<table class="table table-striped">
 							<thead>
@@ -53,9 +80,32 @@
 							</tbody>
 						</table>
 						
+						<%-- 페이지네이션(페이지 번호) UI. data-pn 값으로 검색 폼을 다시 제출합니다. --%>
+						<div>
+							<nav>
+							  <ul class="pagination">
+							    <li class="page-item">
+							      <a class="page-link pn" data-pn="${pager.startNum-1}" aria-label="Previous">
+							        <span>&laquo;</span>
+							      </a>
+							    </li>
+							    <c:forEach begin="${pager.startNum}" end="${pager.endNum}" var="i">
+							    <li class="page-item"><a class="page-link pn" data-pn="${i}">${i}</a></li>
+							  	</c:forEach>
+							    <li class="page-item">
+							      <a class="page-link pn" data-pn="${pager.endNum+1}" aria-label="Next">
+							        <span>&raquo;</span>
+							      </a>
+							    </li>
+							  </ul>
+							</nav>
+						</div>
+						
 						<%-- 상품 등록 페이지로 이동하는 버튼 --%>
 						<div>
 							<a href="./add" class="btn btn-outline-success">상품등록</a>
+							<a href="./import" class="btn btn-outline-secondary">CSV 등록</a>
+							<a href="./export?format=csv" class="btn btn-outline-secondary">CSV 내보내기</a>
 						</div>
 						
 					</div>
@@ -69,5 +119,18 @@
 	<%-- 공통 JavaScript 파일들(jQuery, Bootstrap 등)을 포함시킵니다. --%>
 	<c:import url="/WEB-INF/views/include/tail.jsp"></c:import>
 	
+	<%-- 페이지 번호 클릭은 게시판 목록과 같은 스크립트로 처리합니다. --%>
+	<script type="text/javascript" src="/js/board/board_list.js"></script>
+	<script type="text/javascript">
+		// 종류 버튼을 누르면 종류 번호를 바꾸고 1페이지부터 다시 검색합니다.
+		document.querySelectorAll(".kind").forEach(function(item){
+			item.addEventListener("click", function(){
+				document.querySelector("#kindNum").value = this.getAttribute("data-kind");
+				document.querySelector("#pageNum").value = 1;
+				document.querySelector("#searchForm").submit();
+			})
+		});
+	</script>
+	
 </body>
 </html>
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.winter.app.board;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.winter.app.board.notice.NoticeVO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * BoardDetailCache가 인기 글 위주의 조회에서 DB 왕복을 얼마나 줄이는지 측정하는 테스트입니다.
+ * DB 없이 실행할 수 있도록 loader 호출 횟수를 DB 왕복 횟수로 보고 계산합니다.
+ */
+@Slf4j
+class BoardDetailCacheTest {
+
+	// 전체 게시글 수와 조회 요청 수입니다.
+	private static final int POSTS = 10_000;
+	private static final int REQUESTS = 200_000;
+
+	// 캐시 크기는 운영 설정(app.cache.detail.size)과 같게 맞춥니다.
+	private static final int CACHE_SIZE = 1000;
+
+	// Zipf 분포의 기울기입니다. 1에 가까울수록 소수의 인기 글에 조회가 몰립니다.
+	private static final double SKEW = 1.0;
+
+	@Test
+	void zipfianReadTest() throws Exception {
+		Zipf zipf = new Zipf(POSTS, SKEW, new Random(92));
+		long[] samples = new long[REQUESTS];
+		for (int i = 0; i < REQUESTS; i++) {
+			samples[i] = zipf.next();
+		}
+
+		// 1. 캐시 없이 조회하면 모든 요청이 DB를 거칩니다.
+		AtomicLong noCache = new AtomicLong();
+		long start = System.nanoTime();
+		for (long num : samples) {
+			this.load(num, noCache);
+		}
+		long noCacheTime = System.nanoTime() - start;
+
+		// 2. 캐시를 거쳐 조회하면 캐시에 없는 글만 DB를 거칩니다.
+		BoardDetailCache cache = new BoardDetailCache(CACHE_SIZE, 600_000);
+		AtomicLong withCache = new AtomicLong();
+		start = System.nanoTime();
+		for (long num : samples) {
+			BoardVO vo = cache.detail("notice", num, () -> this.load(num, withCache));
+			assertEquals(num, vo.getBoardNum());
+		}
+		long withCacheTime = System.nanoTime() - start;
+
+		log.info("requests={}, posts={}, cacheSize={}", REQUESTS, POSTS, CACHE_SIZE);
+		log.info("no cache   : db round trips={}, {} ms", noCache.get(), noCacheTime / 1_000_000);
+		log.info("with cache : db round trips={}, {} ms, {}", withCache.get(), withCacheTime / 1_000_000, cache.stats());
+
+		assertEquals(REQUESTS, noCache.get());
+		// 인기 글에 조회가 몰리므로 DB 왕복이 절반 이하로 줄어들어야 합니다.
+		assertTrue(withCache.get() < REQUESTS / 2);
+	}
+
+	@Test
+	void evictTest() throws Exception {
+		BoardDetailCache cache = new BoardDetailCache(10, 600_000);
+		AtomicLong count = new AtomicLong();
+
+		cache.detail("notice", 1L, () -> this.load(1L, count));
+		cache.detail("notice", 1L, () -> this.load(1L, count));
+		assertEquals(1, count.get());
+
+		// 반환된 객체를 바꿔도 캐시된 원본에는 영향이 없어야 합니다.
+		BoardVO copy = cache.detail("notice", 1L, () -> this.load(1L, count));
+		copy.setBoardHit(999L);
+		assertNotEquals(999L, cache.detail("notice", 1L, () -> this.load(1L, count)).getBoardHit());
+
+		// 본문에 포함된 파일명으로 제거하면 다시 DB에서 읽어야 합니다.
+		cache.evictByFile("notice", "img-1.png");
+		cache.detail("notice", 1L, () -> this.load(1L, count));
+		assertEquals(2, count.get());
+
+		cache.evict("notice", 1L);
+		cache.detail("notice", 1L, () -> this.load(1L, count));
+		assertEquals(3, count.get());
+	}
+
+	@Test
+	void addHitTest() throws Exception {
+		BoardDetailCache cache = new BoardDetailCache(10, 600_000);
+		AtomicLong count = new AtomicLong();
+
+		cache.detail("notice", 1L, () -> this.load(1L, count));
+
+		// 조회수가 반영되어도 제거하지 않고 캐시된 조회수만 올라가야 합니다.
+		long before = cache.hitMark();
+		cache.hitMark();
+		cache.addHit("notice", 1L, 5, before);
+		before = cache.hitMark();
+		cache.hitMark();
+		cache.addHit("notice", 1L, 3, before);
+		assertEquals(8L, cache.detail("notice", 1L, () -> this.load(1L, count)).getBoardHit());
+		assertEquals(1, count.get());
+
+		// 캐시에 없는 글은 아무것도 하지 않습니다.
+		cache.addHit("notice", 2L, 5, cache.hitMark());
+		assertEquals(0L, cache.detail("notice", 2L, () -> this.load(2L, count)).getBoardHit());
+	}
+
+	@Test
+	void addHitAfterReloadTest() throws Exception {
+		BoardDetailCache cache = new BoardDetailCache(10, 600_000);
+		AtomicLong count = new AtomicLong();
+
+		// 조회수 5를 DB에 반영하는 동안 캐시가 비어 있었고, 반영한 뒤에 DB에서 다시 읽었다면(조회수 5 포함) 더하지 않아야 합니다.
+		long before = cache.hitMark();
+		cache.hitMark();
+		cache.detail("notice", 1L, () -> {
+			BoardVO vo = this.load(1L, count);
+			vo.setBoardHit(5L);
+			return vo;
+		});
+		cache.addHit("notice", 1L, 5, before);
+		assertEquals(5L, cache.detail("notice", 1L, () -> this.load(1L, count)).getBoardHit());
+
+		// 반영하는 도중에 읽기 시작한 값은 반영 전후 어느 값인지 알 수 없으므로 캐시에 넣지 않습니다.
+		cache.detail("notice", 2L, () -> {
+			cache.hitMark();
+			return this.load(2L, count);
+		});
+		cache.detail("notice", 2L, () -> this.load(2L, count));
+		assertEquals(3, count.get());
+	}
+
+	// detail 쿼리 대신 호출되는 loader입니다. 호출 횟수를 DB 왕복 횟수로 기록합니다.
+	private BoardVO load(long num, AtomicLong count) {
+		count.incrementAndGet();
+		NoticeVO vo = new NoticeVO();
+		vo.setBoardNum(num);
+		vo.setBoardTitle("title " + num);
+		vo.setBoardContents("<p>contents</p><img src=\"/files/notice/img-" + num + ".png\">");
+		vo.setBoardHit(0L);
+		return vo;
+	}
+
+	// 1 ~ n 사이의 번호를 Zipf 분포로 뽑습니다. (누적 확률표 + 이진 탐색)
+	private static class Zipf {
+		private final double[] cdf;
+		private final Random random;
+
+		Zipf(int n, double skew, Random random) {
+			this.random = random;
+			this.cdf = new double[n];
+			double sum = 0;
+			for (int i = 0; i < n; i++) {
+				sum += 1.0 / Math.pow(i + 1, skew);
+				cdf[i] = sum;
+			}
+			for (int i = 0; i < n; i++) {
+				cdf[i] /= sum;
+			}
+		}
+
+		long next() {
+			double r = random.nextDouble();
+			int lo = 0;
+			int hi = cdf.length - 1;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (cdf[mid] < r) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+			return lo + 1;
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.winter.app.board.notice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import com.winter.app.board.BoardVO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 본문이 크고 첨부파일이 많은 공지사항의 상세 조회 비용을 비교합니다.
+ * - 기존 방식: NOTICE LEFT JOIN NOTICEFILES (첨부파일 수만큼 행이 생기고 행마다 본문이 반복 전송)
+ * - 변경 방식: NOTICE 한 행 + NOTICEFILES 목록 (detailResult의 collection select)
+ * 두 방식 모두 JdbcTemplate으로 모든 컬럼을 끝까지 읽어 같은 조건에서 비교하고, 전송된 본문 크기도 함께 기록합니다.
+ * 측정용 글은 테스트가 끝나면 지웁니다.
+ */
+@SpringBootTest
+@Slf4j
+class NoticeDetailBenchmarkTest {
+
+	// 본문 크기(글자 수)와 첨부파일 수의 조합입니다.
+	private static final int[] BODIES = { 10_000, 200_000, 1_000_000 };
+	private static final int[] FILES = { 1, 10, 20 };
+
+	// 측정 횟수와, 측정 전에 버리는 워밍업 횟수입니다.
+	private static final int SAMPLES = 200;
+	private static final int WARMUP = 20;
+
+	private static final String JOIN = "SELECT * FROM NOTICE N LEFT JOIN NOTICEFILES F USING(board_num) WHERE N.BOARD_NUM=?";
+	private static final String POST = "SELECT * FROM NOTICE WHERE BOARD_NUM=?";
+	private static final String FILE_LIST = "SELECT FILE_NUM, ORI_NAME, SAVE_NAME, BOARD_NUM FROM NOTICEFILES WHERE BOARD_NUM=? ORDER BY FILE_NUM ASC";
+
+	@Autowired
+	private NoticeDAO noticeDAO;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void detailLatencyTest() throws Exception {
+		for (int body : BODIES) {
+			for (int files : FILES) {
+				long boardNum = this.insert(body, files);
+				try {
+					this.compare(boardNum, body, files);
+				} finally {
+					jdbcTemplate.update("DELETE FROM NOTICEFILES WHERE BOARD_NUM=?", boardNum);
+					jdbcTemplate.update("DELETE FROM NOTICE WHERE BOARD_NUM=?", boardNum);
+				}
+			}
+		}
+	}
+
+	private void compare(long boardNum, int body, int files) throws Exception {
+		// 변경된 detail이 본문 전체와 첨부파일을 모두 채우는지 먼저 확인합니다.
+		BoardVO param = new NoticeVO();
+		param.setBoardNum(boardNum);
+		BoardVO detail = noticeDAO.detail(param);
+		assertEquals(body, detail.getBoardContents().length());
+		assertEquals(files, detail.getBoardFileVOs().size());
+
+		long[] join = new long[SAMPLES];
+		long[] split = new long[SAMPLES];
+		long joinChars = 0;
+		long splitChars = 0;
+
+		for (int i = 0; i < WARMUP + SAMPLES; i++) {
+			// 두 방식을 번갈아 실행해 DB 버퍼 풀 상태가 한쪽에만 유리하지 않게 합니다.
+			long[] chars = new long[1];
+			long start = System.nanoTime();
+			jdbcTemplate.query(JOIN, rs -> {
+				chars[0] += rs.getString("BOARD_CONTENTS").length();
+				rs.getString("SAVE_NAME");
+			}, boardNum);
+			long joinTime = System.nanoTime() - start;
+			joinChars = chars[0];
+
+			chars[0] = 0;
+			start = System.nanoTime();
+			jdbcTemplate.query(POST, rs -> {
+				chars[0] += rs.getString("BOARD_CONTENTS").length();
+			}, boardNum);
+			jdbcTemplate.query(FILE_LIST, rs -> {
+				rs.getString("SAVE_NAME");
+			}, boardNum);
+			long splitTime = System.nanoTime() - start;
+			splitChars = chars[0];
+
+			if (i >= WARMUP) {
+				join[i - WARMUP] = joinTime;
+				split[i - WARMUP] = splitTime;
+			}
+		}
+
+		log.info("body={} files={} : join p50={} ms p99={} ms contents={} / split p50={} ms p99={} ms contents={}",
+				body, files,
+				this.percentile(join, 50), this.percentile(join, 99), joinChars,
+				this.percentile(split, 50), this.percentile(split, 99), splitChars);
+	}
+
+	// 지정한 크기의 본문과 첨부파일 행을 가진 글을 만들고 글 번호를 반환합니다.
+	private long insert(int body, int files) {
+		String contents = "<p>" + "x".repeat(body - 7) + "</p>";
+		KeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.update(con -> {
+			PreparedStatement ps = con.prepareStatement(
+					"INSERT INTO NOTICE (BOARD_NUM, BOARD_TITLE, BOARD_CONTENTS, BOARD_WRITER, BOARD_DATE, BOARD_HIT)"
+							+ " VALUES (NULL, 'detail benchmark', ?, 'tester', now(), 0)",
+					Statement.RETURN_GENERATED_KEYS);
+			ps.setString(1, contents);
+			return ps;
+		}, keyHolder);
+		long boardNum = keyHolder.getKey().longValue();
+		for (int i = 0; i < files; i++) {
+			jdbcTemplate.update("INSERT INTO NOTICEFILES VALUES (NULL, ?, ?, ?)",
+					"file" + i + ".jpg", "benchmark_file" + i + ".jpg", boardNum);
+		}
+		return boardNum;
+	}
+
+	private double percentile(long[] samples, int p) {
+		long[] sorted = samples.clone();
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(sorted.length * p / 100.0) - 1;
+		return sorted[Math.max(index, 0)] / 1_000_000.0;
+	}
+}
@@ -0,0 +1,125 @@
+package com.winter.app.board.notice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winter.app.board.BoardFileVO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 첨부파일 정보를 저장하는 두 방식의 처리량(posts/s)을 첨부파일 1, 5, 20개에 대해 비교합니다.
+ * - 기존 방식: 트랜잭션 없이(autocommit) 게시글 INSERT 후 파일마다 insertFile 호출 (파일 수 + 1번 커밋)
+ * - 변경 방식: 하나의 트랜잭션에서 게시글 INSERT 후 insertFiles 한 번 호출 (1번 커밋)
+ * 디스크 쓰기 시간은 제외하고 DB 메타데이터 저장 비용만 측정합니다.
+ * 측정이 끝나면(실패해도) 등록한 게시글과 첨부파일 행을 모두 지우고, 마지막에 결과를 표로 한 번 더 남깁니다.
+ */
+@SpringBootTest
+@Slf4j
+class NoticeInsertBenchmarkTest {
+
+	// 측정마다 등록할 게시글 수와, 측정 전에 버리는 워밍업 게시글 수입니다.
+	private static final int POSTS = 200;
+	private static final int WARMUP = 20;
+
+	@Autowired
+	private NoticeDAO noticeDAO;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void insertFileThroughputTest() throws Exception {
+		TransactionTemplate tx = new TransactionTemplate(transactionManager);
+		// 테스트 전의 마지막 글 번호입니다. 이보다 큰 번호의 benchmark 글만 지웁니다.
+		Long lastNum = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(BOARD_NUM), 0) FROM NOTICE", Long.class);
+		StringBuilder summary = new StringBuilder();
+		try {
+			for (int files : new int[] { 1, 5, 20 }) {
+				this.run(WARMUP, files, false, tx);
+				long legacy = this.run(POSTS, files, false, tx);
+
+				this.run(WARMUP, files, true, tx);
+				long batched = this.run(POSTS, files, true, tx);
+
+				long legacyRate = POSTS * 1_000_000_000L / legacy;
+				long batchedRate = POSTS * 1_000_000_000L / batched;
+				log.info("attachments={} : per-row autocommit {} posts/s, batched single tx {} posts/s",
+						files, legacyRate, batchedRate);
+				summary.append(String.format("%n%11d | %14d | %14d | %5.1fx", files, legacyRate, batchedRate,
+						(double) batchedRate / legacyRate));
+			}
+			log.info("summary\nattachments | autocommit p/s | single tx p/s | speedup{}", summary);
+		} finally {
+			this.clean(lastNum);
+		}
+	}
+
+	// 이 테스트가 등록한 게시글(제목 benchmark, 작성자 tester)의 첨부파일 행과 게시글 행을 지웁니다.
+	private void clean(long lastNum) {
+		int files = jdbcTemplate.update("DELETE F FROM NOTICEFILES F JOIN NOTICE N ON F.BOARD_NUM = N.BOARD_NUM "
+				+ "WHERE N.BOARD_NUM > ? AND N.BOARD_WRITER = 'tester' AND N.BOARD_TITLE = 'benchmark'", lastNum);
+		int posts = jdbcTemplate.update("DELETE FROM NOTICE WHERE BOARD_NUM > ? AND BOARD_WRITER = 'tester' AND BOARD_TITLE = 'benchmark'",
+				lastNum);
+		log.info("NOTICE benchmark rows deleted={}, NOTICEFILES rows deleted={}", posts, files);
+	}
+
+	// posts개의 게시글을 등록하는 데 걸린 시간(ns)을 반환합니다.
+	private long run(int posts, int files, boolean batched, TransactionTemplate tx) throws Exception {
+		long start = System.nanoTime();
+		for (int i = 0; i < posts; i++) {
+			if (batched) {
+				tx.execute(status -> {
+					try {
+						NoticeVO vo = this.post();
+						noticeDAO.insert(vo);
+						assertEquals(files, noticeDAO.insertFiles(this.files(vo.getBoardNum(), files)));
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+					return null;
+				});
+			} else {
+				NoticeVO vo = this.post();
+				noticeDAO.insert(vo);
+				for (BoardFileVO f : this.files(vo.getBoardNum(), files)) {
+					noticeDAO.insertFile(f);
+				}
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	private NoticeVO post() {
+		NoticeVO vo = new NoticeVO();
+		vo.setBoardTitle("benchmark");
+		vo.setBoardContents("benchmark");
+		vo.setBoardWriter("tester");
+		return vo;
+	}
+
+	private List<BoardFileVO> files(Long boardNum, int count) {
+		List<BoardFileVO> list = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			BoardFileVO f = new BoardFileVO();
+			f.setOriName("file" + i + ".png");
+			f.setSaveName(UUID.randomUUID() + "_file" + i + ".png");
+			f.setBoardNum(boardNum);
+			list.add(f);
+		}
+		return list;
+	}
+}
@@ -0,0 +1,150 @@
+package com.winter.app.board.notice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.winter.app.board.BoardVO;
+import com.winter.app.commons.Pager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 공지사항 목록 조회의 p50/p99 지연 시간을 100만 건에서 비교합니다.
+ * - 기존 방식: totalCount 쿼리 후 list 쿼리 (DB 2번 왕복, 검색 조건을 두 번 전송/파싱)
+ * - 변경 방식: listCount 쿼리 하나 (DB 1번 왕복)
+ * 목록 캐시(BoardListCache)는 거치지 않고 DAO를 직접 호출해 DB 비용만 측정합니다.
+ * NOTICE 테이블이 100만 건보다 적으면 "benchmark" 글을 복제해서 채우고, 측정이 끝나면 채운 글을 모두 지웁니다.
+ * (개발 DB에 남겨 두면 시작할 때마다 검색 색인이 100만 건을 읽게 됩니다)
+ */
+@SpringBootTest
+@Slf4j
+class NoticeListBenchmarkTest {
+
+	private static final long ROWS = 1_000_000;
+
+	// 측정 횟수와, 측정 전에 버리는 워밍업 횟수입니다.
+	private static final int SAMPLES = 1000;
+	private static final int WARMUP = 100;
+
+	// 목록 화면에서 실제로 많이 보는 앞쪽 페이지 범위입니다.
+	private static final int PAGES = 100;
+
+	// 채운 글을 지울 때 한 번에 지우는 행 수입니다. 한 트랜잭션이 undo 로그를 너무 많이 쌓지 않도록 나누어 지웁니다.
+	private static final int DELETE_BATCH = 50_000;
+
+	@Autowired
+	private NoticeDAO noticeDAO;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void listLatencyTest() throws Exception {
+		// 채우기 전의 마지막 글 번호입니다. 이보다 큰 번호의 측정용 글을 테스트가 끝나면 지웁니다.
+		Long lastNum = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(BOARD_NUM), 0) FROM NOTICE", Long.class);
+		try {
+			this.fill();
+
+			// 검색어 없이 앞쪽 페이지를 무작위로 조회합니다.
+			this.compare("no keyword", "", "", SAMPLES);
+			// 제목 LIKE 검색 (검색 색인을 쓰지 못하는 경우)은 한 번에 테이블 전체를 읽으므로 횟수를 줄입니다.
+			this.compare("title LIKE", "k1", "benchmark 7", SAMPLES / 10);
+		} finally {
+			this.clean(lastNum);
+		}
+	}
+
+	private void compare(String name, String kind, String keyword, int samples) throws Exception {
+		Random random = new Random(92);
+		long[] legacy = new long[samples];
+		long[] combined = new long[samples];
+
+		for (int i = 0; i < WARMUP + samples; i++) {
+			long pageNum = random.nextInt(PAGES) + 1;
+
+			// 두 방식을 번갈아 실행해 DB 버퍼 풀 상태가 한쪽에만 유리하지 않게 합니다.
+			long start = System.nanoTime();
+			Pager a = this.pager(kind, keyword, pageNum);
+			a.makeNum(noticeDAO.totalCount(a));
+			List<BoardVO> rowsA = noticeDAO.list(a);
+			long legacyTime = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			Pager b = this.pager(kind, keyword, pageNum);
+			b.makePage();
+			List<BoardVO> rowsB = noticeDAO.listCount(b);
+			if (!rowsB.isEmpty()) {
+				b.makeNum(rowsB.get(0).getTotalCount());
+			}
+			long combinedTime = System.nanoTime() - start;
+
+			// 같은 페이지를 조회했는지 확인합니다.
+			assertEquals(rowsA.size(), rowsB.size());
+			if (!rowsA.isEmpty()) {
+				assertEquals(rowsA.get(0).getBoardNum(), rowsB.get(0).getBoardNum());
+				assertEquals(a.getTotalPage(), b.getTotalPage());
+			}
+
+			if (i >= WARMUP) {
+				legacy[i - WARMUP] = legacyTime;
+				combined[i - WARMUP] = combinedTime;
+			}
+		}
+
+		log.info("{} : totalCount + list p50={} ms p99={} ms / listCount p50={} ms p99={} ms", name,
+				this.percentile(legacy, 50), this.percentile(legacy, 99),
+				this.percentile(combined, 50), this.percentile(combined, 99));
+	}
+
+	private Pager pager(String kind, String keyword, long pageNum) {
+		Pager pager = new Pager();
+		pager.setKind(kind);
+		pager.setKeyword(keyword);
+		pager.setPageNum(pageNum);
+		return pager;
+	}
+
+	private double percentile(long[] samples, int p) {
+		long[] sorted = samples.clone();
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(sorted.length * p / 100.0) - 1;
+		return sorted[Math.max(index, 0)] / 1_000_000.0;
+	}
+
+	// NOTICE 테이블을 100만 건까지 채웁니다. INSERT ... SELECT로 행 수를 두 배씩 늘리므로 20번 정도면 끝납니다.
+	private void fill() {
+		Long count = jdbcTemplate.queryForObject("SELECT COUNT(BOARD_NUM) FROM NOTICE", Long.class);
+		if (count == 0) {
+			jdbcTemplate.update("INSERT INTO NOTICE (BOARD_NUM, BOARD_TITLE, BOARD_CONTENTS, BOARD_WRITER, BOARD_DATE, BOARD_HIT)"
+					+ " VALUES (NULL, 'benchmark 0', 'benchmark', 'tester', now(), 0)");
+			count = 1L;
+		}
+		while (count < ROWS) {
+			long limit = Math.min(count, ROWS - count);
+			jdbcTemplate.update("INSERT INTO NOTICE (BOARD_NUM, BOARD_TITLE, BOARD_CONTENTS, BOARD_WRITER, BOARD_DATE, BOARD_HIT)"
+					+ " SELECT NULL, CONCAT('benchmark ', BOARD_NUM % 1000), 'benchmark', 'tester', now(), 0"
+					+ " FROM NOTICE LIMIT " + limit);
+			count += limit;
+		}
+		log.info("NOTICE rows={}", count);
+	}
+
+	// fill()이 추가한 글(lastNum보다 큰 번호의 측정용 글)을 나누어 지웁니다.
+	private void clean(long lastNum) {
+		long deleted = 0;
+		int rows;
+		do {
+			rows = jdbcTemplate.update("DELETE FROM NOTICE WHERE BOARD_NUM > ? AND BOARD_WRITER = 'tester' LIMIT " + DELETE_BATCH, lastNum);
+			deleted += rows;
+		} while (rows > 0);
+		log.info("NOTICE benchmark rows deleted={}", deleted);
+	}
+}
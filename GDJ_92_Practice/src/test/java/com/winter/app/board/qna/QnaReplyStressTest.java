@@ -0,0 +1,124 @@
+package com.winter.app.board.qna;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 여러 스레드가 같은 글타래에 동시에 답글을 달아도 정렬 경로(BOARD_PATH)가 올바른지 확인하는 테스트입니다.
+ * 예전 STEP 밀어내기 방식은 트랜잭션 없이 동시에 실행되면 STEP이 겹치거나 답글이 엉뚱한 위치에 표시되었습니다.
+ * 확인이 끝나면(실패해도) 등록한 글타래를 모두 지웁니다.
+ */
+@SpringBootTest
+@Slf4j
+class QnaReplyStressTest {
+
+	// 동시에 답글을 다는 스레드 수와 스레드마다 다는 답글 수입니다.
+	private static final int THREADS = 32;
+	private static final int REPLIES = 50;
+
+	@Autowired
+	private QnaService qnaService;
+
+	@Autowired
+	private QnaDAO qnaDAO;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void concurrentReplyTest() throws Exception {
+		// 1. 원본글을 하나 등록합니다.
+		QnaVO root = new QnaVO();
+		root.setBoardTitle("stress root");
+		root.setBoardContents("stress root");
+		root.setBoardWriter("tester");
+		qnaService.insert(root, null);
+
+		// 답글을 달 수 있는 글 번호 목록과, 각 답글이 어느 글에 달렸는지 기록합니다.
+		List<Long> posts = new CopyOnWriteArrayList<>();
+		posts.add(root.getBoardNum());
+		Map<Long, Long> parentOf = new ConcurrentHashMap<>();
+
+		try {
+			// 2. 여러 스레드가 원본글 또는 이미 달린 답글 중 하나를 골라 동시에 답글을 답니다.
+			ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+			List<Future<?>> futures = new ArrayList<>();
+			long start = System.currentTimeMillis();
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < REPLIES; i++) {
+						Long parent = posts.get(ThreadLocalRandom.current().nextInt(posts.size()));
+						QnaVO reply = new QnaVO();
+						reply.setBoardNum(parent);
+						reply.setBoardTitle("re: " + parent);
+						reply.setBoardContents("reply");
+						reply.setBoardWriter("tester");
+						qnaService.reply(reply);
+						parentOf.put(reply.getBoardNum(), parent);
+						posts.add(reply.getBoardNum());
+					}
+					return null;
+				}));
+			}
+			for (Future<?> f : futures) {
+				f.get();
+			}
+			executor.shutdown();
+			long elapsed = System.currentTimeMillis() - start;
+			log.info("replies={}, threads={}, {} ms, {} replies/s", THREADS * REPLIES, THREADS, elapsed,
+					THREADS * REPLIES * 1000L / Math.max(elapsed, 1));
+
+			// 3. 글타래 전체를 목록 순서(BOARD_PATH 오름차순)로 정렬합니다.
+			List<QnaVO> rows = qnaDAO.threadList(root.getBoardNum());
+			rows.sort(Comparator.comparing(QnaVO::getBoardPath));
+			assertEquals(1 + THREADS * REPLIES, rows.size());
+
+			Map<Long, QnaVO> byNum = new HashMap<>();
+			Set<String> paths = new HashSet<>();
+			for (QnaVO vo : rows) {
+				assertNotNull(vo.getBoardPath());
+				assertTrue(paths.add(vo.getBoardPath()), "경로가 중복되었습니다: " + vo.getBoardPath());
+				byNum.put(vo.getBoardNum(), vo);
+			}
+
+			// 4. 모든 답글은 부모 경로로 시작하고, 깊이는 부모보다 1 크며, 목록에서 부모보다 뒤에 나와야 합니다.
+			// 경로가 부모 경로로 시작하므로 정렬하면 부모의 하위 답글들은 항상 부모 바로 아래에 모입니다.
+			Map<Long, Integer> position = new HashMap<>();
+			for (int i = 0; i < rows.size(); i++) {
+				position.put(rows.get(i).getBoardNum(), i);
+			}
+			for (Map.Entry<Long, Long> e : parentOf.entrySet()) {
+				QnaVO child = byNum.get(e.getKey());
+				QnaVO parent = byNum.get(e.getValue());
+				assertTrue(child.getBoardPath().startsWith(parent.getBoardPath()));
+				assertEquals(parent.getBoardDepth() + 1, child.getBoardDepth());
+				assertEquals(QnaPath.depth(child.getBoardPath()), child.getBoardDepth());
+				assertTrue(position.get(child.getBoardNum()) > position.get(parent.getBoardNum()));
+			}
+		} finally {
+			// 5. 이 테스트가 등록한 원본글과 답글(같은 그룹)을 모두 지웁니다.
+			int deleted = jdbcTemplate.update("DELETE FROM QNA WHERE BOARD_REF = ?", root.getBoardNum());
+			log.info("QNA stress rows deleted={}", deleted);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.winter.app.configs;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.web.bind.WebDataBinder;
+
+import com.winter.app.board.BoardListCache;
+import com.winter.app.board.BoardVO;
+import com.winter.app.board.notice.NoticeVO;
+import com.winter.app.commons.ContentVersions;
+import com.winter.app.commons.Pager;
+
+/**
+ * 서비스가 계산하는 Pager 필드(boardNums, nextNum, nextPath 등)를 요청 파라미터로 보내도
+ * 바인딩되지 않아, 모든 사용자가 함께 쓰는 목록 캐시와 '다음 목록' 링크에 영향을 주지 않는지 확인하는 테스트입니다.
+ */
+class PagerBindingTest {
+
+	@Test
+	void computedFieldsTest() throws Exception {
+		Pager pager = this.bind("lastNum", "100", "boardNums", "1", "nextNum", "5", "nextPath", "0000000001",
+				"hasNext", "true", "lookahead", "true", "startIndex", "999", "totalPage", "999");
+
+		// 커서 값은 그대로 받습니다.
+		assertEquals(100L, pager.getLastNum());
+
+		// 계산되는 값은 받지 않습니다.
+		assertNull(pager.getBoardNums());
+		assertNull(pager.getNextNum());
+		assertNull(pager.getNextPath());
+		assertNull(pager.getStartIndex());
+		assertNull(pager.getTotalPage());
+		assertFalse(pager.isHasNext());
+		assertFalse(pager.isLookahead());
+	}
+
+	@Test
+	void listCacheTest() throws Exception {
+		BoardListCache cache = new BoardListCache(10, new ContentVersions());
+		AtomicLong count = new AtomicLong();
+
+		// 조작된 파라미터가 있는 요청이 먼저 목록을 캐시에 넣어도, 후보 번호 조건 없이 조회되어야 합니다.
+		Pager crafted = this.bind("lastNum", "100", "boardNums", "1", "nextNum", "5");
+		List<BoardVO> first = cache.list("notice", crafted, () -> this.load(crafted, count));
+
+		// 같은 키를 쓰는 일반 요청은 그 목록을 그대로 받습니다.
+		Pager normal = this.bind("lastNum", "100");
+		List<BoardVO> second = cache.list("notice", normal, () -> this.load(normal, count));
+
+		assertEquals(1, count.get());
+		assertSame(first, second);
+		assertEquals(10, second.size());
+	}
+
+	// 컨트롤러의 Pager 파라미터와 같은 이름(pager)으로 요청 파라미터를 바인딩합니다.
+	private Pager bind(String... params) {
+		Pager pager = new Pager();
+		WebDataBinder binder = new WebDataBinder(pager, "pager");
+		new PagerBinding().computedFields(binder);
+		MutablePropertyValues values = new MutablePropertyValues();
+		for (int i = 0; i < params.length; i += 2) {
+			values.add(params[i], params[i + 1]);
+		}
+		binder.bind(values);
+		return pager;
+	}
+
+	// listSeek 쿼리 대신 호출되는 loader입니다. 후보 번호 조건(boardNums) 없이 lastNum 다음 글들을 돌려줍니다.
+	private List<BoardVO> load(Pager pager, AtomicLong count) {
+		count.incrementAndGet();
+		assertNull(pager.getBoardNums());
+		List<BoardVO> list = new ArrayList<>();
+		for (long num = pager.getLastNum() - 1; num > pager.getLastNum() - 1 - pager.getPerPage(); num--) {
+			NoticeVO vo = new NoticeVO();
+			vo.setBoardNum(num);
+			list.add(vo);
+		}
+		return list;
+	}
+}
@@ -0,0 +1,51 @@
+package com.winter.app.configs;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.web.util.UriUtils;
+
+import com.winter.app.commons.FileManager;
+
+/**
+ * 하위 폴더로 옮긴(ShardMigrator) 한글 파일명을 /files/** 주소로 찾을 수 있는지 확인하는 테스트입니다.
+ * file: 위치에서는 요청 경로가 URL 인코딩된 상태로 전달되므로, 디코딩한 파일명으로 하위 폴더를 계산해야 합니다.
+ */
+class ShardResourceResolverTest {
+
+	@TempDir
+	Path upload;
+
+	@Test
+	void koreanFileNameTest() throws Exception {
+		String fileName = "0b5c7e1a-2d4f-4e8a-9c3b-6f1d2e3a4b5c_사진.jpg";
+
+		// 옮긴 뒤의 상태 : 하위 폴더에만 있고 예전 위치(notice/파일명)에는 없습니다.
+		File sharded = FileManager.shardFile(upload.resolve("notice").toString(), fileName);
+		sharded.getParentFile().mkdirs();
+		Files.writeString(sharded.toPath(), "image");
+
+		Resource location = new UrlResource(upload.toUri());
+		String resourcePath = "notice/" + UriUtils.encodePath(fileName, StandardCharsets.UTF_8);
+
+		Resource resource = new ShardResourceResolver().getResource(resourcePath, location);
+		assertNotNull(resource);
+		assertEquals(sharded.getCanonicalFile(), resource.getFile().getCanonicalFile());
+	}
+
+	@Test
+	void notFoundTest() throws Exception {
+		Resource location = new UrlResource(upload.toUri());
+		String resourcePath = "notice/" + UriUtils.encodePath("없는파일.jpg", StandardCharsets.UTF_8);
+
+		assertNull(new ShardResourceResolver().getResource(resourcePath, location));
+	}
+}
@@ -0,0 +1,153 @@
+package com.winter.app.products;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import com.winter.app.commons.Pager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 상품 100만 개에서 ProductIndex 검색과, 전체 목록을 매번 훑는 방식(브라우저에서 거르던 방식과 같은 비용)의 응답 시간을 비교합니다.
+ * DB 없이 실행할 수 있도록 상품을 메모리에서 만들며, 두 방식의 결과(전체 개수, 종류별 개수, 첫 페이지)가 같은지도 확인합니다.
+ * 상품 100만 개를 만들고 수백 번 전체를 훑으므로 일반 테스트 실행(mvn test)에서는 제외하고, 필요할 때 직접 실행합니다.
+ */
+@Slf4j
+@Disabled("성능 측정용 테스트입니다. 필요할 때 직접 실행합니다.")
+class ProductSearchBenchmarkTest {
+
+	private static final int PRODUCTS = 1_000_000;
+	private static final int KINDS = 20;
+
+	// 측정 횟수와, 측정 전에 버리는 워밍업 횟수입니다.
+	private static final int SAMPLES = 200;
+	private static final int WARMUP = 30;
+
+	private static final String[] WORDS = { "정기", "적금", "예금", "청년", "주택", "연금", "saving", "deposit", "plus", "smart" };
+
+	@Test
+	void searchLatencyTest() throws Exception {
+		List<ProductVO> list = this.products(new Random(92));
+
+		long start = System.nanoTime();
+		ProductIndex index = new ProductIndex(list, 0);
+		log.info("index build : {} ms ({} products)", (System.nanoTime() - start) / 1_000_000, index.size());
+
+		this.compare("kind", index, list, this.query(3L, null, null, null));
+		this.compare("rate range", index, list, this.query(null, 2.0, 2.5, null));
+		this.compare("name prefix", index, list, this.query(null, null, null, "청년"));
+		this.compare("kind + rate + name", index, list, this.query(5L, 1.0, 4.0, "sav"));
+		this.compare("narrow name", index, list, this.query(null, 0.5, 4.5, "smart12"));
+	}
+
+	private void compare(String label, ProductIndex index, List<ProductVO> list, ProductQuery query) {
+		// 먼저 두 방식의 결과가 같은지 확인합니다.
+		ProductSearchResult indexed = index.search(query, new Pager());
+		ProductSearchResult scanned = this.scan(list, query, new Pager());
+		assertEquals(scanned.getTotalCount(), indexed.getTotalCount());
+		assertEquals(scanned.getKindCounts(), new TreeMap<>(indexed.getKindCounts()));
+		assertEquals(scanned.getList(), indexed.getList());
+
+		long[] indexTimes = new long[SAMPLES];
+		long[] scanTimes = new long[SAMPLES];
+		for (int i = 0; i < WARMUP + SAMPLES; i++) {
+			// 두 방식을 번갈아 실행합니다. 페이지는 앞쪽과 뒤쪽을 섞어서 요청합니다.
+			Pager pager = new Pager();
+			pager.setPageNum((long) (i % 10) * 50 + 1);
+			long start = System.nanoTime();
+			index.search(query, pager);
+			long indexTime = System.nanoTime() - start;
+
+			pager = new Pager();
+			pager.setPageNum((long) (i % 10) * 50 + 1);
+			start = System.nanoTime();
+			this.scan(list, query, pager);
+			long scanTime = System.nanoTime() - start;
+
+			if (i >= WARMUP) {
+				indexTimes[i - WARMUP] = indexTime;
+				scanTimes[i - WARMUP] = scanTime;
+			}
+		}
+
+		log.info("{} : total={} / index p50={} ms p99={} ms / scan p50={} ms p99={} ms",
+				label, indexed.getTotalCount(),
+				this.percentile(indexTimes, 50), this.percentile(indexTimes, 99),
+				this.percentile(scanTimes, 50), this.percentile(scanTimes, 99));
+	}
+
+	// 비교 대상 : 전체 목록을 처음부터 끝까지 훑으며 조건과 종류별 개수를 확인합니다.
+	private ProductSearchResult scan(List<ProductVO> list, ProductQuery query, Pager pager) {
+		String prefix = query.getNamePrefix();
+		Map<Long, Integer> kindCounts = new TreeMap<>();
+		List<ProductVO> hits = new ArrayList<>();
+		for (ProductVO productVO : list) {
+			kindCounts.putIfAbsent(productVO.getKindNum(), 0);
+			Double rate = productVO.getProductRate();
+			if (query.getMinRate() != null && (rate == null || rate < query.getMinRate())) {
+				continue;
+			}
+			if (query.getMaxRate() != null && (rate == null || rate > query.getMaxRate())) {
+				continue;
+			}
+			if (!productVO.getProductName().toLowerCase().startsWith(prefix)) {
+				continue;
+			}
+			kindCounts.merge(productVO.getKindNum(), 1, Integer::sum);
+			if (query.getKindNum() == null || query.getKindNum().equals(productVO.getKindNum())) {
+				hits.add(productVO);
+			}
+		}
+
+		pager.makeNum((long) hits.size());
+		ProductSearchResult result = new ProductSearchResult();
+		result.setTotalCount(hits.size());
+		result.setKindCounts(kindCounts);
+		if (hits.isEmpty()) {
+			result.setList(List.of());
+		} else {
+			int start = pager.getStartIndex().intValue();
+			result.setList(hits.subList(start, (int) Math.min(hits.size(), start + pager.getPerPage())));
+		}
+		return result;
+	}
+
+	// 상품 번호 내림차순(목록 화면 순서)의 상품 목록을 만듭니다.
+	private List<ProductVO> products(Random random) {
+		List<ProductVO> list = new ArrayList<>(PRODUCTS);
+		for (int i = PRODUCTS; i > 0; i--) {
+			ProductVO productVO = new ProductVO();
+			productVO.setProductNum((long) i);
+			productVO.setProductName(WORDS[random.nextInt(WORDS.length)] + random.nextInt(100_000));
+			productVO.setProductRate(Math.round(random.nextDouble() * 500) / 100.0);
+			productVO.setKindNum((long) random.nextInt(KINDS) + 1);
+			list.add(productVO);
+		}
+		return list;
+	}
+
+	private ProductQuery query(Long kindNum, Double minRate, Double maxRate, String name) {
+		ProductQuery query = new ProductQuery();
+		query.setKindNum(kindNum);
+		query.setMinRate(minRate);
+		query.setMaxRate(maxRate);
+		query.setName(name);
+		return query;
+	}
+
+	private double percentile(long[] samples, int p) {
+		long[] sorted = samples.clone();
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(sorted.length * p / 100.0) - 1;
+		return sorted[Math.max(index, 0)] / 1_000_000.0;
+	}
+}
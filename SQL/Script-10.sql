@@ -0,0 +1,17 @@
+use user01;
+
+-- QnA 글 번호 발급용 테이블입니다. (QnaNumbers)
+-- 정렬 경로(BOARD_PATH)에는 자기 글 번호가 들어가므로, 예전에는 AUTO_INCREMENT로 번호를 받은 뒤 같은 행을 다시 UPDATE 했습니다.
+-- 이제는 이 테이블에서 번호를 먼저 받아 그룹 번호(BOARD_REF)와 정렬 경로까지 채워 INSERT 한 번으로 저장합니다.
+--
+-- LAST_NUM은 지금까지 예약된 마지막 글 번호입니다. 기존 글 다음 번호부터 발급되도록 현재 최댓값으로 시작합니다.
+-- 서버는 번호를 app.qna.number-block 개씩 예약하므로 이 행은 그만큼에 한 번만 수정됩니다.
+CREATE TABLE `QNA_SEQ` (
+	`LAST_NUM` BIGINT NOT NULL
+);
+
+INSERT INTO `QNA_SEQ` (`LAST_NUM`) SELECT IFNULL(MAX(`BOARD_NUM`), 0) FROM `QNA`;
+
+-- QNA의 글 번호는 모두 QNA_SEQ에서 발급됩니다.
+-- 다른 곳에서 BOARD_NUM 없이(AUTO_INCREMENT로) QNA에 INSERT 하면 서버가 예약해 둔 번호와 겹칠 수 있으므로 그렇게 하지 않습니다.
+SELECT * FROM `QNA_SEQ`;
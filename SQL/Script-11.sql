@@ -0,0 +1,14 @@
+use user01;
+
+-- 예전 QnA 글 본문의 에디터 이미지 주소를 새 주소로 바꿉니다.
+-- 예전에는 QnA 에디터 이미지를 /fileDown/qna/파일명 으로 본문에 저장했지만, 이 주소를 처리하는 곳이 없어 이미지가 표시되지 않았습니다.
+-- 지금은 공지사항과 같이 /files/qna/파일명?size=large 로 저장하므로(QnaService.boardFile), 예전 글도 같은 주소로 맞춥니다.
+--   1) /files/** 로 원본을, size 파라미터로 축소본을 받을 수 있게 됩니다.
+--   2) 파일명은 그대로이므로 업로드 폴더의 파일은 옮기지 않습니다.
+--   3) 정리 작업(OrphanReconciler)은 두 주소를 모두 본문 이미지로 인식하므로, 이 스크립트를 실행하기 전에도 이미지를 지우지 않습니다.
+-- 서버가 실행 중이면 캐시된 상세 화면은 캐시 유효 시간(app.cache.detail.ttl, app.cache.fragment.ttl)이 지난 뒤 새 주소로 표시됩니다.
+UPDATE `QNA`
+SET `BOARD_CONTENTS` = REPLACE(`BOARD_CONTENTS`, '/fileDown/qna/', '/files/qna/')
+WHERE `BOARD_CONTENTS` LIKE '%/fileDown/qna/%';
+
+SELECT COUNT(*) FROM `QNA` WHERE `BOARD_CONTENTS` LIKE '%/fileDown/qna/%';
@@ -0,0 +1,9 @@
+use user01;
+
+-- 커서(Seek) 방식 페이징용 인덱스
+-- NOTICE는 PK(BOARD_NUM)만으로 "BOARD_NUM < ? ORDER BY BOARD_NUM DESC"를 처리할 수 있습니다.
+-- QNA는 목록 정렬 순서(BOARD_REF DESC, BOARD_STEP ASC)와 같은 인덱스가 있어야
+-- 커서 위치를 인덱스에서 바로 찾고 정렬(filesort) 없이 perPage개만 읽을 수 있습니다.
+CREATE INDEX `IDX_QNA_THREAD` ON `QNA` (`BOARD_REF` DESC, `BOARD_STEP` ASC);
+
+SHOW INDEX FROM QNA;
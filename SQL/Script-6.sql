@@ -0,0 +1,24 @@
+use user01;
+
+-- QnA 답글 정렬 방식 변경: BOARD_STEP 밀어내기 -> 정렬 경로(BOARD_PATH)
+-- 예전에는 답글을 달 때마다 "UPDATE QNA SET BOARD_STEP=BOARD_STEP+1 WHERE BOARD_REF=? AND BOARD_STEP > ?"로
+-- 같은 글타래의 뒤쪽 답글을 모두 수정했기 때문에, 글타래가 길수록 느려지고 동시 답글끼리 잠금을 기다렸습니다.
+-- 이제는 원본글부터 자기 자신까지의 글 번호 조각(10자리)을 이어 붙인 경로로 정렬하므로
+-- 답글은 자기 행 하나만 INSERT/UPDATE 합니다. (QnaPath 참고)
+--
+-- 경로는 숫자만 들어가므로 ascii / ascii_bin 으로 저장합니다. (1글자 1바이트, 바이트 순서 = 정렬 순서)
+-- 길이 1000은 답글 깊이 100단계까지 저장할 수 있고, 인덱스 키 길이 제한(3072바이트) 안에 들어갑니다.
+ALTER TABLE `QNA` ADD COLUMN `BOARD_PATH` VARCHAR(1000) CHARACTER SET ascii COLLATE ascii_bin NULL;
+
+-- 목록 정렬(ORDER BY BOARD_PATH)과 커서 조회(BOARD_PATH > ?)를 모두 처리하는 인덱스입니다.
+-- 경로에는 자기 글 번호가 들어가므로 값이 겹칠 수 없습니다.
+CREATE UNIQUE INDEX `UX_QNA_PATH` ON `QNA` (`BOARD_PATH`);
+
+-- 기존 IDX_QNA_THREAD (BOARD_REF DESC, BOARD_STEP ASC) 인덱스는 목록 정렬에는 더 이상 쓰이지 않지만,
+-- 기존 데이터 변환 시 그룹 단위로 글을 읽을 때(threadList) 사용하므로 남겨 둡니다.
+
+-- 기존 글의 BOARD_PATH는 애플리케이션 시작 시 QnaPathMigrator가 채웁니다.
+-- 변환 후 아래 조회 결과가 0이면 모든 글이 변환된 것입니다.
+SELECT COUNT(*) FROM QNA WHERE BOARD_PATH IS NULL;
+
+SHOW INDEX FROM QNA;
@@ -0,0 +1,22 @@
+use user01;
+
+-- 첨부파일 중복 제거(content-addressed) 저장소의 참조 수 테이블입니다.
+-- 첨부파일은 내용의 SHA-256 값을 파일명으로 {app.upload}blobs/ 폴더에 한 번만 저장되고,
+-- NOTICEFILES / QNAFILES 의 SAVE_NAME 에는 이 해시 값이 들어갑니다.
+-- REF_COUNT 는 해시를 SAVE_NAME 으로 가진 첨부파일 행의 수이며, 0이 되면 행과 실제 파일을 함께 삭제합니다.
+CREATE TABLE `FILE_BLOB` (
+	`BLOB_HASH` CHAR(64) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+	`REF_COUNT` BIGINT NOT NULL,
+	`BLOB_SIZE` BIGINT NOT NULL,
+	`CREATE_DATE` DATETIME NOT NULL,
+	PRIMARY KEY (`BLOB_HASH`)
+);
+
+-- 기존 첨부파일(UUID_원본파일명)은 그대로 게시판 폴더에 두고 예전처럼 제공/삭제됩니다.
+
+-- 참조 수 점검용: 실제 첨부파일 행 수와 REF_COUNT 가 다른 blob을 찾습니다.
+SELECT B.BLOB_HASH, B.REF_COUNT, IFNULL(N.CNT, 0) + IFNULL(Q.CNT, 0) AS ACTUAL
+FROM FILE_BLOB B
+LEFT JOIN (SELECT SAVE_NAME, COUNT(*) CNT FROM NOTICEFILES GROUP BY SAVE_NAME) N ON N.SAVE_NAME = B.BLOB_HASH
+LEFT JOIN (SELECT SAVE_NAME, COUNT(*) CNT FROM QNAFILES GROUP BY SAVE_NAME) Q ON Q.SAVE_NAME = B.BLOB_HASH
+WHERE B.REF_COUNT <> IFNULL(N.CNT, 0) + IFNULL(Q.CNT, 0);
@@ -0,0 +1,17 @@
+use user01;
+
+-- 삭제 예정 파일 기록(journal) 테이블입니다.
+-- 게시글/첨부파일 삭제와 같은 트랜잭션에서 지울 파일을 기록하고, FileJournal이 백그라운드에서 실제 파일을 삭제합니다.
+CREATE TABLE `FILE_JOURNAL` (
+	`JOURNAL_NUM` BIGINT NOT NULL AUTO_INCREMENT,
+	`FILE_DIR` VARCHAR(500) NOT NULL,
+	`FILE_NAME` VARCHAR(500) NOT NULL,
+	`TRY_COUNT` INT NOT NULL DEFAULT 0,
+	`CREATE_DATE` DATETIME NOT NULL,
+	PRIMARY KEY (`JOURNAL_NUM`),
+	KEY `IDX_FILE_JOURNAL_TRY` (`TRY_COUNT`, `JOURNAL_NUM`)
+);
+
+-- 정리 작업(OrphanReconciler)이 첨부파일 행을 저장 파일명으로 찾을 때 사용하는 인덱스입니다.
+CREATE INDEX `IDX_NOTICEFILES_SAVE` ON `NOTICEFILES` (`SAVE_NAME`);
+CREATE INDEX `IDX_QNAFILES_SAVE` ON `QNAFILES` (`SAVE_NAME`);
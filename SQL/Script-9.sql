@@ -0,0 +1,15 @@
+use user01;
+
+-- 목록 화면용 본문 미리보기 컬럼입니다.
+-- 목록은 본문(BOARD_CONTENTS) 대신 이 컬럼만 읽습니다. 새 글/수정 글은 BoardPreview가 만들어 저장합니다.
+ALTER TABLE `NOTICE` ADD COLUMN `BOARD_PREVIEW` VARCHAR(120) NULL AFTER `BOARD_CONTENTS`;
+ALTER TABLE `QNA` ADD COLUMN `BOARD_PREVIEW` VARCHAR(120) NULL AFTER `BOARD_CONTENTS`;
+
+-- 기존 글의 미리보기를 채웁니다. (태그 제거 -> &nbsp; 를 공백으로 -> 연속 공백 정리 -> 앞 100글자)
+UPDATE `NOTICE`
+SET `BOARD_PREVIEW` = LEFT(TRIM(REGEXP_REPLACE(REPLACE(REGEXP_REPLACE(IFNULL(`BOARD_CONTENTS`, ''), '<[^>]*>', ' '), '&nbsp;', ' '), '[[:space:]]+', ' ')), 100)
+WHERE `BOARD_PREVIEW` IS NULL;
+
+UPDATE `QNA`
+SET `BOARD_PREVIEW` = LEFT(TRIM(REGEXP_REPLACE(REPLACE(REGEXP_REPLACE(IFNULL(`BOARD_CONTENTS`, ''), '<[^>]*>', ' '), '&nbsp;', ' '), '[[:space:]]+', ' ')), 100)
+WHERE `BOARD_PREVIEW` IS NULL;